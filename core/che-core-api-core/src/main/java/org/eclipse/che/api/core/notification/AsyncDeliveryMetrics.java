@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of statistic of asynchronous delivery of events to single subscriber.
+ *
+ * @see EventService#getDeliveryMetrics(EventSubscriber)
+ */
+public class AsyncDeliveryMetrics {
+    private final int  queueDepth;
+    private final int  maxQueueDepth;
+    private final long deliveredEvents;
+    private final long droppedEvents;
+    private final long coalescedEvents;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+
+    AsyncDeliveryMetrics(int queueDepth,
+                         int maxQueueDepth,
+                         long deliveredEvents,
+                         long droppedEvents,
+                         long coalescedEvents,
+                         long totalLatencyNanos,
+                         long maxLatencyNanos) {
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.deliveredEvents = deliveredEvents;
+        this.droppedEvents = droppedEvents;
+        this.coalescedEvents = coalescedEvents;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    /** Number of events that wait for delivery. */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /** The biggest number of events that waited for delivery at the same time. */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /** Number of events that are delivered to subscriber. */
+    public long getDeliveredEvents() {
+        return deliveredEvents;
+    }
+
+    /** Number of events that are discarded because queue was full. */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /** Number of events that replaced other events in queue. */
+    public long getCoalescedEvents() {
+        return coalescedEvents;
+    }
+
+    /** Average time between publishing of event and end of its processing by subscriber. */
+    public long getAverageLatency(TimeUnit unit) {
+        return deliveredEvents == 0 ? 0 : unit.convert(totalLatencyNanos / deliveredEvents, TimeUnit.NANOSECONDS);
+    }
+
+    /** Max time between publishing of event and end of its processing by subscriber. */
+    public long getMaxLatency(TimeUnit unit) {
+        return unit.convert(maxLatencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncDeliveryMetrics{" +
+               "queueDepth=" + queueDepth +
+               ", maxQueueDepth=" + maxQueueDepth +
+               ", deliveredEvents=" + deliveredEvents +
+               ", droppedEvents=" + droppedEvents +
+               ", coalescedEvents=" + coalescedEvents +
+               ", averageLatencyMillis=" + getAverageLatency(TimeUnit.MILLISECONDS) +
+               ", maxLatencyMillis=" + getMaxLatency(TimeUnit.MILLISECONDS) +
+               '}';
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Describes asynchronous delivery of events to subscriber registered with {@link EventService#subscribe(EventSubscriber,
+ * AsyncDeliveryPolicy)}. Events for such subscriber are put in its own bounded queue and delivered in order they were published, but
+ * not on the thread that publishes them. Usage example:
+ * <pre>
+ *     bus.subscribe(subscriber, AsyncDeliveryPolicy.asyncDelivery()
+ *                                                  .withQueueCapacity(100)
+ *                                                  .withOverflow(AsyncDeliveryPolicy.Overflow.DROP_OLDEST));
+ * </pre>
+ *
+ * @see AsyncDeliveryMetrics
+ */
+public class AsyncDeliveryPolicy {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /** What to do when queue of subscriber is full. */
+    public enum Overflow {
+        /** Publisher waits until subscriber takes event from queue. */
+        BLOCK,
+        /** The oldest event in queue is discarded. */
+        DROP_OLDEST,
+        /**
+         * Event replaces queued event with the same coalescing key, see {@link #withCoalescingKey(Function)}. Replaced event keeps its
+         * place in queue. If there is no such event in queue publisher waits as for {@link #BLOCK}. Events are not coalesced while
+         * there is free space in queue.
+         */
+        COALESCE
+    }
+
+    public static AsyncDeliveryPolicy asyncDelivery() {
+        return new AsyncDeliveryPolicy();
+    }
+
+    private int                      queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private Overflow                 overflow      = Overflow.BLOCK;
+    private Function<Object, Object> coalescingKey = Function.identity();
+    private Executor                 executor;
+
+    private AsyncDeliveryPolicy() {
+    }
+
+    /** Max number of events that may wait for delivery to subscriber. */
+    public AsyncDeliveryPolicy withQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    public AsyncDeliveryPolicy withOverflow(Overflow overflow) {
+        if (overflow == null) {
+            throw new IllegalArgumentException("Null overflow policy.");
+        }
+        this.overflow = overflow;
+        return this;
+    }
+
+    /**
+     * Function that calculates key of event for {@link Overflow#COALESCE} policy. When queue is full queued event is replaced with new
+     * one if they have equal keys. By default event itself is a key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> AsyncDeliveryPolicy withCoalescingKey(Function<T, ?> coalescingKey) {
+        if (coalescingKey == null) {
+            throw new IllegalArgumentException("Null coalescing key.");
+        }
+        this.coalescingKey = (Function<Object, Object>)coalescingKey;
+        return this;
+    }
+
+    /**
+     * Executor that delivers events to subscriber. At most one task per subscriber is running at the same time. If executor is not set
+     * then common executor of {@link EventService} is used.
+     */
+    public AsyncDeliveryPolicy withExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    public Function<Object, Object> getCoalescingKey() {
+        return coalescingKey;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncDeliveryPolicy{" +
+               "queueCapacity=" + queueCapacity +
+               ", overflow=" + overflow +
+               ", executor=" + executor +
+               '}';
+    }
+}
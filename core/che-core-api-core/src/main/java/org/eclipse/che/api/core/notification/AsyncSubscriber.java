@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.eclipse.che.api.core.notification.AsyncDeliveryPolicy.Overflow.COALESCE;
+import static org.eclipse.che.api.core.notification.AsyncDeliveryPolicy.Overflow.DROP_OLDEST;
+
+/**
+ * Puts events in bounded queue and delivers them to wrapped subscriber with executor. Only one delivery task per subscriber is running
+ * at the same time, so events are delivered in order they were published.
+ *
+ * @see AsyncDeliveryPolicy
+ */
+class AsyncSubscriber implements EventSubscriber<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncSubscriber.class);
+
+    /** Max number of events that one delivery task processes before it gives up thread to other tasks of executor. */
+    private static final int DELIVERY_BATCH_SIZE = 64;
+
+    private static class QueuedEvent {
+        final long   enqueuedAt;
+        final Object key;
+        Object       event;
+
+        QueuedEvent(Object event, Object key) {
+            this.event = event;
+            this.key = key;
+            enqueuedAt = System.nanoTime();
+        }
+    }
+
+    private final EventSubscriber<Object> delegate;
+    private final Class<?>                eventType;
+    private final AsyncDeliveryPolicy     policy;
+    private final Executor                executor;
+    private final ArrayDeque<QueuedEvent> queue;
+
+    private boolean         scheduled;
+    private boolean         closed;
+    private volatile Thread deliveryThread;
+
+    private int  maxQueueDepth;
+    private long deliveredEvents;
+    private long droppedEvents;
+    private long coalescedEvents;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    @SuppressWarnings("unchecked")
+    AsyncSubscriber(EventSubscriber<?> delegate, Class<?> eventType, AsyncDeliveryPolicy policy, Executor executor) {
+        this.delegate = (EventSubscriber<Object>)delegate;
+        this.eventType = eventType;
+        this.policy = policy;
+        this.executor = executor;
+        queue = new ArrayDeque<>();
+    }
+
+    /** Type of events that wrapped subscriber is subscribed to. */
+    Class<?> getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public void onEvent(Object event) {
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            final Object key = policy.getOverflow() == COALESCE ? policy.getCoalescingKey().apply(event) : null;
+            while (queue.size() >= policy.getQueueCapacity()) {
+                if (policy.getOverflow() == DROP_OLDEST) {
+                    queue.poll();
+                    droppedEvents++;
+                } else if (key != null && replaceQueued(key, event)) {
+                    coalescedEvents++;
+                    return;
+                } else if (Thread.currentThread() == deliveryThread) {
+                    // Subscriber publishes event that it listens itself, waiting for free space in queue would never end.
+                    break;
+                } else {
+                    try {
+                        queue.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        droppedEvents++;
+                        LOG.warn("Interrupted while waiting for free space in event queue of {}, event {} is dropped", delegate, event);
+                        return;
+                    }
+                    if (closed) {
+                        return;
+                    }
+                }
+            }
+            queue.add(new QueuedEvent(event, key));
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        schedule();
+    }
+
+    /** Replaces queued event that has the same coalescing key, returns {@code false} if there is no such event. */
+    private boolean replaceQueued(Object key, Object event) {
+        for (QueuedEvent queued : queue) {
+            if (Objects.equals(key, queued.key)) {
+                queued.event = event;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this::deliver);
+        } catch (RejectedExecutionException e) {
+            synchronized (queue) {
+                scheduled = false;
+                droppedEvents += queue.size();
+                queue.clear();
+                queue.notifyAll();
+            }
+            LOG.error("Unable deliver events to {}, executor rejected delivery task", delegate);
+        }
+    }
+
+    private void deliver() {
+        deliveryThread = Thread.currentThread();
+        try {
+            for (int i = 0; i < DELIVERY_BATCH_SIZE; i++) {
+                final QueuedEvent queued;
+                synchronized (queue) {
+                    queued = queue.poll();
+                    if (queued == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    queue.notifyAll();
+                }
+                try {
+                    delegate.onEvent(queued.event);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+                final long latency = System.nanoTime() - queued.enqueuedAt;
+                synchronized (queue) {
+                    deliveredEvents++;
+                    totalLatencyNanos += latency;
+                    maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+                }
+            }
+        } finally {
+            deliveryThread = null;
+        }
+        // Batch is over but queue is not empty yet, let other tasks of executor run and continue later.
+        schedule();
+    }
+
+    /** Stops accepting new events. Events that are already in queue are still delivered. */
+    void close() {
+        synchronized (queue) {
+            closed = true;
+            queue.notifyAll();
+        }
+    }
+
+    AsyncDeliveryMetrics getMetrics() {
+        synchronized (queue) {
+            return new AsyncDeliveryMetrics(queue.size(),
+                                            maxQueueDepth,
+                                            deliveredEvents,
+                                            droppedEvents,
+                                            coalescedEvents,
+                                            totalLatencyNanos,
+                                            maxLatencyNanos);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncSubscriber{" +
+               "delegate=" + delegate +
+               ", policy=" + policy +
+               '}';
+    }
+}
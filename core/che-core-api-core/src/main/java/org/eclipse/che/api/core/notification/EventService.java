@@ -13,10 +13,12 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -27,6 +29,9 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +45,8 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * By default subscribers are called synchronously on the thread that publishes event. Subscriber that is registered with {@link
+ * #subscribe(EventSubscriber, AsyncDeliveryPolicy)} receives events asynchronously, so slow subscriber doesn't stall publisher.
  *
  * @author andrew00x
  */
@@ -51,12 +58,16 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]            typeCache;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>      subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, AsyncSubscriber> asyncSubscribers;
+
+    private ExecutorService asyncDeliveryExecutor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        asyncSubscribers = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -134,6 +145,70 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe event listener that receives events asynchronously. The event to subscribe to is inferred by checking the generic type
+     * arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param deliveryPolicy
+     *         describes how events are queued and delivered to subscriber
+     */
+    public void subscribe(EventSubscriber<?> subscriber, AsyncDeliveryPolicy deliveryPolicy) {
+        subscribeAsync(subscriber, getEventType(subscriber), deliveryPolicy);
+    }
+
+    /**
+     * Subscribe to an event. The given subscriber will be called asynchronously whenever an instance of the specified event is
+     * published.
+     *
+     * @param subscriber The subscriber to call when an event is published.
+     * @param eventType The event to subscribe to.
+     * @param deliveryPolicy Describes how events are queued and delivered to subscriber.
+     */
+    public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType, AsyncDeliveryPolicy deliveryPolicy) {
+        subscribeAsync(subscriber, eventType, deliveryPolicy);
+    }
+
+    /**
+     * Returns statistic of asynchronous delivery of events to subscriber or {@code null} if subscriber is not registered or receives
+     * events synchronously.
+     *
+     * @param subscriber
+     *         event subscriber
+     */
+    public AsyncDeliveryMetrics getDeliveryMetrics(EventSubscriber<?> subscriber) {
+        final AsyncSubscriber asyncSubscriber = asyncSubscribers.get(subscriber);
+        return asyncSubscriber == null ? null : asyncSubscriber.getMetrics();
+    }
+
+    private void subscribeAsync(EventSubscriber<?> subscriber, Class<?> eventType, AsyncDeliveryPolicy deliveryPolicy) {
+        if (deliveryPolicy == null) {
+            throw new IllegalArgumentException("Null delivery policy.");
+        }
+        final Executor executor = deliveryPolicy.getExecutor() == null ? getAsyncDeliveryExecutor() : deliveryPolicy.getExecutor();
+        final AsyncSubscriber asyncSubscriber = new AsyncSubscriber(subscriber, eventType, deliveryPolicy, executor);
+        if (asyncSubscribers.putIfAbsent(subscriber, asyncSubscriber) == null) {
+            doSubscribe(asyncSubscriber, eventType);
+        }
+    }
+
+    private synchronized Executor getAsyncDeliveryExecutor() {
+        if (asyncDeliveryExecutor == null) {
+            asyncDeliveryExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EventServiceAsyncDelivery-%d")
+                                                                                            .setDaemon(true)
+                                                                                            .build());
+        }
+        return asyncDeliveryExecutor;
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (asyncDeliveryExecutor != null) {
+            asyncDeliveryExecutor.shutdown();
+        }
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -153,7 +228,16 @@ public class EventService {
      *         event subscriber
      */
     public void unsubscribe(EventSubscriber<?> subscriber) {
-        final Class<?> eventType = getEventType(subscriber);
+        final AsyncSubscriber asyncSubscriber = asyncSubscribers.remove(subscriber);
+        if (asyncSubscriber != null) {
+            asyncSubscriber.close();
+            doUnsubscribe(asyncSubscriber, asyncSubscriber.getEventType());
+        } else {
+            doUnsubscribe(subscriber, getEventType(subscriber));
+        }
+    }
+
+    private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
             boolean changed = entries.remove(subscriber);
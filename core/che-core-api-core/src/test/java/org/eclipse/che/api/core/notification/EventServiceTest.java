@@ -15,8 +15,14 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author andrew00x
@@ -157,4 +163,143 @@ public class EventServiceTest {
         bus.publish(new Event());
         Assert.assertEquals(events.size(), 0);
     }
+
+    @Test
+    public void testAsyncSubscriberReceivesEventsInOrderOfPublishing() throws Exception {
+        final List<Integer> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch delivered = new CountDownLatch(1000);
+        EventSubscriber<Integer> l = new EventSubscriber<Integer>() {
+            @Override
+            public void onEvent(Integer event) {
+                events.add(event);
+                delivered.countDown();
+            }
+        };
+        bus.subscribe(l, AsyncDeliveryPolicy.asyncDelivery().withQueueCapacity(10));
+        for (int i = 0; i < 1000; i++) {
+            bus.publish(i);
+        }
+        Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(events.get(i), Integer.valueOf(i));
+        }
+        AsyncDeliveryMetrics metrics = bus.getDeliveryMetrics(l);
+        Assert.assertEquals(metrics.getDeliveredEvents(), 1000);
+        Assert.assertEquals(metrics.getDroppedEvents(), 0);
+        Assert.assertTrue(metrics.getMaxQueueDepth() <= 10);
+    }
+
+    @Test
+    public void testAsyncSubscriberDoesNotBlockPublisher() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        EventSubscriber<String> l = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+                events.add(event);
+            }
+        };
+        bus.subscribe(l, AsyncDeliveryPolicy.asyncDelivery());
+        bus.publish("hello");
+        Assert.assertTrue(events.isEmpty());
+        release.countDown();
+        waitForDelivery(l, 1);
+        Assert.assertEquals(events, Collections.singletonList("hello"));
+    }
+
+    @Test
+    public void testAsyncSubscriberDropsOldestEventsWhenQueueIsFull() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        EventSubscriber<String> l = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+            }
+        };
+        // Delivery task is not started until executor is released, so all events stay in queue.
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        try {
+            bus.subscribe(l, AsyncDeliveryPolicy.asyncDelivery()
+                                                .withQueueCapacity(2)
+                                                .withOverflow(AsyncDeliveryPolicy.Overflow.DROP_OLDEST)
+                                                .withExecutor(executor));
+            bus.publish("a");
+            bus.publish("b");
+            bus.publish("c");
+            release.countDown();
+            waitForDelivery(l, 2);
+            Assert.assertEquals(events, Arrays.asList("b", "c"));
+            Assert.assertEquals(bus.getDeliveryMetrics(l).getDroppedEvents(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAsyncSubscriberCoalescesEventsWithSameKeyWhenQueueIsFull() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        EventSubscriber<String> l = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+            }
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        try {
+            bus.subscribe(l, AsyncDeliveryPolicy.asyncDelivery()
+                                                .withQueueCapacity(3)
+                                                .withOverflow(AsyncDeliveryPolicy.Overflow.COALESCE)
+                                                .withCoalescingKey((String event) -> event.charAt(0))
+                                                .withExecutor(executor));
+            bus.publish("a1");
+            bus.publish("b1");
+            // queue has free space, event is not coalesced
+            bus.publish("b2");
+            bus.publish("a2");
+            release.countDown();
+            waitForDelivery(l, 3);
+            Assert.assertEquals(events, Arrays.asList("a2", "b1", "b2"));
+            Assert.assertEquals(bus.getDeliveryMetrics(l).getCoalescedEvents(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnsubscribeAsyncSubscriber() {
+        EventSubscriber<String> l = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+            }
+        };
+        bus.subscribe(l, AsyncDeliveryPolicy.asyncDelivery());
+        Assert.assertNotNull(bus.getDeliveryMetrics(l));
+        bus.unsubscribe(l);
+        Assert.assertNull(bus.getDeliveryMetrics(l));
+    }
+
+    private void waitForDelivery(EventSubscriber<?> subscriber, int events) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + 10000;
+        while (bus.getDeliveryMetrics(subscriber).getDeliveredEvents() < events && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+    }
 }
@@ -70,7 +70,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamingSerializer(methods, builder);
         emitDeserializer(methods, builder);
+        emitStreamingDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
@@ -301,8 +303,19 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        // Write JSON directly to string, the same as gson does for JsonElement: null fields are skipped, HTML is not escaped
+        builder.append("      java.io.StringWriter out = new java.io.StringWriter();\n");
+        builder.append("      JsonWriter writer = new JsonWriter(out);\n");
+        builder.append("      writer.setLenient(true);\n");
+        builder.append("      writer.setHtmlSafe(false);\n");
+        builder.append("      writer.setSerializeNulls(false);\n");
+        builder.append("      try {\n");
+        builder.append("        writeTo(writer);\n");
+        builder.append("        writer.flush();\n");
+        builder.append("      } catch (java.io.IOException e) {\n");
+        builder.append("        throw new com.google.gson.JsonIOException(e);\n");
+        builder.append("      }\n");
+        builder.append("      return out.toString();\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -451,6 +464,132 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /**
+     * Generates a method that writes DTO to JsonWriter without building tree of JsonElements. Output is the same as of {@code
+     * toJsonElement()} written with gson.
+     */
+    private void emitStreamingSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void writeTo(JsonWriter writer) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            builder.append("      gson.toJson(toJsonElementInt(false), writer);\n");
+        } else {
+            builder.append("      writer.beginObject();\n");
+            for (Method getter : getters) {
+                emitWriteFieldForMethod(getter, builder);
+            }
+            builder.append("      writer.endObject();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    private void emitWriteFieldForMethod(Method getter, StringBuilder builder) {
+        final String fieldName = getJavaFieldName(getter.getName());
+        final String jsonFieldName = quoteStringLiteral(getJsonFieldName(getter));
+        final List<Type> expandedTypes = expandType(getter.getGenericReturnType());
+        final Class<?> rawClass = getRawClass(expandedTypes.get(0));
+        final String baseIndentation = "        ";
+        builder.append("\n");
+        if (rawClass.isPrimitive()) {
+            builder.append("      writer.name(").append(jsonFieldName).append(");\n");
+            emitWriterImpl(expandedTypes, 0, builder, "this." + fieldName, fieldName, "      ");
+        } else if (isList(rawClass) || isMap(rawClass)) {
+            // Collections are always serialized, null collection is written as empty one
+            builder.append("      this.").append(getEnsureName(fieldName)).append("();\n");
+            builder.append("      writer.name(").append(jsonFieldName).append(");\n");
+            emitWriterImpl(expandedTypes, 0, builder, "this." + fieldName, fieldName, "      ");
+        } else {
+            builder.append("      if (").append(getNotNullCheck(rawClass, "this." + fieldName)).append(") {\n");
+            builder.append(baseIndentation).append("writer.name(").append(jsonFieldName).append(");\n");
+            emitWriterImpl(expandedTypes, 0, builder, "this." + fieldName, fieldName, baseIndentation);
+            builder.append("      }\n");
+        }
+    }
+
+    /** Null values are skipped by gson when JSON object is written. Values of 'any' type that are not JSON are serialized as nulls. */
+    private String getNotNullCheck(Class<?> rawClass, String inExpr) {
+        return isAny(rawClass) ? inExpr + " instanceof JsonElement" : inExpr + " != null";
+    }
+
+    /**
+     * Produces code to write not null value of the given type to JsonWriter.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inExpr
+     *         expression that provides the value
+     * @param varPrefix
+     *         prefix for names of local variables
+     * @param i
+     *         indentation string
+     */
+    private void emitWriterImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inExpr, String varPrefix, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        if (isList(rawClass) || isMap(rawClass)) {
+            final Class<?> childRawClass = getRawClass(expandedTypes.get(depth + 1));
+            final String childTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            final String childVar = varPrefix + "_";
+            if (isList(rawClass)) {
+                builder.append(i).append("writer.beginArray();\n");
+                builder.append(i).append("for (").append(childTypeName).append(" ").append(childVar).append(" : ").append(inExpr)
+                       .append(") {\n");
+                builder.append(i).append("  if (!(").append(getNotNullCheck(childRawClass, childVar)).append(")) {\n");
+                builder.append(i).append("    writer.nullValue();\n");
+                builder.append(i).append("  } else {\n");
+                emitWriterImpl(expandedTypes, depth + 1, builder, childVar, childVar, i + "    ");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("}\n");
+                builder.append(i).append("writer.endArray();\n");
+            } else {
+                final String entryVar = varPrefix + "Entry" + depth;
+                builder.append(i).append("writer.beginObject();\n");
+                builder.append(i).append("for (java.util.Map.Entry<String, ").append(childTypeName).append("> ").append(entryVar)
+                       .append(" : ").append(inExpr).append(".entrySet()) {\n");
+                builder.append(i).append("  ").append(childTypeName).append(" ").append(childVar).append(" = ").append(entryVar)
+                       .append(".getValue();\n");
+                builder.append(i).append("  if (").append(getNotNullCheck(childRawClass, childVar)).append(") {\n");
+                builder.append(i).append("    writer.name(").append(entryVar).append(".getKey());\n");
+                emitWriterImpl(expandedTypes, depth + 1, builder, childVar, childVar, i + "    ");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("}\n");
+                builder.append(i).append("writer.endObject();\n");
+            }
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("writer.value(").append(inExpr).append(".name());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append("((").append(getImplNameForDto(rawClass)).append(")").append(inExpr).append(").writeTo(writer);\n");
+        } else if (rawClass == float.class) {
+            // Write float as Number, the same as JsonPrimitive does, otherwise it is widened to double and printed differently
+            builder.append(i).append("writer.value(java.lang.Float.valueOf(").append(inExpr).append("));\n");
+        } else if (rawClass.equals(String.class)
+                   || rawClass.isPrimitive()
+                   || rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(i).append("writer.value(").append(inExpr).append(");\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("writer.value(").append(inExpr).append(".booleanValue());\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("gson.toJson((JsonElement)").append(inExpr).append(", writer);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append("((").append(dtoImplementation.getCanonicalName()).append(")").append(inExpr)
+                       .append(").writeTo(writer);\n");
+            } else {
+                throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                   getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                   " is not allowed to use in DTO interface.");
+            }
+        }
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -477,6 +616,120 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /** Generates a static factory method that creates a new instance reading JSON from JsonReader without building tree of JsonElements. */
+    private void emitStreamingDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName())
+               .append(" fromJsonReader(com.google.gson.stream.JsonReader reader) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            builder.append("      return fromJsonElement(new JsonParser().parse(reader), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (reader.peek() == JsonToken.NULL) {\n");
+        builder.append("        reader.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      reader.beginObject();\n");
+        builder.append("      while (reader.hasNext()) {\n");
+        builder.append("        switch (reader.nextName()) {\n");
+        final Set<String> jsonFieldNames = new HashSet<>();
+        for (Method getter : getters) {
+            if (jsonFieldNames.add(getJsonFieldName(getter))) {
+                emitReadFieldForMethod(getter, builder);
+            }
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      reader.endObject();\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    private void emitReadFieldForMethod(Method getter, StringBuilder builder) {
+        final String fieldName = getJavaFieldName(getter.getName());
+        final String fieldNameOut = fieldName + "Out";
+        final List<Type> expandedTypes = expandType(getter.getGenericReturnType());
+        final Class<?> rawClass = getRawClass(expandedTypes.get(0));
+        builder.append("          case ").append(quoteStringLiteral(getJsonFieldName(getter))).append(": {\n");
+        if (rawClass.isPrimitive()) {
+            // null can't be assigned to primitive field, keep default value
+            builder.append("            if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append("              reader.nextNull();\n");
+            builder.append("            } else {\n");
+            builder.append("              dto.").append(getSetterName(fieldName)).append("(gson.fromJson(reader, ")
+                   .append(rawClass.getName()).append(".class));\n");
+            builder.append("            }\n");
+        } else {
+            emitReaderImpl(expandedTypes, 0, builder, fieldNameOut, "            ");
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+        }
+        builder.append("            break;\n");
+        builder.append("          }\n");
+    }
+
+    /**
+     * Produces code to read value of the given type from JsonReader.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the name of variable that receives read value
+     * @param i
+     *         indentation string
+     */
+    private void emitReaderImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        if (isList(rawClass) || isMap(rawClass)) {
+            final String childOutVar = outVar + "_";
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("  reader.beginArray();\n");
+                builder.append(i).append("  while (reader.hasNext()) {\n");
+                emitReaderImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  reader.endArray();\n");
+            } else {
+                final String keyVar = outVar + "Key" + depth;
+                builder.append(i).append("  reader.beginObject();\n");
+                builder.append(i).append("  while (reader.hasNext()) {\n");
+                builder.append(i).append("    String ").append(keyVar).append(" = reader.nextName();\n");
+                emitReaderImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  reader.endObject();\n");
+            }
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".fromJsonReader(reader);\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(reader);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".fromJsonReader(reader);\n");
+            } else {
+                // Use gson to handle all other types, the same as fromJsonElement does.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(reader, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
     private void emitDeserializerShortcut(StringBuilder builder) {
         builder.append("    public static ");
         builder.append(getImplClassName());
@@ -484,8 +737,25 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("      if (jsonString == null) {\n");
         builder.append("        return null;\n");
         builder.append("      }\n\n");
-        // The default fromJsonElement(json) creates its own JSON thus keeping parts of its as value is OK
-        builder.append("      return fromJsonElement(new JsonParser().parse(jsonString), false);\n");
+        // Read DTO directly from string. Empty document gives null and trailing data is not allowed, the same as for JsonParser.
+        builder.append("      com.google.gson.stream.JsonReader reader = new com.google.gson.stream.JsonReader(new java.io.StringReader(jsonString));\n");
+        builder.append("      reader.setLenient(true);\n");
+        builder.append("      try {\n");
+        builder.append("        try {\n");
+        builder.append("          reader.peek();\n");
+        builder.append("        } catch (java.io.EOFException e) {\n");
+        builder.append("          return null;\n");
+        builder.append("        }\n");
+        builder.append("        ").append(getImplClassName()).append(" dto = fromJsonReader(reader);\n");
+        builder.append("        if (reader.peek() != JsonToken.END_DOCUMENT) {\n");
+        builder.append("          throw new com.google.gson.JsonSyntaxException(\"Did not consume the entire document.\");\n");
+        builder.append("        }\n");
+        builder.append("        return dto;\n");
+        builder.append("      } catch (com.google.gson.stream.MalformedJsonException | java.io.EOFException | NumberFormatException e) {\n");
+        builder.append("        throw new com.google.gson.JsonSyntaxException(e);\n");
+        builder.append("      } catch (java.io.IOException e) {\n");
+        builder.append("        throw new com.google.gson.JsonIOException(e);\n");
+        builder.append("      }\n");
         builder.append("    }\n\n");
     }
 
@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
 
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
@@ -26,9 +28,12 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -364,4 +369,86 @@ public class ServerDtoTest {
         assertEquals(childDto.getChildField(), "child-field");
         assertEquals(childDto.getParentField(), "parent-field");
     }
+
+    @Test
+    public void streamingSerializerShouldWriteTheSameJsonAsJsonElement() throws Exception {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("<\"name\">").withId(1).withDefault("default");
+        final Map<String, SimpleDto> mapDtos = new HashMap<>();
+        mapDtos.put("key", simpleDto);
+        mapDtos.put("null", null);
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withStrings(asList("a", null, "b"))
+                                             .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                             .withMap(mapDtos)
+                                             .withSimpleDtos(asList(simpleDto, null))
+                                             .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE, null)));
+        final DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class)
+                                                .withStuff(createTestValueForAny())
+                                                .withObjects(asList(createTestValueForAny(), "not json", null));
+
+        for (Object origin : asList(simpleDto, dto, dtoWithAny, dtoFactory.createDto(ComplicatedDto.class))) {
+            final String expected = new GsonBuilder().disableHtmlEscaping().create().toJson(((JsonSerializable)origin).toJsonElement());
+            final StringWriter writer = new StringWriter();
+            dtoFactory.toJson(origin, writer);
+
+            assertEquals(dtoFactory.toJson(origin), expected);
+            assertEquals(writer.toString(), expected);
+        }
+    }
+
+    @Test
+    public void streamingDeserializerShouldReadTheSameDtoAsJsonElement() throws Exception {
+        final String json = "{\"strings\":[\"a\",null],\"unknown\":{\"x\":[1,2]},\"simpleEnum\":\"THREE\"," +
+                            "\"map\":{\"key\":{\"name\":\"name\",\"id\":2,\"default\":\"default\"}}," +
+                            "\"simpleDtos\":[{\"name\":\"name\",\"id\":null},null],\"arrayOfArrayOfEnum\":[[\"ONE\"],[]]}";
+
+        // list of DTOs is parsed into JsonElements first, each DTO is created from JsonElement
+        final ComplicatedDto fromElement = dtoFactory.createListDtoFromJson('[' + json + ']', ComplicatedDto.class).get(0);
+        final ComplicatedDto fromString = dtoFactory.createDtoFromJson(json, ComplicatedDto.class);
+        final ComplicatedDto fromReader = dtoFactory.createDtoFromJson(new StringReader(json), ComplicatedDto.class);
+
+        assertEquals(fromString, fromElement);
+        assertEquals(fromReader, fromElement);
+        assertEquals(fromReader.getStrings(), asList("a", null));
+        assertEquals(fromReader.getSimpleEnum(), ComplicatedDto.SimpleEnum.THREE);
+        checkSimpleDto(fromReader.getMap().get("key"), "name", 2, "default");
+        assertEquals(fromReader.getSimpleDtos().get(0).getId(), 0);
+        assertEquals(fromReader.getSimpleDtos().get(1), null);
+        assertEquals(fromReader.getArrayOfArrayOfEnum(), asList(asList(ComplicatedDto.SimpleEnum.ONE), new ArrayList<>()));
+    }
+
+    @Test
+    public void shouldReadListAndMapOfDtosFromReader() throws Exception {
+        final org.eclipse.che.dto.shared.JsonArray<SimpleDto> list =
+                dtoFactory.createListDtoFromJson(new StringReader("[{\"name\":\"a\",\"id\":1},{\"name\":\"b\",\"id\":2}]"),
+                                                 SimpleDto.class);
+        final org.eclipse.che.dto.shared.JsonStringMap<SimpleDto> map =
+                dtoFactory.createMapDtoFromJson(new StringReader("{\"a\":{\"name\":\"a\",\"id\":1}}"), SimpleDto.class);
+
+        assertEquals(list.size(), 2);
+        checkSimpleDto(list.get(0), "a", 1, null);
+        checkSimpleDto(list.get(1), "b", 2, null);
+        checkSimpleDto(map.get("a"), "a", 1, null);
+    }
+
+    @Test
+    public void shouldReturnNullWhenReadingEmptyJsonDocument() throws Exception {
+        assertEquals(dtoFactory.createDtoFromJson("", SimpleDto.class), null);
+        assertEquals(dtoFactory.createDtoFromJson(new StringReader(" "), SimpleDto.class), null);
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldFailWhenJsonDocumentIsNotConsumedEntirely() throws Exception {
+        dtoFactory.createDtoFromJson("{\"id\":1} {}", SimpleDto.class);
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldFailWhenJsonDocumentIsNotConsumedEntirelyFromReader() throws Exception {
+        dtoFactory.createDtoFromJson(new StringReader("{\"id\":1} {}"), SimpleDto.class);
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldFailWhenJsonArrayIsFollowedByTrailingDataInReader() throws Exception {
+        dtoFactory.createListDtoFromJson(new StringReader("[{\"id\":1}] trailing"), SimpleDto.class);
+    }
 }
@@ -22,6 +22,7 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.LinkedList;
 
 /**
@@ -80,18 +81,37 @@ public class TarUtils {
     }
 
     public static void tarFiles(File tar, long modTime, File... files) throws IOException {
-        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new BufferedOutputStream(new FileOutputStream(tar)))) {
-            tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-            for (File f : files) {
-                if (f.isDirectory()) {
-                    addDirectoryEntry(tarOut, f.getName(), f, modTime);
-                    final String parentPath = f.getParentFile().getAbsolutePath();
-                    addDirectoryRecursively(tarOut, parentPath, f, modTime, IoUtil.ANY_FILTER);
-                } else if (f.isFile()) {
-                    addFileEntry(tarOut, f.getName(), f, modTime);
-                }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tar))) {
+            tarFiles(out, modTime, files);
+        }
+    }
+
+    /**
+     * Writes tar archive of specified files to the stream, directories are added recursively.
+     * Archive is written on the fly, so it may be sent somewhere without saving to disk.
+     * Output stream is not closed by this method.
+     *
+     * @param out
+     *         stream to write tar archive to
+     * @param modTime
+     *         modification time that is applied to all entries in archive, original time of files is used if value is negative
+     * @param files
+     *         files to archive
+     */
+    public static void tarFiles(OutputStream out, long modTime, File... files) throws IOException {
+        final TarArchiveOutputStream tarOut = new TarArchiveOutputStream(out);
+        tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+        for (File f : files) {
+            if (f.isDirectory()) {
+                addDirectoryEntry(tarOut, f.getName(), f, modTime);
+                final String parentPath = f.getParentFile().getAbsolutePath();
+                addDirectoryRecursively(tarOut, parentPath, f, modTime, IoUtil.ANY_FILTER);
+            } else if (f.isFile()) {
+                addFileEntry(tarOut, f.getName(), f, modTime);
             }
         }
+        tarOut.finish();
+        tarOut.flush();
     }
 
     public static void tarFiles(File tar, File... files) throws IOException {
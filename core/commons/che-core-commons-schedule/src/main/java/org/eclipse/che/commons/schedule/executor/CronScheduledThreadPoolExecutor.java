@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.schedule.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executor which runs cron jobs without dedicated threads.
+ * <p>
+ * Each cron job is scheduled as one-shot delayed task for its next fire time, when the task is done
+ * the next fire time is computed and the task is scheduled again. Delayed tasks of all the cron,
+ * fixed rate and fixed delay jobs are kept in the single time ordered queue of this executor
+ * and are run by the fixed number of pool threads, so the number of jobs doesn't affect the number of threads.
+ * The same cron job is never run concurrently, if the job misses its fire time because the previous
+ * execution took too long or all the pool threads were busy, it is handled according to the {@link MisfirePolicy}.
+ *
+ * @see CronJob
+ */
+public class CronScheduledThreadPoolExecutor extends ScheduledThreadPoolExecutor implements CronExecutorService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CronScheduledThreadPoolExecutor.class);
+
+    /** Defines what to do when cron job misses one or more fire times. */
+    public enum MisfirePolicy {
+        /** Run job once as soon as possible, then continue with the next fire time after that run. */
+        FIRE_ONCE_NOW,
+        /** Don't run missed fire times, continue with the next fire time after now. */
+        SKIP
+    }
+
+    private final MisfirePolicy misfirePolicy;
+    private final List<CronJob> cronJobs;
+
+    /**
+     * Constructs a new CronScheduledThreadPoolExecutor.
+     *
+     * @param poolSize
+     *         the number of threads which run all the scheduled jobs
+     * @param threadFactory
+     *         the thread factory
+     * @param misfirePolicy
+     *         policy for the cron jobs which miss their fire times
+     */
+    public CronScheduledThreadPoolExecutor(int poolSize, ThreadFactory threadFactory, MisfirePolicy misfirePolicy) {
+        super(poolSize, threadFactory);
+        this.misfirePolicy = misfirePolicy;
+        this.cronJobs = new CopyOnWriteArrayList<>();
+        this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Constructs a new CronScheduledThreadPoolExecutor with {@link MisfirePolicy#FIRE_ONCE_NOW} policy.
+     *
+     * @param poolSize
+     *         the number of threads which run all the scheduled jobs
+     * @param threadFactory
+     *         the thread factory
+     */
+    public CronScheduledThreadPoolExecutor(int poolSize, ThreadFactory threadFactory) {
+        this(poolSize, threadFactory, MisfirePolicy.FIRE_ONCE_NOW);
+    }
+
+    @Override
+    public CronJob schedule(Runnable task, CronExpression expression) {
+        return schedule(task, expression, misfirePolicy);
+    }
+
+    /**
+     * Schedules the specified task to execute according to the specified cron expression.
+     *
+     * @param task
+     *         the Runnable task to schedule
+     * @param expression
+     *         a cron expression
+     * @param misfirePolicy
+     *         policy which is used when task misses its fire time
+     */
+    public CronJob schedule(Runnable task, CronExpression expression, MisfirePolicy misfirePolicy) {
+        if (task == null || expression == null || misfirePolicy == null) {
+            throw new NullPointerException();
+        }
+        if (isShutdown()) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        final CronJob job = new CronJob(task, expression, misfirePolicy);
+        cronJobs.add(job);
+        job.scheduleNext(expression.getNextValidTimeAfter(new Date()));
+        return job;
+    }
+
+    /** Returns scheduled cron jobs which are not cancelled or finished. */
+    public List<CronJob> getCronJobs() {
+        return new ArrayList<>(cronJobs);
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        for (CronJob cronJob : cronJobs) {
+            cronJob.finish();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> notExecuted = super.shutdownNow();
+        for (CronJob cronJob : cronJobs) {
+            cronJob.finish();
+        }
+        return notExecuted;
+    }
+
+    /**
+     * Cron job scheduled by {@link CronScheduledThreadPoolExecutor}.
+     * Job is done when it is cancelled, when expression doesn't have next fire time or when executor is shut down.
+     * <p>
+     * Job collects metrics of its executions, lag is the time between the fire time and the actual start of execution.
+     */
+    public final class CronJob implements Future<Object>, Runnable {
+        private final Runnable       task;
+        private final CronExpression expression;
+        private final MisfirePolicy  misfirePolicy;
+        private final CountDownLatch done;
+
+        private volatile ScheduledFuture<?> next;
+        private volatile long               fireTime;
+        private volatile boolean            cancelled;
+        private volatile long               executionCount;
+        private volatile long               misfireCount;
+        private volatile long               lastLag;
+        private volatile long               maxLag;
+
+        private CronJob(Runnable task, CronExpression expression, MisfirePolicy misfirePolicy) {
+            this.task = task;
+            this.expression = expression;
+            this.misfirePolicy = misfirePolicy;
+            this.done = new CountDownLatch(1);
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            final long lag = Math.max(0, System.currentTimeMillis() - fireTime);
+            lastLag = lag;
+            if (lag > maxLag) {
+                maxLag = lag;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // next executions of the cron job must not be suppressed by the failed one
+                LOG.error(e.getLocalizedMessage(), e);
+            } finally {
+                executionCount++;
+            }
+
+            final long now = System.currentTimeMillis();
+            Date nextFireTime = expression.getNextValidTimeAfter(new Date(fireTime));
+            if (nextFireTime != null && nextFireTime.getTime() < now) {
+                misfireCount++;
+                LOG.debug("Cron job {} with expression '{}' missed fire time {}", task, expression, nextFireTime);
+                if (misfirePolicy == MisfirePolicy.FIRE_ONCE_NOW) {
+                    nextFireTime = new Date(now);
+                } else {
+                    nextFireTime = expression.getNextValidTimeAfter(new Date(now));
+                }
+            }
+            scheduleNext(nextFireTime);
+        }
+
+        private void scheduleNext(Date nextFireTime) {
+            if (nextFireTime == null) {
+                LOG.debug("Cron job {} with expression '{}' doesn't have next fire time", task, expression);
+                finish();
+                return;
+            }
+            fireTime = nextFireTime.getTime();
+            try {
+                next = CronScheduledThreadPoolExecutor.super.schedule(this,
+                                                                     fireTime - System.currentTimeMillis(),
+                                                                     TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                if (!isShutdown()) {
+                    LOG.error(e.getMessage(), e);
+                }
+                finish();
+                return;
+            }
+            // job might be cancelled while it was being scheduled
+            if (cancelled) {
+                next.cancel(false);
+            }
+        }
+
+        private void finish() {
+            cronJobs.remove(this);
+            done.countDown();
+        }
+
+        /** Returns the cron expression of this job. */
+        public CronExpression getExpression() {
+            return expression;
+        }
+
+        /** Returns the policy which is used when job misses its fire time. */
+        public MisfirePolicy getMisfirePolicy() {
+            return misfirePolicy;
+        }
+
+        /** Returns the time when job is going to be run next time or was run last time if job is done. */
+        public Date getNextFireTime() {
+            return new Date(fireTime);
+        }
+
+        /** Returns how many times job was run. */
+        public long getExecutionCount() {
+            return executionCount;
+        }
+
+        /** Returns how many times job missed its fire time. */
+        public long getMisfireCount() {
+            return misfireCount;
+        }
+
+        /** Returns lag of the last execution. */
+        public long getLastLag(TimeUnit unit) {
+            return unit.convert(lastLag, TimeUnit.MILLISECONDS);
+        }
+
+        /** Returns the max lag of all the executions. */
+        public long getMaxLag(TimeUnit unit) {
+            return unit.convert(maxLag, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (isDone()) {
+                return false;
+            }
+            cancelled = true;
+            final ScheduledFuture<?> scheduled = next;
+            if (scheduled != null) {
+                scheduled.cancel(mayInterruptIfRunning);
+            }
+            finish();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Override
+        public Object get() throws InterruptedException {
+            done.await();
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+            if (!done.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "CronJob{" +
+                   "task=" + task +
+                   ", expression='" + expression + '\'' +
+                   ", nextFireTime=" + getNextFireTime() +
+                   ", executionCount=" + executionCount +
+                   ", misfireCount=" + misfireCount +
+                   ", maxLag=" + maxLag +
+                   '}';
+        }
+    }
+}
@@ -27,14 +27,14 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Execute method marked with @ScheduleCron @ScheduleDelay and @ScheduleRate annotations using
- * CronThreadPoolExecutor.
+ * CronScheduledThreadPoolExecutor.
  *
  * @author Sergii Kabashniuk
  */
 @Singleton
 public class ThreadPullLauncher implements Launcher {
     private static final Logger LOG = LoggerFactory.getLogger(CronThreadPoolExecutor.class);
-    private final CronThreadPoolExecutor service;
+    private final CronScheduledThreadPoolExecutor service;
 
     /**
      * @param corePoolSize
@@ -43,9 +43,10 @@ public class ThreadPullLauncher implements Launcher {
      */
     @Inject
     public ThreadPullLauncher(@Named("schedule.core_pool_size") Integer corePoolSize) {
-        this.service = new CronThreadPoolExecutor(corePoolSize,
-                                                  new ThreadFactoryBuilder().setNameFormat("Annotated-scheduler-%d").setDaemon(false)
-                                                                            .build());
+        this.service = new CronScheduledThreadPoolExecutor(corePoolSize,
+                                                           new ThreadFactoryBuilder().setNameFormat("Annotated-scheduler-%d")
+                                                                                     .setDaemon(false)
+                                                                                     .build());
     }
 
 
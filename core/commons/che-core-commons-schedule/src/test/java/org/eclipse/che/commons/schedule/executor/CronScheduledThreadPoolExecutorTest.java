@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.schedule.executor;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.schedule.executor.CronScheduledThreadPoolExecutor.CronJob;
+import org.eclipse.che.commons.schedule.executor.CronScheduledThreadPoolExecutor.MisfirePolicy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link CronScheduledThreadPoolExecutor}
+ */
+public class CronScheduledThreadPoolExecutorTest {
+    private static final String EACH_SECOND = "* * * * * ?";
+
+    private CronScheduledThreadPoolExecutor executor;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = new CronScheduledThreadPoolExecutor(2, new ThreadFactoryBuilder().setNameFormat("cron-test-%d").build());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunCronJobsWithoutAdditionalThreads() throws Exception {
+        final CountDownLatch executions = new CountDownLatch(200);
+        for (int i = 0; i < 100; i++) {
+            executor.schedule(executions::countDown, new CronExpression(EACH_SECOND));
+        }
+
+        assertTrue(executions.await(5, TimeUnit.SECONDS));
+        assertEquals(executor.getPoolSize(), 2);
+        assertEquals(executor.getCronJobs().size(), 100);
+    }
+
+    @Test
+    public void shouldNotRunCancelledCronJob() throws Exception {
+        final AtomicInteger executions = new AtomicInteger();
+        final CronJob job = executor.schedule(executions::incrementAndGet, new CronExpression(EACH_SECOND));
+
+        assertTrue(job.cancel(false));
+        Thread.sleep(1500);
+
+        assertEquals(executions.get(), 0);
+        assertTrue(job.isCancelled());
+        assertTrue(job.isDone());
+        assertTrue(executor.getCronJobs().isEmpty());
+    }
+
+    @Test
+    public void shouldContinueRunningCronJobAfterFailure() throws Exception {
+        final CountDownLatch executions = new CountDownLatch(2);
+        final CronJob job = executor.schedule(() -> {
+            executions.countDown();
+            throw new IllegalStateException("failure");
+        }, new CronExpression(EACH_SECOND));
+
+        assertTrue(executions.await(5, TimeUnit.SECONDS));
+        assertFalse(job.isDone());
+    }
+
+    @Test
+    public void shouldRunMisfiredCronJobOnceNow() throws Exception {
+        final CountDownLatch executions = new CountDownLatch(2);
+        final CronJob job = executor.schedule(() -> {
+            executions.countDown();
+            sleepQuietly(2500);
+        }, new CronExpression(EACH_SECOND), MisfirePolicy.FIRE_ONCE_NOW);
+
+        assertTrue(executions.await(8, TimeUnit.SECONDS));
+        assertTrue(job.getMisfireCount() >= 1);
+        assertTrue(job.getLastLag(TimeUnit.MILLISECONDS) < 1000);
+    }
+
+    @Test
+    public void shouldSkipMisfiredFireTimes() throws Exception {
+        final CountDownLatch executions = new CountDownLatch(2);
+        final CronJob job = executor.schedule(() -> {
+            executions.countDown();
+            sleepQuietly(1500);
+        }, new CronExpression(EACH_SECOND), MisfirePolicy.SKIP);
+
+        assertTrue(executions.await(8, TimeUnit.SECONDS));
+        assertTrue(job.getMisfireCount() >= 1);
+        assertEquals(job.getExecutionCount(), 1);
+    }
+
+    @Test
+    public void shouldFinishCronJobsOnShutdown() throws Exception {
+        final CronJob job = executor.schedule(() -> {}, new CronExpression(EACH_SECOND));
+
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(job.isDone());
+        assertFalse(job.isCancelled());
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathFactoryConfigurationException;
@@ -34,9 +35,11 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import static javax.xml.XMLConstants.FEATURE_SECURE_PROCESSING;
 import static javax.xml.stream.XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES;
@@ -52,13 +55,13 @@ import static org.eclipse.che.commons.xml.XMLTreeUtil.replaceAll;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.rootStart;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.single;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.level;
-import static org.eclipse.che.commons.xml.XMLTreeUtil.insertBetween;
-import static org.eclipse.che.commons.xml.XMLTreeUtil.insertInto;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.lastIndexOf;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.openTagLength;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.tabulate;
 import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
 import static com.google.common.io.ByteStreams.toByteArray;
+import static java.lang.Math.max;
+import static java.lang.System.arraycopy;
 import static java.nio.file.Files.readAllBytes;
 import static java.util.Objects.requireNonNull;
 import static javax.xml.XMLConstants.XML_NS_URI;
@@ -72,6 +75,7 @@ import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 import static javax.xml.xpath.XPathConstants.NODESET;
 import static javax.xml.xpath.XPathConstants.STRING;
 import static org.w3c.dom.Node.CDATA_SECTION_NODE;
+import static org.w3c.dom.Node.ELEMENT_NODE;
 import static org.w3c.dom.Node.TEXT_NODE;
 
 /**
@@ -87,7 +91,7 @@ import static org.w3c.dom.Node.TEXT_NODE;
  * If we know elements positions and source bytes we
  * can easily manipulate content as we want.
  * So each time when client updates tree,
- * tree rewrites source bytes with new information,
+ * tree rewrites source bytes with new information in place,
  * indexes new elements, updates delegated document,
  * shifts needed existed elements positions.
  * As you may see there are a lot of data manipulations
@@ -95,7 +99,8 @@ import static org.w3c.dom.Node.TEXT_NODE;
  * parsing huge xml documents or for often complex updates.</b>
  * <p>
  * XPath is embedded to XMLTree so each query to tree
- * is xpath query. You will be able to select/update
+ * is xpath query, expressions are compiled once per tree
+ * and reused by the next queries. You will be able to select/update
  * content provided with XMLTree elements or attributes
  * without working with xpath directly.
  * <p>
@@ -174,6 +179,8 @@ public final class XMLTree {
     private static final XPathFactory           XPATH_FACTORY            = XPathFactory.newInstance();
     private static final String                 ROOT_TEMPLATE            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<%s>\n</%s>";
     private static final int                    EXPECTED_NAMESPACES_SIZE = 2;
+    private static final int                    MAX_CACHED_EXPRESSIONS   = 64;
+    private static final Pattern                CHILD_PATH               = Pattern.compile("(/[A-Za-z_][\\w.\\-]*)+");
 
     /** Factories configuration. */
     static {
@@ -199,18 +206,29 @@ public final class XMLTree {
         }
     }
 
-    private Document            document;
-    private Map<String, String> namespaces;
-    private List<Element>       elements;
-    private byte[]              xml;
+    private Document                     document;
+    private Map<String, String>          namespaces;
+    private List<Element>                elements;
+    private Map<String, XPathExpression> expressions;
+    private XPath                        xpath;
+    /** Source bytes, only first {@link #size} bytes are content, the rest is reserved for the next edits. */
+    private byte[]                       xml;
+    private int                          size;
 
     private XMLTree(byte[] xml) {
         if (xml.length == 0) {
             throw new XMLTreeException("Source content is empty");
         }
-        elements = new LinkedList<>();
+        elements = new ArrayList<>();
         namespaces = newHashMapWithExpectedSize(EXPECTED_NAMESPACES_SIZE);
+        expressions = new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > MAX_CACHED_EXPRESSIONS;
+            }
+        };
         this.xml = normalizeLineEndings(xml);
+        size = this.xml.length;
         //reason: parser is going to replace all '\r\n' sequences with single '\n'
         //which will affect elements position in source xml and produce incorrect XMLTree behaviour
         //it comes from spec http://www.w3.org/TR/2004/REC-xml11-20040204/
@@ -380,10 +398,11 @@ public final class XMLTree {
      */
     public byte[] getBytes() {
         final String separator = System.getProperty("line.separator");
+        final byte[] content = Arrays.copyOf(xml, size);
         if (!"\n".equals(separator)) {
-            return replaceAll(xml, "\n".getBytes(), separator.getBytes());
+            return replaceAll(content, "\n".getBytes(), separator.getBytes());
         }
-        return Arrays.copyOf(xml, xml.length);
+        return content;
     }
 
     /**
@@ -414,14 +433,69 @@ public final class XMLTree {
      */
     @SuppressWarnings("unchecked")
     private Object evaluateXPath(String expression, QName returnType) {
-        final XPath xpath = XPATH_FACTORY.newXPath();
+        //xpath implementation converts whole document on each evaluation,
+        //so expressions like '/project/artifactId' are resolved directly
+        if (CHILD_PATH.matcher(expression).matches() && (returnType == NODESET || returnType == STRING)) {
+            final NodeList nodes = selectChildPath(expression);
+            if (returnType == NODESET) {
+                return nodes;
+            }
+            return nodes.getLength() == 0 ? "" : nodes.item(0).getTextContent();
+        }
         try {
-            return xpath.evaluate(expression, document, returnType);
+            return compileXPath(expression).evaluate(document, returnType);
         } catch (XPathExpressionException xpathEx) {
             throw XMLTreeException.wrap(xpathEx);
         }
     }
 
+    /**
+     * Returns compiled xpath expression, the same queries are usually
+     * repeated on the tree, e.g. {@link #updateText(String, String)},
+     * so expression is compiled only on the first query
+     */
+    private XPathExpression compileXPath(String expression) throws XPathExpressionException {
+        XPathExpression compiled = expressions.get(expression);
+        if (compiled == null) {
+            if (xpath == null) {
+                xpath = XPATH_FACTORY.newXPath();
+            }
+            compiled = xpath.compile(expression);
+            expressions.put(expression, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Selects elements by path which contains only child element names
+     * e.g. '/project/dependencies/dependency', nodes are selected in document order
+     */
+    private NodeList selectChildPath(String expression) {
+        List<Node> selected = new ArrayList<>(1);
+        selected.add(document);
+        for (String name : expression.substring(1).split("/")) {
+            final List<Node> children = new ArrayList<>();
+            for (Node parent : selected) {
+                for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    if (child.getNodeType() == ELEMENT_NODE && name.equals(localName(child))) {
+                        children.add(child);
+                    }
+                }
+            }
+            selected = children;
+        }
+        return new ListNodeList(selected);
+    }
+
+    /**
+     * Returns node name without prefix, as document is not namespace aware
+     * {@link Node#getLocalName()} is {@code null}
+     */
+    private static String localName(Node node) {
+        final String name = node.getNodeName();
+        return name.substring(name.indexOf(':') + 1);
+    }
+
     /**
      * Parses document using {@link DocumentBuilder}
      * Rethrows all exceptions as {@link XMLTreeException}
@@ -679,14 +753,11 @@ public final class XMLTree {
      */
     void appendChild(NewElement newElement, Element relatedToNew, Element parent) {
         final int level = level(parent) + 1;
-        final int lengthBefore = xml.length;
         final int insertHere = lastIndexOf(xml, '>', parent.end.left) + 1;
         //inserting new element bytes to tree bytes
-        xml = insertInto(xml,
-                         insertHere,
-                         '\n' + tabulate(newElement.asString(), level));
+        final int offset = insert(insertHere, '\n' + tabulate(newElement.asString(), level));
         //shift existing segments which are after parent start
-        shiftSegments(insertHere, xml.length - lengthBefore);
+        shiftSegments(insertHere, offset);
         //create and set up start, end, text segments to created element
         applySegments(newElement, relatedToNew, insertHere - 1, level);
         //let tree know about added element
@@ -698,13 +769,10 @@ public final class XMLTree {
      */
     void insertAfter(NewElement newElement, Element relatedToNew, Element refElement) {
         final int level = level(refElement);
-        final int lengthBefore = xml.length;
         //inserting new element bytes to tree bytes
-        xml = insertInto(xml,
-                         refElement.end.right + 1,
-                         '\n' + tabulate(newElement.asString(), level));
+        final int offset = insert(refElement.end.right + 1, '\n' + tabulate(newElement.asString(), level));
         //shift existing segments which are after parent start
-        shiftSegments(refElement.end.right, xml.length - lengthBefore);
+        shiftSegments(refElement.end.right, offset);
         //create and set up start, end, text segments to created element
         //+1 because of \n
         applySegments(newElement, relatedToNew, refElement.end.right, level);
@@ -722,13 +790,10 @@ public final class XMLTree {
      */
     void insertAfterParent(NewElement newElement, Element relatedToNew, Element parent) {
         final int level = level(parent) + 1;
-        final int lengthBefore = xml.length;
         //inserting after parent
-        xml = insertInto(xml,
-                         parent.start.right + 1,
-                         '\n' + tabulate(newElement.asString(), level));
+        final int offset = insert(parent.start.right + 1, '\n' + tabulate(newElement.asString(), level));
         //shift existing segments which are after parent start
-        shiftSegments(parent.start.right, xml.length - lengthBefore);
+        shiftSegments(parent.start.right, offset);
         //create and set up start, end, text segments to created element
         applySegments(newElement, relatedToNew, parent.start.right, level);
         //let tree know about inserted element
@@ -761,19 +826,15 @@ public final class XMLTree {
      */
     void removeElement(Element element) {
         final int leftBound = lastIndexOf(xml, '>', element.start.left) + 1;
-        final int lengthBefore = xml.length;
         //if text segment before removal element
         //exists it should go to hell with removal
         if (leftBound != element.start.left - 1) {
             removeSegmentFromElement(element.getParent(), leftBound);
         }
         //replacing content with nothing
-        xml = insertBetween(xml,
-                            leftBound,
-                            element.end.right,
-                            "");
+        final int offset = replace(leftBound, element.end.right, "");
         //shift all elements which are right from removed element
-        shiftSegments(element.end.right, xml.length - lengthBefore);
+        shiftSegments(element.end.right, offset);
         //let tree know that element is not a family member
         unregisterElement(element);
     }
@@ -782,13 +843,10 @@ public final class XMLTree {
      * Inserts new attribute value content to tree bytes
      */
     void insertAttribute(NewAttribute attribute, Element owner) {
-        final int len = xml.length;
         //inserting new attribute content
-        xml = insertInto(xml,
-                         owner.start.right,
-                         ' ' + attribute.asString());
+        final int offset = insert(owner.start.right, ' ' + attribute.asString());
         //shift all elements which are right from removed element
-        shiftSegments(owner.start.left - 1, xml.length - len);
+        shiftSegments(owner.start.left - 1, offset);
     }
 
     /**
@@ -796,15 +854,11 @@ public final class XMLTree {
      */
     void removeAttribute(Attribute attribute) {
         final Element element = attribute.getElement();
-        final int lengthBefore = xml.length;
         final Segment segment = attributeSegment(attribute);
         //replacing attribute segment with nothing
-        xml = insertBetween(xml,
-                            segment.left - 1,
-                            segment.right,
-                            "");
+        final int offset = replace(segment.left - 1, segment.right, "");
         //shift all elements which are left from owner left
-        shiftSegments(element.start.left, xml.length - lengthBefore);
+        shiftSegments(element.start.left, offset);
     }
 
     //TODO should it be public?
@@ -869,9 +923,7 @@ public final class XMLTree {
      * on offset equal to removal segment length
      */
     private void removeSegment(Segment segment) {
-        final int lengthBefore = xml.length;
-        xml = insertBetween(xml, segment.left, segment.right, "");
-        shiftSegments(segment.left, xml.length - lengthBefore);
+        shiftSegments(segment.left, replace(segment.left, segment.right, ""));
     }
 
     /**
@@ -880,12 +932,46 @@ public final class XMLTree {
      * source bytes length
      */
     private void updateSegmentContent(Segment segment, String content) {
-        final int lengthBefore = xml.length;
-        xml = insertBetween(xml, segment.left, segment.right, content);
-        shiftSegments(segment.left, xml.length - lengthBefore);
+        shiftSegments(segment.left, replace(segment.left, segment.right, content));
         segment.right = segment.left + content.length() - 1;
     }
 
+    /**
+     * Inserts content bytes to the source bytes from {@code pos}
+     *
+     * @return difference between new and old source bytes length
+     * @see #replace(int, int, String)
+     */
+    private int insert(int pos, String content) {
+        return replace(pos, pos - 1, content);
+    }
+
+    /**
+     * <pre>
+     * New content schema:
+     *
+     * [0 - left) + content + (right, size)
+     * </pre>
+     * Unlike {@link XMLTreeUtil#insertBetween(byte[], int, int, String)}
+     * source bytes are updated in place, so only bytes after {@code right}
+     * are moved and new array is allocated only when reserved space is over.
+     *
+     * @return difference between new and old source bytes length
+     */
+    private int replace(int left, int right, String content) {
+        final byte[] contentSrc = content.getBytes(UTF_8);
+        final int tailLength = size - right - 1;
+        final int newSize = left + contentSrc.length + tailLength;
+        if (newSize > xml.length) {
+            xml = Arrays.copyOf(xml, max(newSize, xml.length + (xml.length >> 1)));
+        }
+        arraycopy(xml, right + 1, xml, left + contentSrc.length, tailLength);
+        arraycopy(contentSrc, 0, xml, left, contentSrc.length);
+        final int offset = newSize - size;
+        size = newSize;
+        return offset;
+    }
+
     /**
      * Adds element and it children to tree
      */
@@ -915,8 +1001,8 @@ public final class XMLTree {
         final byte[] name = attribute.getName().getBytes();
         final byte[] value = attribute.getValue().getBytes();
 
-        final int attrLeft = indexOfAttributeName(xml, name, owner.start.left + owner.getName().length());
-        final int valueLeft = indexOf(xml, value, attrLeft + name.length);
+        final int attrLeft = indexOfAttributeName(xml, name, owner.start.left + owner.getName().length(), size);
+        final int valueLeft = indexOf(xml, value, attrLeft + name.length, size);
 
         return new Segment(attrLeft, valueLeft + value.length);
     }
@@ -930,8 +1016,8 @@ public final class XMLTree {
         final byte[] name = attribute.getName().getBytes();
         final byte[] value = oldValue.getBytes();
 
-        final int attrLeft = indexOfAttributeName(xml, name, owner.start.left + owner.getName().length());
-        final int valueLeft = indexOf(xml, value, attrLeft + name.length);
+        final int attrLeft = indexOfAttributeName(xml, name, owner.start.left + owner.getName().length(), size);
+        final int valueLeft = indexOf(xml, value, attrLeft + name.length, size);
 
         return new Segment(valueLeft, valueLeft + value.length - 1);
     }
@@ -1057,6 +1143,27 @@ public final class XMLTree {
         }
     }
 
+    /**
+     * Node list which is result of {@link #selectChildPath(String)}
+     */
+    private static class ListNodeList implements NodeList {
+        final List<Node> nodes;
+
+        ListNodeList(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public Node item(int index) {
+            return index < 0 || index >= nodes.size() ? null : nodes.get(index);
+        }
+
+        @Override
+        public int getLength() {
+            return nodes.size();
+        }
+    }
+
     @Override
     public String toString() {
         return new String(getBytes(), UTF_8);
@@ -227,7 +227,24 @@ public final class XMLTreeUtil {
      * @return index of the first occurrence or -1 if nothing was found
      */
     public static int indexOf(byte[] src, byte[] target, int fromIdx) {
-        final int to = src.length - target.length + 1;
+        return indexOf(src, target, fromIdx, src.length);
+    }
+
+    /**
+     * Searches for target bytes in the source bytes range.
+     *
+     * @param src
+     *         where to search
+     * @param target
+     *         what to search
+     * @param fromIdx
+     *         source index to search from
+     * @param toIdx
+     *         source index to search to, exclusive
+     * @return index of the first occurrence or -1 if nothing was found
+     */
+    public static int indexOf(byte[] src, byte[] target, int fromIdx, int toIdx) {
+        final int to = min(toIdx, src.length) - target.length + 1;
         for (int i = fromIdx; i < to; i++) {
             if (src[i] == target[0]) {
                 boolean equals = true;
@@ -260,15 +277,23 @@ public final class XMLTreeUtil {
      * @return index of the first attribute name occurrence or -1 if nothing was found
      */
     public static int indexOfAttributeName(byte[] src, byte[] target, int fromIdx) {
-        final int idx = indexOf(src, target, fromIdx);
+        return indexOfAttributeName(src, target, fromIdx, src.length);
+    }
+
+    /**
+     * Same as {@link #indexOfAttributeName(byte[], byte[], int)} but
+     * searches only before {@code toIdx}, exclusive.
+     */
+    public static int indexOfAttributeName(byte[] src, byte[] target, int fromIdx, int toIdx) {
+        final int idx = indexOf(src, target, fromIdx, toIdx);
         if (idx == -1) {
             return -1;
         }
         final int next = idx + target.length;
-        if (next == src.length || isWhitespace(src[next]) || src[next] == '=') {
+        if (next == min(toIdx, src.length) || isWhitespace(src[next]) || src[next] == '=') {
             return idx;
         }
-        return indexOfAttributeName(src, target, idx + 1);
+        return indexOfAttributeName(src, target, idx + 1, toIdx);
     }
 
     public static byte[] replaceAll(byte[] src, byte[] target, byte[] replacement) {
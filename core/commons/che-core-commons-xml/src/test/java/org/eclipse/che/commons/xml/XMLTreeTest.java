@@ -146,6 +146,36 @@ public class XMLTreeTest {
         assertEquals(asList(artifacts.get(0).getText(), artifacts.get(1).getText()), asList("testng", "mockito-core"));
     }
 
+    @Test
+    public void shouldFindElementsByChildPathInDocumentOrder() {
+        final XMLTree tree = XMLTree.from(XML_CONTENT);
+
+        final List<Element> artifacts = tree.getElements("/project/dependencies/dependency/artifactId");
+
+        assertEquals(artifacts.size(), 3);
+        assertEquals(tree.getText("/project/dependencies/dependency/artifactId"), asList("guava", "testng", "mockito-core"));
+        assertEquals(tree.getSingleText("/project/dependencies/dependency/artifactId"), "guava");
+        assertEquals(tree.getSingleText("/project/dependencies/dependency/classifier"), "");
+    }
+
+    @Test
+    public void shouldKeepElementsPositionsAfterManyUpdates() {
+        final XMLTree tree = XMLTree.from(XML_CONTENT);
+
+        for (int i = 0; i < 100; i++) {
+            tree.updateText("/project/artifactId", "test-artifact-" + i);
+            tree.appendChild("/project/dependencies", NewElement.createElement("dependency",
+                                                                               NewElement.createElement("artifactId", "artifact-" + i)));
+            tree.getSingleElement("/project/name").setText("Test " + i);
+        }
+
+        assertEquals(tree.getSingleText("/project/artifactId"), "test-artifact-99");
+        assertEquals(tree.getSingleText("/project/name"), "Test 99");
+        assertEquals(tree.getElements("/project/dependencies/dependency").size(), 103);
+        assertEquals(tree.getSingleText("/project/dependencies/dependency[last()]/artifactId"), "artifact-99");
+        assertEquals(XMLTree.from(tree.getBytes()).toString(), tree.toString());
+    }
+
     @Test
     public void shouldFindAttributeValues() {
         final XMLTree tree = XMLTree.from(XML_CONTENT);
@@ -18,7 +18,6 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
 
-import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.TarUtils;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
@@ -86,18 +85,14 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.core.MediaType;
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -432,6 +427,7 @@ public class DockerConnector {
 
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
+                                                            .keepAlive(false)
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/attach")
                                                             .query("stdout", 1)
                                                             .query("stderr", 1)) {
@@ -461,6 +457,7 @@ public class DockerConnector {
             throws IOException {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("GET")
+                                                            .keepAlive(false)
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/logs")
                                                             .query("stdout", 1)
                                                             .query("stderr", 1)) {
@@ -527,6 +524,7 @@ public class DockerConnector {
         byte[] entityBytesArray = toJson(execStart).getBytes(StandardCharsets.UTF_8);
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
+                                                            .keepAlive(false)
                                                             .path(apiVersionPathPrefix + "/exec/" + params.getExecId() + "/start")
                                                             .header("Content-Type", MediaType.APPLICATION_JSON)
                                                             .header("Content-Length", entityBytesArray.length)
@@ -645,35 +643,20 @@ public class DockerConnector {
      * @apiNote this method implements 1.20 docker API and requires docker not less than 1.8 version
      */
     public void putResource(final PutResourceParams params) throws IOException {
-        File tarFile;
-        long length;
-        try (InputStream sourceData = params.getSourceStream()) {
-            // TODO according to http spec http://www.w3.org/Protocols/rfc2616/rfc2616-sec4.html#sec4.4,
-            // it is possible to send request without specifying content length if chunked encoding header is set
-            // Investigate is it possible to write the stream to request directly
-
-            // we save stream to file, because we have to know its length
-            Path tarFilePath = Files.createTempFile("compressed-resources", ".tar");
-            tarFile = tarFilePath.toFile();
-            length = Files.copy(sourceData, tarFilePath, StandardCopyOption.REPLACE_EXISTING);
-        }
-
-        try (InputStream tarStream = new BufferedInputStream(new FileInputStream(tarFile));
+        // archive is streamed to docker with chunked transfer encoding, so its length doesn't have to be known
+        try (InputStream sourceData = params.getSourceStream();
              DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("PUT")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
                                                                   "/archive")
                                                             .query("path", params.getTargetPath())
                                                             .header("Content-Type", ExtMediaType.APPLICATION_X_TAR)
-                                                            .header("Content-Length", length)
-                                                            .entity(tarStream)) {
+                                                            .entity(sourceData)) {
             addQueryParamIfNotNull(connection, "noOverwriteDirNonDir", params.isNoOverwriteDirNonDir());
             final DockerResponse response = connection.request();
             if (response.getStatus() != OK.getStatusCode()) {
                 throw getDockerException(response);
             }
-        } finally {
-            FileCleaner.addFile(tarFile);
         }
     }
 
@@ -697,6 +680,7 @@ public class DockerConnector {
 
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("GET")
+                                                            .keepAlive(false)
                                                             .path(apiVersionPathPrefix + "/events")) {
             addQueryParamIfNotNull(connection, "since", params.getSinceSecond());
             addQueryParamIfNotNull(connection, "until", params.getUntilSecond());
@@ -734,24 +718,14 @@ public class DockerConnector {
                               progressMonitor);
         }
 
-        // build context is set of files
-        final File tar = Files.createTempFile(null, ".tar").toFile();
-        try {
-            File[] files = new File[params.getFiles().size()];
-            files = params.getFiles().toArray(files);
-            createTarArchive(tar, files);
-            try (InputStream tarInput = new FileInputStream(tar)) {
-                DockerConnection dockerConnection = connectionFactory.openConnection(dockerDaemonUri)
-                                                                     .header("Content-Type", "application/x-compressed-tar")
-                                                                     .header("Content-Length", tar.length())
-                                                                     .entity(tarInput);
-                return buildImage(dockerConnection,
-                                  params,
-                                  progressMonitor);
-            }
-        } finally {
-            FileCleaner.addFile(tar);
-        }
+        // build context is set of files, archive is created while it is sent to docker
+        final File[] files = params.getFiles().toArray(new File[params.getFiles().size()]);
+        DockerConnection dockerConnection = connectionFactory.openConnection(dockerDaemonUri)
+                                                             .header("Content-Type", "application/x-compressed-tar")
+                                                             .entity(output -> createTarArchive(output, files));
+        return buildImage(dockerConnection,
+                          params,
+                          progressMonitor);
     }
 
     private String buildImage(final DockerConnection dockerConnection,
@@ -760,6 +734,7 @@ public class DockerConnector {
         final String repository = params.getRepository();
 
         try (DockerConnection connection = dockerConnection.method("POST")
+                                                           .keepAlive(false)
                                                            .path(apiVersionPathPrefix + "/build")
                                                            .header("X-Registry-Config",
                                                                    authResolver.getXRegistryConfigHeaderValue(params.getAuthConfigs()))) {
@@ -889,6 +864,7 @@ public class DockerConnector {
 
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
+                                                            .keepAlive(false)
                                                             .path(apiVersionPathPrefix + "/images/" + fullRepo + "/push")
                                                             .header("X-Registry-Auth",
                                                                     authResolver.getXRegistryAuthHeaderValue(
@@ -998,6 +974,7 @@ public class DockerConnector {
                         final URI dockerDaemonUri) throws IOException {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
+                                                            .keepAlive(false)
                                                             .path(apiVersionPathPrefix + "/images/create")
                                                             .query("fromImage", params.getFullRepo())
                                                             .header("X-Registry-Auth",
@@ -1305,8 +1282,8 @@ public class DockerConnector {
         }
     }
 
-    private void createTarArchive(File tar, File... files) throws IOException {
-        TarUtils.tarFiles(tar, 0, files);
+    private void createTarArchive(OutputStream output, File... files) throws IOException {
+        TarUtils.tarFiles(output, 0, files);
     }
 
     /**
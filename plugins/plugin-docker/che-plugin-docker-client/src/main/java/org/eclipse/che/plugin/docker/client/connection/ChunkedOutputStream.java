@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes data with HTTP chunked transfer encoding.
+ * <p>
+ * Written bytes are collected in buffer which is sent as a single chunk when it is full or when stream is flushed.
+ * {@link #finish()} writes the last chunk, underlying stream is not closed.
+ */
+public class ChunkedOutputStream extends OutputStream {
+    private static final byte[] CRLF       = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+    private final OutputStream output;
+    private final byte[]       buf;
+
+    private int     count;
+    private boolean finished;
+
+    ChunkedOutputStream(OutputStream output, int chunkSize) {
+        this.output = output;
+        this.buf = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureNotFinished();
+        if (count == buf.length) {
+            writeChunk();
+        }
+        buf[count++] = (byte)b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureNotFinished();
+        if (len >= buf.length) {
+            // big arrays are written as separate chunks without copying
+            writeChunk();
+            writeChunk(b, off, len);
+            return;
+        }
+        if (len > buf.length - count) {
+            writeChunk();
+        }
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!finished) {
+            writeChunk();
+        }
+        output.flush();
+    }
+
+    /** Writes buffered data and the last chunk. Nothing may be written after that. */
+    public void finish() throws IOException {
+        if (!finished) {
+            writeChunk();
+            output.write(LAST_CHUNK);
+            output.flush();
+            finished = true;
+        }
+    }
+
+    /** Finishes chunked data, underlying stream stays open. */
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private void writeChunk() throws IOException {
+        if (count > 0) {
+            writeChunk(buf, 0, count);
+            count = 0;
+        }
+    }
+
+    private void writeChunk(byte[] b, int off, int len) throws IOException {
+        output.write(Integer.toHexString(len).getBytes(StandardCharsets.US_ASCII));
+        output.write(CRLF);
+        output.write(b, off, len);
+        output.write(CRLF);
+    }
+
+    private void ensureNotFinished() throws IOException {
+        if (finished) {
+            throw new IOException("Chunked stream is finished");
+        }
+    }
+}
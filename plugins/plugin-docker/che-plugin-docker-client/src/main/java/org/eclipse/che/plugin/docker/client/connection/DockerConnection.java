@@ -27,11 +27,15 @@ import java.util.List;
  * @author Mykola Morhun
  */
 public abstract class DockerConnection implements Closeable {
+    /** Max number of bytes which may be skipped from not read response entity to reuse connection. */
+    private static final int MAX_SKIPPED_BYTES = 8 * 1024;
+
     private String    method;
     private String    path;
     private Entity<?> entity;
     private StringBuilder         query   = new StringBuilder();
     private List<Pair<String, ?>> headers = new LinkedList<>();
+    private boolean               keepAlive = true;
 
     public DockerConnection method(String method) {
         this.method = method;
@@ -91,6 +95,31 @@ public abstract class DockerConnection implements Closeable {
         return this;
     }
 
+    /**
+     * Sets entity which is written directly to the request, e.g. generated on the fly.
+     * Stream entities which length isn't set with {@code Content-Length} header are sent
+     * with chunked transfer encoding, so they don't need to be saved anywhere to compute their length.
+     */
+    public DockerConnection entity(EntityWriter entity) {
+        this.entity = new WriterEntity(entity);
+        return this;
+    }
+
+    /**
+     * Defines whether connection to docker API may be reused by the next requests when response is read.
+     * Requests which stream response, e.g. attach to container or events, should use dedicated
+     * connections which are closed together with this {@code DockerConnection}.
+     * By default connection is kept alive.
+     */
+    public DockerConnection keepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
     public DockerResponse request() throws IOException {
         return request(method, path, query.toString(), headers, entity);
     }
@@ -103,6 +132,47 @@ public abstract class DockerConnection implements Closeable {
 
     public abstract void close();
 
+    /**
+     * Reads not read rest of response entity, so connection may be used by the next request.
+     *
+     * @return {@code true} if entity is read completely and {@code false} if it is too big to be skipped
+     */
+    static boolean skipRemaining(InputStream entity) throws IOException {
+        final byte[] buf = new byte[1024];
+        int skipped = 0;
+        int n;
+        while ((n = entity.read(buf)) != -1) {
+            skipped += n;
+            if (skipped > MAX_SKIPPED_BYTES) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if request entity must be sent with chunked transfer encoding,
+     * i.e. it is streamed and its length is not set with {@code Content-Length} header.
+     */
+    static boolean isChunked(Entity<?> entity, List<Pair<String, ?>> headers) {
+        return entity != null && !entity.isRepeatable() && getHeaderValue(headers, "Content-Length") == null;
+    }
+
+    /** Returns value of the request header with the given name or {@code null} if there is no such header. */
+    static String getHeaderValue(List<Pair<String, ?>> headers, String name) {
+        for (Pair<String, ?> header : headers) {
+            if (name.equalsIgnoreCase(header.first)) {
+                return String.valueOf(header.second);
+            }
+        }
+        return null;
+    }
+
+    /** Writes request entity to the output stream. */
+    public interface EntityWriter {
+        void writeTo(OutputStream output) throws IOException;
+    }
+
     static abstract class Entity<T> {
         final T entity;
 
@@ -111,6 +181,11 @@ public abstract class DockerConnection implements Closeable {
         }
 
         abstract void writeTo(OutputStream output) throws IOException;
+
+        /** Returns {@code true} if entity may be written more than once. */
+        boolean isRepeatable() {
+            return true;
+        }
     }
 
     static class StreamEntity extends Entity<InputStream> {
@@ -127,6 +202,28 @@ public abstract class DockerConnection implements Closeable {
                 entity.close();
             }
         }
+
+        @Override
+        boolean isRepeatable() {
+            return false;
+        }
+    }
+
+    static class WriterEntity extends Entity<EntityWriter> {
+        WriterEntity(EntityWriter entity) {
+            super(entity);
+        }
+
+        @Override
+        public void writeTo(OutputStream output) throws IOException {
+            entity.writeTo(output);
+            output.flush();
+        }
+
+        @Override
+        boolean isRepeatable() {
+            return false;
+        }
     }
 
     static class StringEntity extends Entity<String> {
@@ -17,6 +17,7 @@ import org.eclipse.che.plugin.docker.client.DockerCertificates;
 
 import javax.net.ssl.HttpsURLConnection;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
@@ -28,12 +29,15 @@ import java.util.List;
  * @author Alexander Garagatyi
  */
 public class TcpConnection extends DockerConnection {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
     private final URI                baseUri;
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
 
     private HttpURLConnection connection;
+    private TcpDockerResponse response;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
         if ("https".equals(baseUri.getScheme())) {
@@ -62,8 +66,10 @@ public class TcpConnection extends DockerConnection {
             ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
         }
         connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
+        if (!isKeepAlive()) {
+            // needed to fix bug https://github.com/docker/docker/issues/12845
+            connection.setRequestProperty("Connection", "close");
+        }
         for (Pair<String, ?> header : headers) {
             connection.setRequestProperty(header.first, String.valueOf(header.second));
         }
@@ -75,17 +81,40 @@ public class TcpConnection extends DockerConnection {
         connection.setRequestProperty("Host", host);
         if (entity != null) {
             connection.setDoOutput(true);
+            // streaming modes prevent buffering of the whole entity in memory before it is sent
+            final String contentLength = getHeaderValue(headers, "Content-Length");
+            if (isChunked(entity, headers)) {
+                connection.setChunkedStreamingMode(CHUNK_SIZE);
+            } else if (contentLength != null) {
+                connection.setFixedLengthStreamingMode(Long.parseLong(contentLength));
+            }
             try (OutputStream output = connection.getOutputStream()) {
                 entity.writeTo(output);
             }
         }
-        return new TcpDockerResponse(connection);
+        return response = new TcpDockerResponse(connection);
     }
 
+    /**
+     * Closes connection. If connection is kept alive and response is read completely
+     * then underlying socket is returned to the JDK keep-alive cache, size of the cache
+     * is limited with 'http.maxConnections' system property.
+     */
     @Override
     public void close() {
         if (connection != null) {
-            connection.disconnect();
+            if (!isKeepAlive() || response == null || !consumeResponse()) {
+                connection.disconnect();
+            }
+            connection = null;
+        }
+    }
+
+    private boolean consumeResponse() {
+        try (InputStream entity = response.getInputStream()) {
+            return entity == null || skipRemaining(entity);
+        } catch (IOException e) {
+            return false;
         }
     }
 }
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.docker.client.CLibrary;
@@ -24,6 +25,7 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.ConnectException;
 import java.util.List;
+import java.util.Set;
 
 import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
 import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
@@ -35,31 +37,106 @@ import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private static final int         CHUNK_SIZE         = 64 * 1024;
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
 
-    private int fd = -1;
+    private final String                   dockerSocketPath;
+    private final UnixSocketConnectionPool pool;
+
+    private int                      fd = -1;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
         this.dockerSocketPath = dockerSocketPath;
+        this.pool = null;
+    }
+
+    /**
+     * Creates connection which takes socket from the pool and returns it
+     * back to the pool when it is closed if connection is kept alive.
+     */
+    public UnixSocketConnection(UnixSocketConnectionPool pool) {
+        this.dockerSocketPath = pool.getDockerSocketPath();
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
-        if (entity != null) {
-            entity.writeTo(output);
+        // stream entity can't be written twice, so it is not sent over idle connection which might be already closed
+        if (pool != null && isKeepAlive() && (entity == null || entity.isRepeatable())) {
+            fd = pool.acquire();
+            if (fd != -1) {
+                final UnixSocketOutputStream output = new UnixSocketOutputStream(fd);
+                try {
+                    response = request(fd, output, method, path, query, headers, entity);
+                    // read status and headers to be sure that connection is still alive
+                    response.getInputStream();
+                    return response;
+                } catch (IOException e) {
+                    getCLibrary().close(fd);
+                    fd = -1;
+                    // docker might have already processed the request which bytes were sent before
+                    // the failure, so only requests which can be safely repeated are sent once again
+                    if (!canRetry(method, output.isWritten())) {
+                        throw e;
+                    }
+                }
+            }
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        fd = connect();
+        return response = request(fd, new UnixSocketOutputStream(fd), method, path, query, headers, entity);
     }
 
+    /**
+     * Checks whether the request which failed over idle connection may be sent again over new one.
+     *
+     * @param method
+     *         HTTP method of the request
+     * @param requestSent
+     *         {@code true} if any bytes of the request were written to the failed connection
+     */
+    static boolean canRetry(String method, boolean requestSent) {
+        return !requestSent || IDEMPOTENT_METHODS.contains(method);
+    }
 
     @Override
     public void close() {
         if (fd != -1) {
-            getCLibrary().close(fd);
+            if (pool != null && isKeepAlive() && response != null && isResponseConsumed()) {
+                pool.release(fd);
+            } else {
+                getCLibrary().close(fd);
+            }
+            fd = -1;
+        }
+    }
+
+    private UnixSocketDockerResponse request(int fd,
+                                             UnixSocketOutputStream socketOutput,
+                                             String method,
+                                             String path,
+                                             String query,
+                                             List<Pair<String, ?>> headers,
+                                             Entity<?> entity) throws IOException {
+        final OutputStream output = new BufferedOutputStream(socketOutput, CHUNK_SIZE);
+        final boolean chunked = isChunked(entity, headers);
+        writeHttpHeaders(output, method, path, query, headers, chunked);
+        if (chunked) {
+            try (ChunkedOutputStream chunkedOutput = new ChunkedOutputStream(output, CHUNK_SIZE)) {
+                entity.writeTo(chunkedOutput);
+            }
+        } else if (entity != null) {
+            entity.writeTo(output);
+        }
+        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    }
+
+    private boolean isResponseConsumed() {
+        try {
+            return response.consume();
+        } catch (IOException e) {
+            return false;
         }
     }
 
@@ -77,8 +154,12 @@ public class UnixSocketConnection extends DockerConnection {
         return fd;
     }
 
-    private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
-            throws IOException {
+    private void writeHttpHeaders(OutputStream output,
+                                  String method,
+                                  String path,
+                                  String query,
+                                  List<Pair<String, ?>> headers,
+                                  boolean chunked) throws IOException {
         final Writer writer = new OutputStreamWriter(output);
         writer.write(method);
         writer.write(' ');
@@ -94,6 +175,12 @@ public class UnixSocketConnection extends DockerConnection {
             writer.write(String.valueOf(header.second));
             writer.write("\r\n");
         }
+        if (chunked) {
+            writer.write("Transfer-Encoding: chunked\r\n");
+        }
+        if (!isKeepAlive()) {
+            writer.write("Connection: close\r\n");
+        }
         // Host header is mandatory in HTTP 1.1
         writer.write("Host: \r\n\r\n");
         writer.flush();
@@ -102,8 +189,4 @@ public class UnixSocketConnection extends DockerConnection {
     private InputStream openInputStream(int fd) {
         return new UnixSocketInputStream(fd);
     }
-
-    private OutputStream openOutputStream(int fd) {
-        return new UnixSocketOutputStream(fd);
-    }
 }
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Keeps idle connections to docker unix socket, so the next requests to docker API
+ * reuse already opened sockets instead of creating new ones.
+ * <p>
+ * Only connections which responses were read completely are kept in the pool,
+ * number of kept connections is limited, the rest are closed.
+ */
+public class UnixSocketConnectionPool {
+    private final String         dockerSocketPath;
+    private final int            maxIdleConnections;
+    private final Deque<Integer> idle;
+
+    private boolean closed;
+
+    public UnixSocketConnectionPool(String dockerSocketPath, int maxIdleConnections) {
+        this.dockerSocketPath = dockerSocketPath;
+        this.maxIdleConnections = maxIdleConnections;
+        this.idle = new ArrayDeque<>(maxIdleConnections);
+    }
+
+    public String getDockerSocketPath() {
+        return dockerSocketPath;
+    }
+
+    /**
+     * Takes the last released connection from the pool.
+     * Connections which were closed by docker while they were idle are closed and skipped.
+     *
+     * @return file descriptor of connected socket or {@code -1} if there is no idle connection
+     */
+    int acquire() {
+        Integer fd;
+        while ((fd = poll()) != null) {
+            if (isOpen(fd)) {
+                return fd;
+            }
+            getCLibrary().close(fd);
+        }
+        return -1;
+    }
+
+    private synchronized Integer poll() {
+        return idle.pollFirst();
+    }
+
+    /**
+     * Peeks the socket without blocking, idle connection has nothing to read and
+     * fails with EAGAIN, end of stream means that docker has closed the connection.
+     */
+    private boolean isOpen(int fd) {
+        return getCLibrary().recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT) == -1;
+    }
+
+    /**
+     * Returns connection to the pool or closes it if the pool is full.
+     *
+     * @param fd
+     *         file descriptor of connected socket which response was read completely
+     */
+    void release(int fd) {
+        synchronized (this) {
+            if (!closed && idle.size() < maxIdleConnections) {
+                idle.offerFirst(fd);
+                return;
+            }
+        }
+        getCLibrary().close(fd);
+    }
+
+    /** Closes all the idle connections, connections released after that are closed immediately. */
+    public synchronized void close() {
+        closed = true;
+        for (Integer fd : idle) {
+            getCLibrary().close(fd);
+        }
+        idle.clear();
+    }
+}
@@ -152,4 +152,20 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Reads rest of the response entity if its end is known from
+     * Content-Length or chunked transfer encoding.
+     *
+     * @return {@code true} if response is read completely and connection may be used by the next request
+     */
+    synchronized boolean consume() throws IOException {
+        if (headersFields == null || !headersFields[0].startsWith("HTTP/1.1") || "close".equalsIgnoreCase(getHeader("Connection"))) {
+            return false;
+        }
+        if (data != EMPTY && !(data instanceof LimitedInputStream) && !(data instanceof ChunkedInputStream)) {
+            return false;
+        }
+        return DockerConnection.skipRemaining(data) && rawData.available() == 0;
+    }
 }
@@ -25,10 +25,17 @@ public class UnixSocketOutputStream extends OutputStream {
     private final int fd;
     private final CLibrary cLib = getCLibrary();
 
+    private boolean written;
+
     UnixSocketOutputStream(int fd) {
         this.fd = fd;
     }
 
+    /** Returns {@code true} if at least one byte was sent to the socket. */
+    boolean isWritten() {
+        return written;
+    }
+
     @Override
     public void write(int b) throws IOException {
         write(new byte[]{(byte)b}, 0, 1);
@@ -46,6 +53,9 @@ public class UnixSocketOutputStream extends OutputStream {
         } catch (LastErrorException e) {
             throw new IOException("error: " + cLib.strerror(e.getErrorCode()));
         }
+        if (n > 0) {
+            written = true;
+        }
         if (n != len) {
             throw new IOException(String.format("Failed writing %d bytes", len));
         }
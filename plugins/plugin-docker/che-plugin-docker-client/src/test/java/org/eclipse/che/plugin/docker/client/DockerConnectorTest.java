@@ -117,6 +117,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -906,8 +907,8 @@ public class DockerConnectorTest {
         verify(dockerConnection).path("/containers/" + putResourceParams.getContainer() + "/archive");
         verify(dockerConnection).query(eq("path"), eq(PATH_TO_FILE));
         verify(dockerConnection).header("Content-Type", ExtMediaType.APPLICATION_X_TAR);
-        verify(dockerConnection).header(eq("Content-Length"), anyInt());
-        verify(dockerConnection).entity(any(InputStream.class));
+        verify(dockerConnection, never()).header(eq("Content-Length"), any());
+        verify(dockerConnection).entity(source);
         verify(dockerConnection).request();
         verify(dockerResponse).getStatus();
     }
@@ -975,9 +976,9 @@ public class DockerConnectorTest {
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/build");
         verify(dockerConnection).header("Content-Type", "application/x-compressed-tar");
-        verify(dockerConnection).header(eq("Content-Length"), anyInt());
+        verify(dockerConnection, never()).header(eq("Content-Length"), any());
         verify(dockerConnection).header(eq("X-Registry-Config"), any(byte[].class));
-        verify(dockerConnection).entity(any(InputStream.class));
+        verify(dockerConnection).entity(any(DockerConnection.EntityWriter.class));
         verify(dockerConnection).request();
         verify(dockerResponse).getStatus();
         verify(dockerResponse).getInputStream();
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link ChunkedOutputStream}.
+ */
+public class ChunkedOutputStreamTest {
+
+    @Test
+    public void shouldWriteBufferedDataAsChunks() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ChunkedOutputStream chunked = new ChunkedOutputStream(output, 4)) {
+            chunked.write("hello".getBytes(StandardCharsets.US_ASCII), 0, 3);
+            chunked.write('l');
+            chunked.write('o');
+        }
+
+        assertEquals(output.toString("US-ASCII"), "4\r\nhell\r\n1\r\no\r\n0\r\n\r\n");
+    }
+
+    @Test
+    public void shouldWriteOnlyLastChunkWhenThereIsNoData() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ChunkedOutputStream(output, 4).finish();
+
+        assertEquals(output.toString("US-ASCII"), "0\r\n\r\n");
+    }
+
+    @Test
+    public void shouldBeReadableWithChunkedInputStream() throws Exception {
+        final byte[] data = new byte[100_000];
+        new Random().nextBytes(data);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ChunkedOutputStream chunked = new ChunkedOutputStream(output, 8192)) {
+            chunked.write(data, 0, 10);
+            chunked.write(data, 10, 20_000);
+            chunked.write(data, 20_010, data.length - 20_010);
+        }
+
+        final byte[] read = ByteStreams.toByteArray(new ChunkedInputStream(new ByteArrayInputStream(output.toByteArray())));
+
+        assertEquals(read, data);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldNotAllowWritingAfterFinish() throws Exception {
+        final ChunkedOutputStream chunked = new ChunkedOutputStream(new ByteArrayOutputStream(), 4);
+        chunked.finish();
+
+        chunked.write('a');
+    }
+}
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests of the decision whether request failed over idle {@link UnixSocketConnection} may be sent again.
+ */
+public class UnixSocketConnectionTest {
+
+    @Test(dataProvider = "retries")
+    public void shouldRetryOnlyRequestsWhichAreSafeToRepeat(String method, boolean requestSent, boolean expected) {
+        assertEquals(UnixSocketConnection.canRetry(method, requestSent), expected);
+    }
+
+    @DataProvider(name = "retries")
+    public Object[][] retries() {
+        return new Object[][] {
+                {"GET", true, true},
+                {"DELETE", true, true},
+                {"POST", false, true},
+                {"POST", true, false}
+        };
+    }
+}
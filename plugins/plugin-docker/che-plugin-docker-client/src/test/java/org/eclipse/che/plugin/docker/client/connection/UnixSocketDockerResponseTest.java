@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of the decision whether connection may be reused after {@link UnixSocketDockerResponse}.
+ */
+public class UnixSocketDockerResponseTest {
+
+    @Test
+    public void shouldAllowReuseAfterResponseWithContentLength() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\n{}");
+
+        assertEquals(response.getStatus(), 200);
+        assertTrue(response.consume());
+    }
+
+    @Test
+    public void shouldAllowReuseAfterChunkedResponse() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                                                           "5\r\nhello\r\n0\r\n\r\n");
+
+        assertEquals(response.getStatus(), 200);
+        assertTrue(response.consume());
+    }
+
+    @Test
+    public void shouldNotAllowReuseWhenServerClosesConnection() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 2\r\n\r\n{}");
+
+        assertEquals(response.getStatus(), 200);
+        assertFalse(response.consume());
+    }
+
+    @Test
+    public void shouldNotAllowReuseWhenResponseIsNotRead() throws Exception {
+        assertFalse(response("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\n{}").consume());
+    }
+
+    @Test
+    public void shouldNotAllowReuseWhenRemainingBodyIsTooBig() throws Exception {
+        final int length = 16 * 1024;
+        final StringBuilder body = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            body.append('a');
+        }
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nContent-Length: " + length + "\r\n\r\n" + body);
+
+        assertEquals(response.getStatus(), 200);
+        assertFalse(response.consume());
+    }
+
+    private static UnixSocketDockerResponse response(String raw) {
+        return new UnixSocketDockerResponse(new ByteArrayInputStream(raw.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+}
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
+import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+import static java.lang.String.format;
+
+/**
+ * Stream of content of regular file in docker container.
+ * <p>
+ * Content is read directly from the archive which docker streams for the file,
+ * see {@link DockerConnector#getResource(GetResourceParams)}, neither archive nor content is buffered in memory.
+ * Docker doesn't support reading of a range of archived file, so bytes before the offset are skipped
+ * while they are read from the archive stream, the rest of the archive isn't read when the limit of bytes is reached.
+ * <p>
+ * In follow mode the end of file doesn't end the stream. File is checked periodically and
+ * bytes appended to it are returned as soon as they appear, until the stream is closed.
+ * Only the header of archive is read when file size doesn't change between checks, but each
+ * time the file grows its archive is read again up to the current position. To bound the cost
+ * of following, on average not more than {@value #MAX_REREAD_PER_POLL} bytes are read again per check,
+ * so bytes appended to a large file are returned in batches after a few checks rather than after each one.
+ * The stream ends at the end of file if the file wasn't changed for {@value #FOLLOW_IDLE_TIMEOUT_MS} ms,
+ * which also releases streams which readers have left.
+ */
+class DockerFileContentInputStream extends InputStream {
+    private static final long FOLLOW_PERIOD_MS       = 1000;
+    private static final long FOLLOW_IDLE_TIMEOUT_MS = 5 * 60 * 1000;
+    private static final long MAX_REREAD_PER_POLL    = 16 * 1024 * 1024;
+
+    private final DockerConnector docker;
+    private final String          container;
+    private final String          filePath;
+    private final boolean         follow;
+    private final long            followPeriodMs;
+    private final long            followIdleTimeoutMs;
+    private final long            maxRereadPerPoll;
+
+    private TarArchiveInputStream archive;
+    private long                  position;
+    private long                  remaining;
+    private long                  lastChangeTime;
+    /** Number of bytes which may be read again to get to the current position, it grows with each check of the file. */
+    private long                  rereadBudget;
+    private boolean               exhausted;
+    private volatile boolean      closed;
+
+    /**
+     * Opens stream of the file content.
+     *
+     * @param docker
+     *         docker connector
+     * @param container
+     *         container which contains the file
+     * @param filePath
+     *         absolute path to the file
+     * @param offset
+     *         position of the first byte to read
+     * @param length
+     *         max number of bytes to read, negative value means read up to the end of file
+     * @param follow
+     *         whether to wait for bytes which are appended to the file
+     * @throws FileNotFoundException
+     *         if file doesn't exist
+     * @throws IOException
+     *         if file is not a regular file or any other error occurs
+     */
+    static DockerFileContentInputStream open(DockerConnector docker,
+                                             String container,
+                                             String filePath,
+                                             long offset,
+                                             long length,
+                                             boolean follow) throws IOException {
+        return open(docker, container, filePath, offset, length, follow, FOLLOW_PERIOD_MS, FOLLOW_IDLE_TIMEOUT_MS, MAX_REREAD_PER_POLL);
+    }
+
+    /** Opens stream of the file content with the specified limits of following, used in tests. */
+    static DockerFileContentInputStream open(DockerConnector docker,
+                                             String container,
+                                             String filePath,
+                                             long offset,
+                                             long length,
+                                             boolean follow,
+                                             long followPeriodMs,
+                                             long followIdleTimeoutMs,
+                                             long maxRereadPerPoll) throws IOException {
+        final DockerFileContentInputStream stream = new DockerFileContentInputStream(docker,
+                                                                                     container,
+                                                                                     filePath,
+                                                                                     offset,
+                                                                                     length,
+                                                                                     follow,
+                                                                                     followPeriodMs,
+                                                                                     followIdleTimeoutMs,
+                                                                                     maxRereadPerPoll);
+        // fail fast if there is no such file
+        stream.exhausted = !stream.openArchive() && !follow;
+        return stream;
+    }
+
+    private DockerFileContentInputStream(DockerConnector docker,
+                                         String container,
+                                         String filePath,
+                                         long offset,
+                                         long length,
+                                         boolean follow,
+                                         long followPeriodMs,
+                                         long followIdleTimeoutMs,
+                                         long maxRereadPerPoll) {
+        this.docker = docker;
+        this.container = container;
+        this.filePath = filePath;
+        this.follow = follow;
+        this.followPeriodMs = followPeriodMs;
+        this.followIdleTimeoutMs = followIdleTimeoutMs;
+        this.maxRereadPerPoll = maxRereadPerPoll;
+        this.position = offset;
+        this.remaining = length < 0 ? Long.MAX_VALUE : length;
+        this.lastChangeTime = System.currentTimeMillis();
+        // the first opening of the archive always skips bytes up to the offset
+        this.rereadBudget = offset;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] b = new byte[1];
+        final int n = read(b, 0, 1);
+        return n == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (!closed && !exhausted && remaining > 0) {
+            if (archive != null) {
+                final int n = archive.read(b, off, (int)Math.min(len, remaining));
+                if (n != -1) {
+                    position += n;
+                    remaining -= n;
+                    lastChangeTime = System.currentTimeMillis();
+                    return n;
+                }
+                closeArchive();
+                if (!isFollowed()) {
+                    break;
+                }
+                waitForChanges();
+            } else if (!openArchive()) {
+                if (!isFollowed()) {
+                    break;
+                }
+                waitForChanges();
+            }
+        }
+        exhausted = true;
+        closeArchive();
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        closeArchive();
+    }
+
+    /**
+     * Opens archive of the file and skips bytes before the current position.
+     *
+     * @return {@code true} if there are bytes after the current position, {@code false} otherwise
+     * or if reading of the bytes before the current position is postponed until later checks
+     */
+    private boolean openArchive() throws IOException {
+        final InputStream resource;
+        try {
+            resource = docker.getResource(GetResourceParams.create(container, filePath));
+        } catch (DockerException e) {
+            if (e.getStatus() == 404) {
+                throw new FileNotFoundException(format("File with path %s not found", filePath));
+            }
+            throw e;
+        }
+        final TarArchiveInputStream tar = new TarArchiveInputStream(resource);
+        try {
+            final TarArchiveEntry entry = tar.getNextTarEntry();
+            if (entry == null || !entry.isFile()) {
+                throw new IOException(format("%s is not a regular file", filePath));
+            }
+            if (entry.getSize() <= position) {
+                tar.close();
+                return false;
+            }
+            if (position > rereadBudget) {
+                // file is changed, but it is too early to read its archive again up to the current position
+                lastChangeTime = System.currentTimeMillis();
+                tar.close();
+                return false;
+            }
+            long toSkip = position;
+            while (toSkip > 0) {
+                final long skipped = tar.skip(toSkip);
+                if (skipped <= 0) {
+                    // file was truncated after archive header was written
+                    tar.close();
+                    return false;
+                }
+                toSkip -= skipped;
+            }
+            rereadBudget = 0;
+        } catch (IOException e) {
+            tar.close();
+            throw e;
+        }
+        archive = tar;
+        return true;
+    }
+
+    private void closeArchive() throws IOException {
+        final TarArchiveInputStream tar = archive;
+        archive = null;
+        if (tar != null) {
+            tar.close();
+        }
+    }
+
+    private boolean isFollowed() {
+        return follow && System.currentTimeMillis() - lastChangeTime < followIdleTimeoutMs;
+    }
+
+    private void waitForChanges() throws IOException {
+        try {
+            Thread.sleep(followPeriodMs);
+            rereadBudget += maxRereadPerPoll;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for changes of file " + filePath);
+        }
+    }
+}
@@ -18,7 +18,6 @@ import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.core.util.LineConsumer;
-import org.eclipse.che.api.core.util.ListLineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.MachineRuntimeInfoImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
@@ -27,34 +26,33 @@ import org.eclipse.che.api.machine.server.spi.impl.AbstractInstance;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
-import org.eclipse.che.plugin.docker.client.Exec;
-import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
-import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
 import org.eclipse.che.plugin.docker.client.params.PutResourceParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
-import org.eclipse.che.plugin.docker.client.params.StartExecParams;
+import org.eclipse.che.plugin.docker.client.params.TopParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.LinkedList;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHINE_SNAPSHOT_PREFIX;
 
 /**
@@ -73,21 +71,8 @@ public class DockerInstance extends AbstractInstance {
      */
     public static final String LATEST_TAG = "latest";
 
-    private static final AtomicInteger pidSequence           = new AtomicInteger(1);
-    private static final String        PID_FILE_TEMPLATE     = "/tmp/docker-exec-%s.pid";
-    private static final Pattern       PID_FILE_PATH_PATTERN = Pattern.compile(String.format(PID_FILE_TEMPLATE, "([0-9]+)"));
-    /**
-     * Produces output in form:
-     * <pre>
-     * /some/path/pid_file_template-1.pid
-     * /some/path/pid_file_template-3.pid
-     * /some/path/pid_file_template-14.pid
-     * </pre>
-     * Where each line is full path to pid file of <b>process that is running<b/>
-     */
-    private static final String GET_ALIVE_PROCESSES_COMMAND =
-            format("for pidFile in $(find %s -print 2>/dev/null); do kill -0 \"$(cat ${pidFile})\" 2>/dev/null && echo \"${pidFile}\"; done",
-                   format(PID_FILE_TEMPLATE, "*"));
+    private static final AtomicInteger pidSequence       = new AtomicInteger(1);
+    private static final String        PID_FILE_TEMPLATE = "/tmp/docker-exec-%s.pid";
 
     private final DockerMachineFactory                        dockerMachineFactory;
     private final String                                      container;
@@ -159,11 +144,17 @@ public class DockerInstance extends AbstractInstance {
     public InstanceProcess getProcess(final int pid) throws NotFoundException, MachineException {
         final InstanceProcess machineProcess = machineProcesses.get(pid);
         if (machineProcess != null) {
+            // exit of attached process is reported by the one who consumes its output
+            final boolean detached = machineProcess instanceof DockerProcess && ((DockerProcess)machineProcess).isDetached();
             try {
                 machineProcess.checkAlive();
                 return machineProcess;
             } catch (NotFoundException e) {
-                machineProcesses.remove(pid);
+                if (detached) {
+                    processFinished((DockerProcess)machineProcess);
+                } else {
+                    machineProcesses.remove(pid);
+                }
                 throw e;
             }
         }
@@ -172,29 +163,68 @@ public class DockerInstance extends AbstractInstance {
 
     @Override
     public List<InstanceProcess> getProcesses() throws MachineException {
-        List<InstanceProcess> processes = new LinkedList<>();
+        checkDetachedProcesses();
+        final List<InstanceProcess> processes = new ArrayList<>(machineProcesses.size());
+        for (InstanceProcess process : machineProcesses.values()) {
+            if (process instanceof DockerProcess ? ((DockerProcess)process).isRunning() : process.isAlive()) {
+                processes.add(process);
+            }
+        }
+        return processes;
+    }
+
+    /**
+     * Checks whether detached processes of this instance are still running.
+     * <p>
+     * Liveness of processes which output is consumed is known without requests to docker, so only
+     * detached processes are checked. All of them are checked with single request for the list of container processes,
+     * exec of a process which is missing in the list is inspected to make sure that process is really finished.
+     * Finished processes are removed from this instance and {@code STOPPED} event is published for each of them.
+     *
+     * @throws MachineException
+     *         if list of container processes can't be retrieved
+     */
+    void checkDetachedProcesses() throws MachineException {
+        final List<DockerProcess> detached = new ArrayList<>();
+        for (InstanceProcess process : machineProcesses.values()) {
+            if (process instanceof DockerProcess && ((DockerProcess)process).isDetached()) {
+                detached.add((DockerProcess)process);
+            }
+        }
+        if (detached.isEmpty()) {
+            return;
+        }
+
+        final String[][] containerProcesses;
         try {
-            final Exec exec = docker.createExec(CreateExecParams.create(container,
-                                                                        new String[] {"/bin/bash",
-                                                                                      "-c",
-                                                                                      GET_ALIVE_PROCESSES_COMMAND})
-                                                                .withDetach(false));
-            docker.startExec(StartExecParams.create(exec.getId()), logMessage -> {
-                final String pidFilePath = logMessage.getContent().trim();
-                final Matcher matcher = PID_FILE_PATH_PATTERN.matcher(pidFilePath);
-                if (matcher.matches()) {
-                    final int virtualPid = Integer.parseInt(matcher.group(1));
-                    final InstanceProcess dockerProcess = machineProcesses.get(virtualPid);
-                    if (dockerProcess != null) {
-                        processes.add(dockerProcess);
-                    } else {
-                        LOG.warn("Machine process {} exists in container but missing in processes map", virtualPid);
-                    }
-                }
-            });
-            return processes;
+            containerProcesses = docker.top(TopParams.create(container)).getProcesses();
         } catch (IOException e) {
-            throw new MachineException(e);
+            throw new MachineException(e.getLocalizedMessage(), e);
+        }
+        // command line of process shell contains path to its pid file
+        final StringBuilder commandLines = new StringBuilder();
+        if (containerProcesses != null) {
+            for (String[] containerProcess : containerProcesses) {
+                commandLines.append(String.join(" ", containerProcess)).append('\n');
+            }
+        }
+        for (DockerProcess process : detached) {
+            if (commandLines.indexOf(process.getPidFilePath()) == -1) {
+                try {
+                    process.checkAlive();
+                } catch (NotFoundException e) {
+                    processFinished(process);
+                } catch (MachineException e) {
+                    LOG.warn(e.getLocalizedMessage());
+                }
+            }
+        }
+    }
+
+    private void processFinished(DockerProcess process) {
+        process.markFinished();
+        if (machineProcesses.remove(process.getPid()) != null) {
+            processesCleaner.processStopped(getId(), process.getPid());
         }
     }
 
@@ -303,12 +333,8 @@ public class DockerInstance extends AbstractInstance {
 
     /**
      * Reads file content by specified file path.
-     *
-     * TODO:
-     * add file size checking,
-     * note that size checking and file content reading
-     * should be done in an atomic way,
-     * which means that two separate instance processes is not the case.
+     * <p>
+     * Content is streamed from docker archive of the file, only requested lines are kept in memory.
      *
      * @param filePath
      *         path to file on machine instance
@@ -328,26 +354,43 @@ public class DockerInstance extends AbstractInstance {
             throw new MachineException("Impossible to read file " + limit + " lines from " + startFrom + " line");
         }
 
-        // command sed getting file content from startFrom line to (startFrom + limit)
-        String bashCommand = format("sed -n \'%1$2s, %2$2sp\' %3$2s", startFrom, startFrom + limit, filePath);
-
-        final String[] command = {"/bin/bash", "-c", bashCommand};
+        final StringBuilder content = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(openFile(filePath, 0, -1, false), UTF_8))) {
+            final long lastLine = (long)startFrom + limit;
+            long lineNumber = 0;
+            String line;
+            while (lineNumber < lastLine && (line = reader.readLine()) != null) {
+                if (++lineNumber > startFrom) {
+                    content.append('\n');
+                }
+                if (lineNumber >= startFrom) {
+                    content.append(line);
+                }
+            }
+        } catch (FileNotFoundException e) {
+            throw new MachineException(e.getLocalizedMessage(), e);
+        } catch (IOException e) {
+            throw new MachineException(format("Error occurs while reading file %s in docker container %s: %s",
+                                              filePath, container, e.getLocalizedMessage()), e);
+        }
+        return content.toString();
+    }
 
-        ListLineConsumer lines = new ListLineConsumer();
+    @Override
+    public InputStream readFileBytes(String filePath, long offset, long length, boolean follow) throws NotFoundException,
+                                                                                                        MachineException {
         try {
-            Exec exec = docker.createExec(CreateExecParams.create(container, command).withDetach(false));
-            docker.startExec(StartExecParams.create(exec.getId()), new LogMessagePrinter(lines, LogMessage::getContent));
+            return openFile(filePath, offset, length, follow);
+        } catch (FileNotFoundException e) {
+            throw new NotFoundException(e.getLocalizedMessage());
         } catch (IOException e) {
-            throw new MachineException(format("Error occurs while initializing command %s in docker container %s: %s",
-                                              Arrays.toString(command), container, e.getLocalizedMessage()), e);
+            throw new MachineException(format("Error occurs while reading file %s in docker container %s: %s",
+                                              filePath, container, e.getLocalizedMessage()), e);
         }
+    }
 
-        String content = lines.getText();
-        if (content.contains("sed: can't read " + filePath + ": No such file or directory") ||
-            content.contains("cat: " + filePath + ": No such file or directory")) {
-            throw new MachineException("File with path " + filePath + " not found");
-        }
-        return content;
+    private InputStream openFile(String filePath, long offset, long length, boolean follow) throws IOException {
+        return DockerFileContentInputStream.open(docker, container, filePath, offset, length, follow);
     }
 
     @Override
@@ -12,9 +12,13 @@ package org.eclipse.che.plugin.docker.machine;
 
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
 import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent.EventType;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -22,16 +26,23 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
 /**
  * Removes process from {@link DockerInstance} on process destroying
  *
  * <p>Uses {@link EventService} to subscribe to processes events.<br>
  * Removes processes on {@code STOPPED} or {@code ERROR} process event.
  *
+ * <p>Exit of process which output is consumed is reported by the consumer. Detached processes
+ * of tracked instances are checked periodically, {@code STOPPED} event is published when such process is finished.
+ *
  * @author Alexander Garagatyi
  */
 @Singleton
 public class DockerInstanceProcessesCleaner implements EventSubscriber<MachineProcessEvent> {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerInstanceProcessesCleaner.class);
+
     private final EventService                        eventService;
     private final ConcurrentHashMap<String, Instance> dockerMachines;
 
@@ -65,6 +76,29 @@ public class DockerInstanceProcessesCleaner implements EventSubscriber<MachinePr
         dockerMachines.remove(instanceId);
     }
 
+    /**
+     * Publishes {@code STOPPED} event of detached process which is found finished
+     */
+    void processStopped(String instanceId, int pid) {
+        eventService.publish(newDto(MachineProcessEvent.class).withEventType(EventType.STOPPED)
+                                                              .withMachineId(instanceId)
+                                                              .withProcessId(pid));
+    }
+
+    /**
+     * Checks detached processes of all the tracked instances
+     */
+    @ScheduleDelay(initialDelay = 10, delay = 10)
+    public void checkDetachedProcesses() {
+        for (Instance instance : dockerMachines.values()) {
+            try {
+                ((DockerInstance)instance).checkDetachedProcesses();
+            } catch (MachineException e) {
+                LOG.warn("Failed to check processes of machine {}: {}", instance.getId(), e.getLocalizedMessage());
+            }
+        }
+    }
+
     @PostConstruct
     private void subscribe() {
         eventService.subscribe(this);
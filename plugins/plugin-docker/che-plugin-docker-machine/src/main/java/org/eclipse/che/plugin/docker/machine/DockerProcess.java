@@ -16,7 +16,6 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.util.LineConsumer;
-import org.eclipse.che.api.core.util.ListLineConsumer;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -26,6 +25,7 @@ import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.json.ExecInfo;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 
@@ -38,6 +38,10 @@ import static java.lang.String.format;
 
 /**
  * Docker implementation of {@link InstanceProcess}
+ * <p>
+ * Liveness of the process is tracked without running additional commands in container.
+ * When output of the process is consumed the process is alive until its output stream is open,
+ * otherwise (detached process) docker exec of the process is inspected.
  *
  * @author andrew00x
  * @author Alexander Garagatyi
@@ -49,6 +53,8 @@ public class DockerProcess extends AbstractMachineProcess implements InstancePro
     private final String              commandLine;
 
     private volatile boolean started;
+    private volatile String  execId;
+    private volatile State   state;
 
     @Inject
     public DockerProcess(DockerConnector docker,
@@ -63,6 +69,7 @@ public class DockerProcess extends AbstractMachineProcess implements InstancePro
         this.commandLine = command.getCommandLine();
         this.pidFilePath = pidFilePath;
         this.started = false;
+        this.state = State.NEW;
     }
 
     @Override
@@ -103,10 +110,16 @@ public class DockerProcess extends AbstractMachineProcess implements InstancePro
             throw new MachineException(format("Error occurs while initializing command %s in docker container %s: %s",
                                               Arrays.toString(command), container, e.getMessage()), e);
         }
+        execId = exec.getId();
         started = true;
+        if (output != null) {
+            state = State.ATTACHED;
+        }
         try {
             docker.startExec(StartExecParams.create(exec.getId()), output == null ? null : new LogMessagePrinter(output));
         } catch (IOException e) {
+            // process may still be running, so its liveness can be known from exec inspection only
+            state = State.DETACHED;
             if (output != null && e instanceof SocketTimeoutException) {
                 throw new MachineException(getErrorMessage());
             } else {
@@ -114,33 +127,55 @@ public class DockerProcess extends AbstractMachineProcess implements InstancePro
                                                   Arrays.toString(exec.getCommand()), e.getMessage()), e);
             }
         }
+        // output stream of attached exec is closed when process ends
+        state = output == null ? State.DETACHED : State.FINISHED;
     }
 
     @Override
     public void checkAlive() throws MachineException, NotFoundException {
-        // Read pid from file and run 'kill -0 [pid]' command.
-        final String isAliveCmd = format("[ -r %1$s ] && kill -0 $(cat %1$s) || echo 'Unable read PID file'", pidFilePath);
-        final ListLineConsumer output = new ListLineConsumer();
-        final String[] command = {"/bin/bash", "-c", isAliveCmd};
-        Exec exec;
-        try {
-            exec = docker.createExec(CreateExecParams.create(container, command).withDetach(false));
-        } catch (IOException e) {
-            throw new MachineException(format("Error occurs while initializing command %s in docker container %s: %s",
-                                              Arrays.toString(command), container, e.getMessage()), e);
-        }
-        try {
-            docker.startExec(StartExecParams.create(exec.getId()), new LogMessagePrinter(output));
-        } catch (IOException e) {
-            throw new MachineException(format("Error occurs while executing command %s in docker container %s: %s",
-                                              Arrays.toString(exec.getCommand()), container, e.getMessage()), e);
+        if (state == State.DETACHED) {
+            final ExecInfo execInfo;
+            try {
+                execInfo = docker.getExecInfo(execId);
+            } catch (IOException e) {
+                throw new MachineException(format("Error occurs while inspecting process %s in docker container %s: %s",
+                                                  getPid(), container, e.getMessage()), e);
+            }
+            if (!execInfo.isRunning()) {
+                state = State.FINISHED;
+            }
         }
-        // 'kill -0 [pid]' is silent if process is running or print "No such process" message otherwise
-        if (!output.getText().isEmpty()) {
+        if (state != State.ATTACHED && state != State.DETACHED) {
             throw new NotFoundException(format("Process with pid %s not found", getPid()));
         }
     }
 
+    /**
+     * Returns {@code true} if output of the process isn't consumed and its liveness
+     * can't be known without request to docker, {@code false} otherwise.
+     */
+    boolean isDetached() {
+        return state == State.DETACHED;
+    }
+
+    /**
+     * Returns {@code true} if process is known to be running according to its last check, {@code false} otherwise.
+     * Unlike {@link #isAlive()} doesn't send requests to docker.
+     */
+    boolean isRunning() {
+        return state == State.ATTACHED || state == State.DETACHED;
+    }
+
+    /** Marks detached process finished, e.g. when it is missing in the list of container processes. */
+    void markFinished() {
+        state = State.FINISHED;
+    }
+
+    /** Returns full path to pid file of the process. */
+    String getPidFilePath() {
+        return pidFilePath;
+    }
+
     @Override
     public void kill() throws MachineException {
         if (started) {
@@ -187,4 +222,15 @@ public class DockerProcess extends AbstractMachineProcess implements InstancePro
         }
         return errorMessage.toString();
     }
+
+    private enum State {
+        /** Process is not started yet. */
+        NEW,
+        /** Process output is consumed, process is running until output stream is open. */
+        ATTACHED,
+        /** Process output is not consumed, process is running until its exec is running. */
+        DETACHED,
+        /** Process is finished. */
+        FINISHED
+    }
 }
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.io.ByteStreams;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link DockerFileContentInputStream}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerFileContentInputStreamTest {
+    private static final String CONTAINER = "container";
+    private static final String FILE_PATH = "/tmp/file";
+
+    @Mock
+    private DockerConnector docker;
+
+    @Test
+    public void shouldReturnBytesAppendedToFollowedFileUntilItIsIdle() throws Exception {
+        mockFileVersions("hello", "hello", "hello world");
+
+        try (InputStream content = DockerFileContentInputStream.open(docker, CONTAINER, FILE_PATH, 0, -1, true, 10, 200, 1024)) {
+            assertEquals(new String(ByteStreams.toByteArray(content), UTF_8), "hello world");
+        }
+    }
+
+    @Test
+    public void shouldFollowFileWhichIsLongerThanBytesReadAgainPerCheck() throws Exception {
+        mockFileVersions("hello", "hello world");
+
+        try (InputStream content = DockerFileContentInputStream.open(docker, CONTAINER, FILE_PATH, 0, -1, true, 10, 200, 1)) {
+            assertEquals(new String(ByteStreams.toByteArray(content), UTF_8), "hello world");
+        }
+    }
+
+    @Test
+    public void shouldPostponeReadingOfAppendedBytesUntilBytesBeforeThemMayBeReadAgain() throws Exception {
+        mockFileVersions("hello", "hello world");
+
+        try (InputStream content = DockerFileContentInputStream.open(docker, CONTAINER, FILE_PATH, 0, -1, true, 10, 60_000, 2)) {
+            final byte[] buffer = new byte[16];
+            assertEquals(content.read(buffer), 5);
+            // 5 bytes before appended ones may be read again after the third check of the file
+            assertEquals(new String(buffer, 0, content.read(buffer), UTF_8), " world");
+        }
+        verify(docker, times(4)).getResource(any(GetResourceParams.class));
+    }
+
+    /** Each request of the file archive returns the next version of the file, the last version is returned repeatedly. */
+    private void mockFileVersions(String... versions) throws IOException {
+        final Deque<String> remaining = new ArrayDeque<>(Arrays.asList(versions));
+        when(docker.getResource(any(GetResourceParams.class)))
+                .thenAnswer(invocation -> archive(remaining.size() > 1 ? remaining.poll() : remaining.peek()));
+    }
+
+    private static InputStream archive(String content) throws IOException {
+        final byte[] bytes = content.getBytes(UTF_8);
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(archive)) {
+            final TarArchiveEntry entry = new TarArchiveEntry("file");
+            entry.setSize(bytes.length);
+            tar.putArchiveEntry(entry);
+            tar.write(bytes);
+            tar.closeArchiveEntry();
+        }
+        return new ByteArrayInputStream(archive.toByteArray());
+    }
+}
@@ -10,25 +10,38 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.machine;
 
+import com.google.common.io.ByteStreams;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ContainerProcesses;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
+import org.eclipse.che.plugin.docker.client.json.ExecInfo;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
+import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
+import org.eclipse.che.plugin.docker.client.params.TopParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -36,16 +49,27 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
@@ -72,15 +96,19 @@ public class DockerInstanceTest {
     private static final MachineStatus STATUS       = MachineStatus.RUNNING;
 
     @Mock
-    private LogMessage                 logMessageMock;
+    private LogMessage                     logMessageMock;
+    @Mock
+    private Exec                           execMock;
+    @Mock
+    private DockerConnector                dockerConnectorMock;
     @Mock
-    private Exec                       execMock;
+    private DockerInstanceStopDetector     dockerInstanceStopDetectorMock;
     @Mock
-    private DockerConnector            dockerConnectorMock;
+    private LineConsumer                   outputConsumer;
     @Mock
-    private DockerInstanceStopDetector dockerInstanceStopDetectorMock;
+    private DockerMachineFactory           dockerMachineFactoryMock;
     @Mock
-    private LineConsumer               outputConsumer;
+    private DockerInstanceProcessesCleaner processesCleanerMock;
 
     private DockerInstance dockerInstance;
 
@@ -104,36 +132,73 @@ public class DockerInstanceTest {
     }
 
     @Test(expectedExceptions = MachineException.class)
-    public void shouldThrowMachineExceptionWhenExecProblemOccurs() throws Exception {
-        when(dockerConnectorMock.createExec(any(CreateExecParams.class))).thenThrow(new IOException("File not found"));
+    public void shouldThrowMachineExceptionWhenFileReadingFails() throws Exception {
+        when(dockerConnectorMock.getResource(any(GetResourceParams.class))).thenThrow(new IOException("connection refused"));
 
-        dockerInstance.readFileContent(FILE_PATH, -1, 10);
+        dockerInstance.readFileContent(FILE_PATH, 1, 10);
     }
 
     @Test(expectedExceptions = MachineException.class,
           expectedExceptionsMessageRegExp = "File with path " + FILE_PATH + " not found")
-    public void shouldThrowFileNotFoundDuringSedCommand() throws Exception {
-        when(logMessageMock.getContent()).thenReturn("sed: can't read " + FILE_PATH + ": No such file or directory");
+    public void shouldThrowFileNotFoundWhenDockerDoesNotFindFile() throws Exception {
+        when(dockerConnectorMock.getResource(any(GetResourceParams.class))).thenThrow(new DockerException("not found", 404));
 
         dockerInstance.readFileContent(FILE_PATH, 1, 10);
     }
 
-    @Test(expectedExceptions = MachineException.class,
-          expectedExceptionsMessageRegExp = "File with path " + FILE_PATH + " not found")
-    public void shouldThrowFileNotFoundDuringCatCommand() throws Exception {
-        when(logMessageMock.getContent()).thenReturn("cat: " + FILE_PATH + ": No such file or directory");
+    @Test(expectedExceptions = MachineException.class)
+    public void shouldThrowMachineExceptionWhenReadingDirectory() throws Exception {
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(archive)) {
+            tar.putArchiveEntry(new TarArchiveEntry("tmp/"));
+            tar.closeArchiveEntry();
+        }
+        when(dockerConnectorMock.getResource(any(GetResourceParams.class))).thenReturn(new ByteArrayInputStream(archive.toByteArray()));
 
         dockerInstance.readFileContent(FILE_PATH, 1, 10);
     }
 
     @Test
     public void shouldFullyReadFileContent() throws Exception {
-        final String content = "content";
-        when(logMessageMock.getContent()).thenReturn(content);
+        mockFile("content\n");
 
         final String res = dockerInstance.readFileContent(FILE_PATH, 1, 10);
 
-        assertEquals(res.trim(), content);
+        assertEquals(res, "content");
+    }
+
+    @Test
+    public void shouldReadRequestedLinesOfFile() throws Exception {
+        mockFile("line1\nline2\nline3\nline4\nline5\n");
+
+        final String res = dockerInstance.readFileContent(FILE_PATH, 2, 2);
+
+        assertEquals(res, "line2\nline3\nline4");
+    }
+
+    @Test
+    public void shouldReadRangeOfFileBytes() throws Exception {
+        mockFile("0123456789");
+
+        try (InputStream content = dockerInstance.readFileBytes(FILE_PATH, 3, 4, false)) {
+            assertEquals(new String(ByteStreams.toByteArray(content), UTF_8), "3456");
+        }
+    }
+
+    @Test
+    public void shouldReturnEmptyContentWhenOffsetIsAfterEndOfFile() throws Exception {
+        mockFile("0123456789");
+
+        try (InputStream content = dockerInstance.readFileBytes(FILE_PATH, 20, -1, false)) {
+            assertEquals(content.read(), -1);
+        }
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldThrowNotFoundExceptionWhenFileBytesAreReadFromMissingFile() throws Exception {
+        when(dockerConnectorMock.getResource(any(GetResourceParams.class))).thenThrow(new DockerException("not found", 404));
+
+        dockerInstance.readFileBytes(FILE_PATH, 0, -1, false);
     }
 
     @Test
@@ -198,6 +263,42 @@ public class DockerInstanceTest {
         dockerInstance.saveToSnapshot(OWNER);
     }
 
+    @Test
+    public void shouldNotRequestDockerForProcessesWhichOutputIsConsumed() throws Exception {
+        doNothing().when(dockerConnectorMock).startExec(any(StartExecParams.class), any());
+        final InstanceProcess process = createProcess();
+
+        process.start(outputConsumer);
+
+        assertFalse(process.isAlive());
+        assertTrue(dockerInstance.getProcesses().isEmpty());
+        verify(dockerConnectorMock, never()).top(any(TopParams.class));
+        verify(dockerConnectorMock, never()).getExecInfo(anyString());
+    }
+
+    @Test
+    public void shouldCheckAllDetachedProcessesWithSingleRequest() throws Exception {
+        doNothing().when(dockerConnectorMock).startExec(any(StartExecParams.class), any());
+        final DockerProcess running = (DockerProcess)createProcess();
+        final DockerProcess finished = (DockerProcess)createProcess();
+        final DockerProcess notStarted = (DockerProcess)createProcess();
+        running.start();
+        finished.start();
+        final ContainerProcesses containerProcesses = new ContainerProcesses();
+        containerProcesses.setProcesses(new String[][] {{"root", "1", "0", "tail -f /dev/null"},
+                                                        {"root", "42", "1", "/bin/bash -c echo $$>" + running.getPidFilePath()}});
+        when(dockerConnectorMock.top(any(TopParams.class))).thenReturn(containerProcesses);
+        when(dockerConnectorMock.getExecInfo(EXEC_ID)).thenReturn(new ExecInfo());
+
+        final List<InstanceProcess> processes = dockerInstance.getProcesses();
+
+        assertEquals(processes, singletonList(running));
+        verify(dockerConnectorMock).top(any(TopParams.class));
+        verify(dockerConnectorMock).getExecInfo(EXEC_ID);
+        verify(processesCleanerMock).processStopped(MACHINE_ID, finished.getPid());
+        verify(processesCleanerMock, never()).processStopped(MACHINE_ID, notStarted.getPid());
+    }
+
     private DockerInstance getDockerInstance() {
         return getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, false);
     }
@@ -210,17 +311,41 @@ public class DockerInstanceTest {
         return new DockerInstance(dockerConnectorMock,
                                   registry,
                                   USERNAME,
-                                  mock(DockerMachineFactory.class),
+                                  dockerMachineFactoryMock,
                                   machine,
                                   container,
                                   image,
                                   mock(DockerNode.class),
                                   outputConsumer,
                                   dockerInstanceStopDetectorMock,
-                                  mock(DockerInstanceProcessesCleaner.class),
+                                  processesCleanerMock,
                                   snapshotUseRegistry);
     }
 
+    private void mockFile(String content) throws IOException {
+        final byte[] bytes = content.getBytes(UTF_8);
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(archive)) {
+            final TarArchiveEntry entry = new TarArchiveEntry("file");
+            entry.setSize(bytes.length);
+            tar.putArchiveEntry(entry);
+            tar.write(bytes);
+            tar.closeArchiveEntry();
+        }
+        when(dockerConnectorMock.getResource(any(GetResourceParams.class))).thenReturn(new ByteArrayInputStream(archive.toByteArray()));
+    }
+
+    private InstanceProcess createProcess() throws MachineException {
+        when(dockerMachineFactoryMock.createProcess(any(Command.class), anyString(), anyString(), anyString(), anyInt()))
+                .thenAnswer(invoke -> new DockerProcess(dockerConnectorMock,
+                                                        (Command)invoke.getArguments()[0],
+                                                        (String)invoke.getArguments()[1],
+                                                        (String)invoke.getArguments()[2],
+                                                        (String)invoke.getArguments()[3],
+                                                        (Integer)invoke.getArguments()[4]));
+        return dockerInstance.createProcess(new CommandImpl("tail", "tail -f /dev/null", "custom"), "channel");
+    }
+
     private Machine getMachine() {
         return getMachine(getMachineConfig(), OWNER, MACHINE_ID, WORKSPACE_ID, STATUS);
     }
@@ -57,6 +57,7 @@ import org.eclipse.che.api.debug.shared.model.impl.event.SuspendEventImpl;
 import org.eclipse.che.api.debugger.server.Debugger;
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 import org.eclipse.che.plugin.jdb.server.exceptions.DebuggerAbsentInformationException;
+import org.eclipse.che.plugin.jdb.server.expression.EvaluationCache;
 import org.eclipse.che.plugin.jdb.server.expression.Evaluator;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionException;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionParser;
@@ -71,7 +72,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -90,12 +93,15 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
  * @author Valeriy Svydenko
  */
 public class JavaDebugger implements EventsHandler, Debugger {
-    private static final Logger            LOG          = LoggerFactory.getLogger(JavaDebugger.class);
-    private static final JavaDebuggerUtils debuggerUtil = new JavaDebuggerUtils();
+    private static final Logger LOG = LoggerFactory.getLogger(JavaDebugger.class);
 
-    private final String           host;
-    private final int              port;
-    private final DebuggerCallback debuggerCallback;
+    static final String CONDITION_PARSER_PROPERTY = "org.eclipse.che.ide.java.debug.condition.expression.parser";
+    static final String CONDITION_CACHE_PROPERTY  = "org.eclipse.che.ide.java.debug.condition.evaluation.cache";
+
+    private final String            host;
+    private final int               port;
+    private final DebuggerCallback  debuggerCallback;
+    private final JavaDebuggerUtils debuggerUtil;
 
     /**
      * A mapping of source file names to breakpoints. This mapping is used to set
@@ -106,6 +112,12 @@ public class JavaDebugger implements EventsHandler, Debugger {
     /** Stores ClassPrepareRequests to prevent making duplicate class prepare requests. */
     private final ConcurrentMap<String, ClassPrepareRequest> classPrepareRequests = new ConcurrentHashMap<>();
 
+    /**
+     * Events of the conditional breakpoints hit while target JVM is suspended, in order of hits.
+     * Their conditions are evaluated when target JVM is resumed.
+     */
+    private final Queue<DeferredBreakpointEvent> deferredBreakpointEvents = new ConcurrentLinkedQueue<>();
+
     /** Target Java VM representation. */
     private VirtualMachine  vm;
     private EventsCollector eventsCollector;
@@ -114,6 +126,8 @@ public class JavaDebugger implements EventsHandler, Debugger {
     private ThreadReference thread;
     /** Current stack frame. Not <code>null</code> is thread suspended, e.g breakpoint reached. */
     private JdiStackFrame   stackFrame;
+    /** <code>true</code> if target JVM is suspended by breakpoint or step and waits for resume. */
+    private volatile boolean suspended;
     /** Lock for synchronization debug processes. */
     private Lock lock = new ReentrantLock();
 
@@ -131,9 +145,22 @@ public class JavaDebugger implements EventsHandler, Debugger {
         this.host = host;
         this.port = port;
         this.debuggerCallback = debuggerCallback;
+        this.debuggerUtil = new JavaDebuggerUtils();
         connect();
     }
 
+    /**
+     * Create debugger for the already connected JVM. Events of the target JVM aren't collected,
+     * they must be passed to {@link #handleEvents(com.sun.jdi.event.EventSet)}. Used in tests.
+     */
+    JavaDebugger(String host, int port, VirtualMachine vm, JavaDebuggerUtils debuggerUtil, DebuggerCallback debuggerCallback) {
+        this.host = host;
+        this.port = port;
+        this.vm = vm;
+        this.debuggerUtil = debuggerUtil;
+        this.debuggerCallback = debuggerCallback;
+    }
+
     /**
      * Attach to a JVM that is already running at specified host.
      *
@@ -203,6 +230,8 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
     @Override
     public void disconnect() throws DebuggerException {
+        // threads suspended by the deferred events are resumed on dispose
+        deferredBreakpointEvents.clear();
         resume(newDto(ResumeActionDto.class));
         vm.dispose();
         LOG.debug("Close connection to {}:{}", host, port);
@@ -248,11 +277,16 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
         try {
             EventRequest breakPointRequest = requestManager.createBreakpointRequest(location);
-            breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_ALL);
             String expression = breakpoint.getCondition();
             if (!(expression == null || expression.isEmpty())) {
+                // Only the thread which hits breakpoint is suspended while condition is evaluated,
+                // all the other threads are suspended when condition is true.
+                breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_EVENT_THREAD);
                 ExpressionParser parser = ExpressionParser.newInstance(expression);
-                breakPointRequest.putProperty("org.eclipse.che.ide.java.debug.condition.expression.parser", parser);
+                breakPointRequest.putProperty(CONDITION_PARSER_PROPERTY, parser);
+                breakPointRequest.putProperty(CONDITION_CACHE_PROPERTY, new EvaluationCache());
+            } else {
+                breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_ALL);
             }
             breakPointRequest.setEnabled(true);
         } catch (NativeMethodException | IllegalThreadStateException | InvalidRequestStateException e) {
@@ -343,6 +377,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
     @Override
     public void resume(ResumeAction action) throws DebuggerException {
         try {
+            suspended = false;
             vm.resume();
             LOG.debug("Resume VM");
         } catch (VMCannotBeModifiedException e) {
@@ -350,6 +385,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
         } finally {
             resetCurrentThread();
         }
+        processDeferredBreakpointEvents();
     }
 
     @Override
@@ -523,13 +559,20 @@ public class JavaDebugger implements EventsHandler, Debugger {
     @Override
     public void handleEvents(com.sun.jdi.event.EventSet eventSet) throws DebuggerException {
         boolean resume = true;
+        boolean deferred = false;
         try {
             for (com.sun.jdi.event.Event event : eventSet) {
                 LOG.debug("New event: {}", event);
                 if (event instanceof com.sun.jdi.event.BreakpointEvent) {
                     lock.lock();
                     try {
-                        resume = processBreakPointEvent((com.sun.jdi.event.BreakpointEvent)event);
+                        com.sun.jdi.event.BreakpointEvent breakpointEvent = (com.sun.jdi.event.BreakpointEvent)event;
+                        if (suspended && breakpointEvent.request().getProperty(CONDITION_PARSER_PROPERTY) != null) {
+                            deferBreakpointEvent(breakpointEvent, eventSet);
+                            deferred = true;
+                        } else {
+                            resume = processBreakPointEvent(breakpointEvent);
+                        }
                     } finally {
                         lock.unlock();
                     }
@@ -547,39 +590,90 @@ public class JavaDebugger implements EventsHandler, Debugger {
                 }
             }
         } finally {
-            if (resume) {
+            // thread of the deferred event stays suspended till condition is evaluated
+            if (resume && !deferred) {
                 eventSet.resume();
             }
         }
     }
 
+    /**
+     * Defers evaluation of the condition of the breakpoint hit while target JVM is suspended by another breakpoint or step,
+     * e.g. event was queued before target JVM was suspended, as invocation of methods resumes all threads of the suspended target JVM.
+     */
+    private void deferBreakpointEvent(com.sun.jdi.event.BreakpointEvent event, com.sun.jdi.event.EventSet eventSet) {
+        deferredBreakpointEvents.add(new DeferredBreakpointEvent(event, eventSet));
+        LOG.debug("Condition of breakpoint at {} is deferred till target JVM is resumed, {} deferred",
+                  event.location(), deferredBreakpointEvents.size());
+    }
+
+    /**
+     * Evaluates conditions of the deferred breakpoints in order of hits until one of them suspends target JVM,
+     * the rest stay deferred till the next resume.
+     */
+    private void processDeferredBreakpointEvents() {
+        lock.lock();
+        try {
+            DeferredBreakpointEvent next;
+            while (!suspended && (next = deferredBreakpointEvents.poll()) != null) {
+                final DeferredBreakpointEvent deferred = next;
+                boolean resume = true;
+                try {
+                    resume = processBreakPointEvent(deferred.event);
+                } catch (DebuggerException e) {
+                    LOG.error(e.getMessage(), e);
+                    resetCurrentThread();
+                } finally {
+                    // event set may contain several deferred events, it is resumed once after all of them are processed
+                    if (resume && deferredBreakpointEvents.stream().noneMatch(d -> d.eventSet == deferred.eventSet)) {
+                        deferred.eventSet.resume();
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private boolean processBreakPointEvent(com.sun.jdi.event.BreakpointEvent event) throws DebuggerException {
+        ExpressionParser parser = (ExpressionParser)event.request().getProperty(CONDITION_PARSER_PROPERTY);
         setCurrentThread(event.thread());
         boolean hitBreakpoint;
-        ExpressionParser parser =
-                (ExpressionParser)event.request().getProperty("org.eclipse.che.ide.java.debug.condition.expression.parser");
         if (parser != null) {
-            com.sun.jdi.Value result = evaluate(parser);
+            EvaluationCache cache = (EvaluationCache)event.request().getProperty(CONDITION_CACHE_PROPERTY);
+            com.sun.jdi.Value result = evaluate(parser, cache);
             hitBreakpoint = result instanceof com.sun.jdi.BooleanValue && ((com.sun.jdi.BooleanValue)result).value();
         } else {
             // If there is no expression.
             hitBreakpoint = true;
         }
 
-        if (hitBreakpoint) {
-            com.sun.jdi.Location jdiLocation = event.location();
+        if (!hitBreakpoint) {
+            resetCurrentThread();
+            return true;
+        }
 
-            Location location = debuggerUtil.getLocation(jdiLocation);
-            debuggerCallback.onEvent(new SuspendEventImpl(location));
+        if (parser != null) {
+            // Only the event thread is suspended by the conditional breakpoint, suspend all the others.
+            // Event set is resumed after that, so event thread stays suspended only by this call
+            // and all threads are resumed with one VirtualMachine#resume().
+            vm.suspend();
         }
+        suspended = true;
+
+        com.sun.jdi.Location jdiLocation = event.location();
+
+        Location location = debuggerUtil.getLocation(jdiLocation);
+        debuggerCallback.onEvent(new SuspendEventImpl(location));
 
         // Left target JVM in suspended state if result of evaluation of expression is boolean value and true
         // or if condition expression is not set.
-        return !hitBreakpoint;
+        return parser != null;
     }
 
     private boolean processStepEvent(com.sun.jdi.event.StepEvent event) throws DebuggerException {
         setCurrentThread(event.thread());
+        suspended = true;
         com.sun.jdi.Location jdiLocation = event.location();
 
         Location location = debuggerUtil.getLocation(jdiLocation);
@@ -662,9 +756,13 @@ public class JavaDebugger implements EventsHandler, Debugger {
     }
 
     private com.sun.jdi.Value evaluate(ExpressionParser parser) throws DebuggerException {
+        return evaluate(parser, new EvaluationCache());
+    }
+
+    private com.sun.jdi.Value evaluate(ExpressionParser parser, EvaluationCache cache) throws DebuggerException {
         final long startTime = System.currentTimeMillis();
         try {
-            return parser.evaluate(new Evaluator(vm, getCurrentThread()));
+            return parser.evaluate(new Evaluator(vm, getCurrentThread(), cache));
         } catch (ExpressionException e) {
             throw new DebuggerException(e.getMessage());
         } finally {
@@ -715,4 +813,15 @@ public class JavaDebugger implements EventsHandler, Debugger {
             throw new DebuggerException(e.getMessage(), e);
         }
     }
+
+    /** Event of the conditional breakpoint which thread is suspended by the event set till the condition is evaluated. */
+    private static class DeferredBreakpointEvent {
+        final com.sun.jdi.event.BreakpointEvent event;
+        final com.sun.jdi.event.EventSet        eventSet;
+
+        DeferredBreakpointEvent(com.sun.jdi.event.BreakpointEvent event, com.sun.jdi.event.EventSet eventSet) {
+            this.event = event;
+            this.eventSet = eventSet;
+        }
+    }
 }
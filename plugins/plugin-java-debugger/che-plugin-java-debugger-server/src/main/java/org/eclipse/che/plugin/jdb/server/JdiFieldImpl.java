@@ -17,12 +17,21 @@ import com.sun.jdi.Value;
 
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /** @author andrew00x */
 public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
     private final Field           field;
     private final ReferenceType   type;
     private final ObjectReference object;
 
+    private boolean  valueFetched;
+    private Value    value;
+    private JdiValue jdiValue;
+
     public JdiFieldImpl(Field field, ObjectReference object) {
         this.field = field;
         this.object = object;
@@ -35,6 +44,49 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
         this.object = null;
     }
 
+    /** Creates field of the object which value is already fetched from the target VM together with other fields. */
+    public JdiFieldImpl(Field field, ObjectReference object, Value value) {
+        this(field, object);
+        this.value = value;
+        this.valueFetched = true;
+    }
+
+    /** Creates static field of the type which value is already fetched from the target VM together with other fields. */
+    public JdiFieldImpl(Field field, ReferenceType type, Value value) {
+        this(field, type);
+        this.value = value;
+        this.valueFetched = true;
+    }
+
+    /**
+     * Creates fields of the object and fetches values of all of them with one request to the target VM,
+     * instead of request per field.
+     */
+    public static JdiFieldImpl[] getFields(ObjectReference object, List<Field> fields) {
+        Map<Field, Value> values = object.getValues(fields);
+        JdiFieldImpl[] result = new JdiFieldImpl[fields.size()];
+        int i = 0;
+        for (Field f : fields) {
+            result[i++] = new JdiFieldImpl(f, object, values.get(f));
+        }
+        return result;
+    }
+
+    /**
+     * Creates fields of the type and fetches values of all static fields with one request to the target VM.
+     * Values of the instance fields are requested when they are accessed.
+     */
+    public static JdiFieldImpl[] getFields(ReferenceType type, List<Field> fields) {
+        List<Field> staticFields = fields.stream().filter(Field::isStatic).collect(Collectors.toList());
+        Map<Field, Value> values = staticFields.isEmpty() ? Collections.emptyMap() : type.getValues(staticFields);
+        JdiFieldImpl[] result = new JdiFieldImpl[fields.size()];
+        int i = 0;
+        for (Field f : fields) {
+            result[i++] = f.isStatic() ? new JdiFieldImpl(f, type, values.get(f)) : new JdiFieldImpl(f, type);
+        }
+        return result;
+    }
+
     @Override
     public String getName() {
         return field.name();
@@ -72,11 +124,14 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
 
     @Override
     public JdiValue getValue() {
-        Value value = object == null ? type.getValue(field) : object.getValue(field);
-        if (value == null) {
-            return new JdiNullValue();
+        if (jdiValue == null) {
+            if (!valueFetched) {
+                value = object == null ? type.getValue(field) : object.getValue(field);
+                valueFetched = true;
+            }
+            jdiValue = value == null ? new JdiNullValue() : new JdiValueImpl(value);
         }
-        return new JdiValueImpl(value);
+        return jdiValue;
     }
 
     @Override
@@ -21,11 +21,22 @@ public class JdiLocalVariableImpl implements JdiLocalVariable {
     private final LocalVariable variable;
     private final StackFrame    stackFrame;
 
+    private boolean  valueFetched;
+    private Value    value;
+    private JdiValue jdiValue;
+
     public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable) {
         this.stackFrame = stackFrame;
         this.variable = variable;
     }
 
+    /** Creates local variable which value is already fetched from the target VM together with other variables of the frame. */
+    public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable, Value value) {
+        this(stackFrame, variable);
+        this.value = value;
+        this.valueFetched = true;
+    }
+
     @Override
     public String getName() {
         return variable.name();
@@ -43,11 +54,14 @@ public class JdiLocalVariableImpl implements JdiLocalVariable {
 
     @Override
     public JdiValue getValue() {
-        Value value = stackFrame.getValue(variable);
-        if (value == null) {
-            return new JdiNullValue();
+        if (jdiValue == null) {
+            if (!valueFetched) {
+                value = stackFrame.getValue(variable);
+                valueFetched = true;
+            }
+            jdiValue = value == null ? new JdiNullValue() : new JdiValueImpl(value);
         }
-        return new JdiValueImpl(value);
+        return jdiValue;
     }
 
     @Override
@@ -11,19 +11,20 @@
 package org.eclipse.che.plugin.jdb.server;
 
 import com.sun.jdi.AbsentInformationException;
-import com.sun.jdi.Field;
 import com.sun.jdi.InvalidStackFrameException;
 import com.sun.jdi.LocalVariable;
 import com.sun.jdi.NativeMethodException;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.StackFrame;
+import com.sun.jdi.Value;
 
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 import org.eclipse.che.plugin.jdb.server.exceptions.DebuggerAbsentInformationException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /** @author andrew00x */
 public class JdiStackFrameImpl implements JdiStackFrame {
@@ -40,22 +41,14 @@ public class JdiStackFrameImpl implements JdiStackFrame {
         if (fields == null) {
             try {
                 ObjectReference object = stackFrame.thisObject();
+                JdiFieldImpl[] fs;
                 if (object == null) {
                     ReferenceType type = stackFrame.location().declaringType();
-                    List<Field> fs = stackFrame.location().declaringType().allFields();
-                    fields = new JdiField[fs.size()];
-                    int i = 0;
-                    for (Field f : fs) {
-                        fields[i++] = new JdiFieldImpl(f, type);
-                    }
+                    fs = JdiFieldImpl.getFields(type, type.allFields());
                 } else {
-                    List<Field> fs = object.referenceType().allFields();
-                    fields = new JdiField[fs.size()];
-                    int i = 0;
-                    for (Field f : fs) {
-                        fields[i++] = new JdiFieldImpl(f, object);
-                    }
+                    fs = JdiFieldImpl.getFields(object, object.referenceType().allFields());
                 }
+                fields = Arrays.copyOf(fs, fs.length, JdiField[].class);
 
                 Arrays.sort(fields);
             } catch (InvalidStackFrameException e) {
@@ -83,10 +76,12 @@ public class JdiStackFrameImpl implements JdiStackFrame {
         if (localVariables == null) {
             try {
                 List<LocalVariable> targetVariables = stackFrame.visibleVariables();
+                // fetch values of all variables with one request to the target VM
+                Map<LocalVariable, Value> values = stackFrame.getValues(targetVariables);
                 localVariables = new JdiLocalVariable[targetVariables.size()];
                 int i = 0;
                 for (LocalVariable var : targetVariables) {
-                    localVariables[i++] = new JdiLocalVariableImpl(stackFrame, var);
+                    localVariables[i++] = new JdiLocalVariableImpl(stackFrame, var, values.get(var));
                 }
             } catch (AbsentInformationException e) {
                 throw new DebuggerAbsentInformationException(e.getMessage(), e);
@@ -11,10 +11,8 @@
 package org.eclipse.che.plugin.jdb.server;
 
 import com.sun.jdi.ArrayReference;
-import com.sun.jdi.Field;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.PrimitiveValue;
-import com.sun.jdi.ReferenceType;
 import com.sun.jdi.Value;
 
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
@@ -26,6 +24,7 @@ import java.util.List;
 public class JdiValueImpl implements JdiValue {
     private final Value         value;
     private       JdiVariable[] variables;
+    private       String        asString;
 
     public JdiValueImpl(Value value) {
         if (value == null) {
@@ -36,7 +35,10 @@ public class JdiValueImpl implements JdiValue {
 
     @Override
     public String getAsString() {
-        return value.toString();
+        if (asString == null) {
+            asString = value.toString();
+        }
+        return asString;
     }
 
     @Override
@@ -46,21 +48,16 @@ public class JdiValueImpl implements JdiValue {
                 variables = new JdiVariable[0];
             } else {
                 if (isArray()) {
-                    ArrayReference array = (ArrayReference)value;
-                    int length = array.length();
-                    variables = new JdiVariable[length];
-                    for (int i = 0; i < length; i++) {
-                        variables[i] = new JdiArrayElementImpl(i, array.getValue(i));
+                    // fetch all elements with one request to the target VM
+                    List<Value> elements = ((ArrayReference)value).getValues();
+                    variables = new JdiVariable[elements.size()];
+                    for (int i = 0; i < elements.size(); i++) {
+                        variables[i] = new JdiArrayElementImpl(i, elements.get(i));
                     }
                 } else {
                     ObjectReference object = (ObjectReference)value;
-                    ReferenceType type = object.referenceType();
-                    List<Field> fields = type.allFields();
-                    variables = new JdiVariable[fields.size()];
-                    int i = 0;
-                    for (Field f : fields) {
-                        variables[i++] = new JdiFieldImpl(f, object);
-                    }
+                    JdiFieldImpl[] fields = JdiFieldImpl.getFields(object, object.referenceType().allFields());
+                    variables = Arrays.copyOf(fields, fields.length, JdiVariable[].class);
                     // See JdiFieldImpl#compareTo(JdiFieldImpl).
                     Arrays.sort(variables);
                 }
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server.expression;
+
+import com.sun.jdi.Field;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Value;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fields, methods and local variables resolved by {@link Evaluator}, so expression which is evaluated many times,
+ * e.g. condition of the breakpoint, doesn't look them up in the target VM on each evaluation.
+ * <p>
+ * Local variables are cached by name, so the same cache must be used only for the evaluations at the same location.
+ */
+public class EvaluationCache {
+    private final Map<ReferenceType, Map<String, Field>>  fields         = new ConcurrentHashMap<>();
+    private final Map<ReferenceType, Map<String, Method>> methods        = new ConcurrentHashMap<>();
+    private final Map<String, LocalVariable>              localVariables = new ConcurrentHashMap<>();
+
+    Field getField(ReferenceType type, String name) {
+        Map<String, Field> typeFields = fields.get(type);
+        return typeFields == null ? null : typeFields.get(name);
+    }
+
+    void putField(ReferenceType type, String name, Field field) {
+        fields.computeIfAbsent(type, t -> new ConcurrentHashMap<>()).put(name, field);
+    }
+
+    Method getMethod(ReferenceType type, String name, List<Value> arguments) {
+        Map<String, Method> typeMethods = methods.get(type);
+        return typeMethods == null ? null : typeMethods.get(methodKey(name, arguments));
+    }
+
+    void putMethod(ReferenceType type, String name, List<Value> arguments, Method method) {
+        methods.computeIfAbsent(type, t -> new ConcurrentHashMap<>()).put(methodKey(name, arguments), method);
+    }
+
+    LocalVariable getLocalVariable(String name) {
+        return localVariables.get(name);
+    }
+
+    void putLocalVariable(String name, LocalVariable variable) {
+        localVariables.put(name, variable);
+    }
+
+    /** Method is chosen by the types of the arguments, so they are part of the key. */
+    private static String methodKey(String name, List<Value> arguments) {
+        StringBuilder key = new StringBuilder(name).append('(');
+        for (Value argument : arguments) {
+            key.append(argument == null ? "null" : argument.type().name()).append(',');
+        }
+        return key.append(')').toString();
+    }
+}
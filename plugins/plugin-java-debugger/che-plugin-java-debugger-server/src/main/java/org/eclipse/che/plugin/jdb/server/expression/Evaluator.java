@@ -69,10 +69,23 @@ public class Evaluator {
 
     private final VirtualMachine  vm;
     private final ThreadReference thread;
+    private final EvaluationCache cache;
+
+    /** Current frame of the thread, frame becomes invalid when thread is resumed, e.g. to invoke method. */
+    private StackFrame frame;
 
     public Evaluator(VirtualMachine vm, ThreadReference thread) {
+        this(vm, thread, new EvaluationCache());
+    }
+
+    /**
+     * Creates evaluator which takes resolved fields, methods and local variables from the cache,
+     * e.g. to evaluate condition of the breakpoint each time it is hit.
+     */
+    public Evaluator(VirtualMachine vm, ThreadReference thread, EvaluationCache cache) {
         this.vm = vm;
         this.thread = thread;
+        this.cache = cache;
     }
 
     private static boolean isPrimitive(Type type) {
@@ -228,7 +241,7 @@ public class Evaluator {
 
     public ExpressionValue getThisObject() {
         try {
-            return new ReadOnlyValue(thread.frame(0).thisObject());
+            return new ReadOnlyValue(getFrame().thisObject());
         } catch (IncompatibleThreadStateException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
@@ -241,7 +254,14 @@ public class Evaluator {
         ExpressionValue value = null;
         try {
             ObjectReference object = (ObjectReference)parent;
-            Field field = object.referenceType().fieldByName(name);
+            ReferenceType type = object.referenceType();
+            Field field = cache.getField(type, name);
+            if (field == null) {
+                field = type.fieldByName(name);
+                if (field != null) {
+                    cache.putField(type, name, field);
+                }
+            }
             if (field != null) {
                 value = new InstanceValue(object, field);
             }
@@ -255,8 +275,13 @@ public class Evaluator {
     public ExpressionValue getLocalVariable(String text) {
         ExpressionValue value = null;
         try {
-            StackFrame frame = thread.frame(0);
-            LocalVariable var = frame.visibleVariableByName(text);
+            LocalVariable var = cache.getLocalVariable(text);
+            if (var == null) {
+                var = getFrame().visibleVariableByName(text);
+                if (var != null) {
+                    cache.putLocalVariable(text, var);
+                }
+            }
             if (var != null) {
                 value = new LocalValue(thread, var);
             }
@@ -267,6 +292,13 @@ public class Evaluator {
         return value;
     }
 
+    private StackFrame getFrame() throws IncompatibleThreadStateException {
+        if (frame == null) {
+            frame = thread.frame(0);
+        }
+        return frame;
+    }
+
     public ExpressionValue getArrayElement(Value arrayValue, Value indexValue) {
         if (!(arrayValue instanceof ArrayReference)) {
             throw new ExpressionException("Cannot get array element. Object is not array. ");
@@ -391,15 +423,21 @@ public class Evaluator {
         }
         ObjectReference object = (ObjectReference)value;
         ReferenceType type = object.referenceType();
-        List<Method> methods = type.methodsByName(name);
-        Method method = findMethod(methods, arguments);
+        Method method = cache.getMethod(type, name, arguments);
         if (method == null) {
-            throw new ExpressionException("No method with name " + name + " matched to specified arguments for " + type.name());
+            method = findMethod(type.methodsByName(name), arguments);
+            if (method == null) {
+                throw new ExpressionException("No method with name " + name + " matched to specified arguments for " + type.name());
+            }
+            cache.putMethod(type, name, arguments, method);
         }
         try {
             return new ReadOnlyValue(object.invokeMethod(thread, method, arguments, 0));
         } catch (InvalidTypeException | ClassNotLoadedException | IncompatibleThreadStateException | InvocationException e) {
             throw new ExpressionException(e.getMessage(), e);
+        } finally {
+            // thread is resumed while method is invoked
+            frame = null;
         }
     }
 
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server;
+
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.event.BreakpointEvent;
+import com.sun.jdi.event.Event;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.request.BreakpointRequest;
+
+import org.eclipse.che.api.debug.shared.model.Location;
+import org.eclipse.che.api.debug.shared.model.action.ResumeAction;
+import org.eclipse.che.api.debug.shared.model.event.DebuggerEvent;
+import org.eclipse.che.api.debugger.server.Debugger.DebuggerCallback;
+import org.eclipse.che.plugin.jdb.server.expression.EvaluationCache;
+import org.eclipse.che.plugin.jdb.server.expression.Evaluator;
+import org.eclipse.che.plugin.jdb.server.expression.ExpressionParser;
+import org.eclipse.che.plugin.jdb.server.utils.JavaDebuggerUtils;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static org.eclipse.che.plugin.jdb.server.JavaDebugger.CONDITION_CACHE_PROPERTY;
+import static org.eclipse.che.plugin.jdb.server.JavaDebugger.CONDITION_PARSER_PROPERTY;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests handling of the breakpoint events by {@link JavaDebugger}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class JavaDebuggerTest {
+
+    @Mock
+    private VirtualMachine    vm;
+    @Mock
+    private JavaDebuggerUtils debuggerUtil;
+    @Mock
+    private DebuggerCallback  debuggerCallback;
+    @Mock
+    private ExpressionParser  condition;
+    @Mock
+    private BooleanValue      conditionValue;
+
+    private JavaDebugger debugger;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(debuggerUtil.getLocation(any(com.sun.jdi.Location.class))).thenReturn(mock(Location.class));
+        when(condition.evaluate(any(Evaluator.class))).thenReturn(conditionValue);
+        debugger = new JavaDebugger("localhost", 8000, vm, debuggerUtil, debuggerCallback);
+    }
+
+    @Test
+    public void shouldEvaluateConditionOfBreakpointHitWhileSuspendedAfterResume() throws Exception {
+        when(conditionValue.value()).thenReturn(true);
+        EventSet suspendingEventSet = breakpointEventSet(null);
+        EventSet conditionalEventSet = breakpointEventSet(condition);
+
+        debugger.handleEvents(suspendingEventSet);
+        debugger.handleEvents(conditionalEventSet);
+
+        verify(condition, never()).evaluate(any(Evaluator.class));
+        verify(conditionalEventSet, never()).resume();
+
+        debugger.resume(mock(ResumeAction.class));
+
+        verify(condition).evaluate(any(Evaluator.class));
+        verify(vm).suspend();
+        verify(conditionalEventSet).resume();
+        verify(debuggerCallback, times(2)).onEvent(any(DebuggerEvent.class));
+    }
+
+    @Test
+    public void shouldResumeThreadOfDeferredBreakpointWhenConditionIsFalse() throws Exception {
+        when(conditionValue.value()).thenReturn(false);
+        debugger.handleEvents(breakpointEventSet(null));
+        EventSet conditionalEventSet = breakpointEventSet(condition);
+        debugger.handleEvents(conditionalEventSet);
+
+        debugger.resume(mock(ResumeAction.class));
+
+        verify(condition).evaluate(any(Evaluator.class));
+        verify(vm, never()).suspend();
+        verify(conditionalEventSet).resume();
+        verify(debuggerCallback).onEvent(any(DebuggerEvent.class));
+    }
+
+    @Test
+    public void shouldEvaluateConditionOfBreakpointHitWhileRunning() throws Exception {
+        when(conditionValue.value()).thenReturn(false);
+        EventSet conditionalEventSet = breakpointEventSet(condition);
+
+        debugger.handleEvents(conditionalEventSet);
+
+        verify(condition).evaluate(any(Evaluator.class));
+        verify(conditionalEventSet).resume();
+        verify(debuggerCallback, never()).onEvent(any(DebuggerEvent.class));
+    }
+
+    private EventSet breakpointEventSet(ExpressionParser condition) {
+        BreakpointRequest request = mock(BreakpointRequest.class);
+        when(request.getProperty(CONDITION_PARSER_PROPERTY)).thenReturn(condition);
+        when(request.getProperty(CONDITION_CACHE_PROPERTY)).thenReturn(new EvaluationCache());
+        BreakpointEvent event = mock(BreakpointEvent.class);
+        when(event.request()).thenReturn(request);
+        when(event.thread()).thenReturn(mock(ThreadReference.class));
+        when(event.location()).thenReturn(mock(com.sun.jdi.Location.class));
+        EventSet eventSet = mock(EventSet.class);
+        when(eventSet.iterator()).thenReturn(Collections.<Event>singletonList(event).iterator());
+        return eventSet;
+    }
+}
@@ -17,15 +17,13 @@ import com.google.inject.Singleton;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
-import org.eclipse.core.resources.IFile;
-import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.che.jdt.javaeditor.WorkingCopyManager.OpenedWorkingCopy;
+import org.eclipse.che.jdt.javaeditor.WorkingCopyManager.ProblemRequestor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.IProblemRequestor;
-import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -45,65 +43,88 @@ public class JavaReconciler {
     private static final Logger LOG = LoggerFactory.getLogger(JavaReconciler.class);
 
 
-    private SemanticHighlightingReconciler semanticHighlighting;
+    private final SemanticHighlightingReconciler semanticHighlighting;
+    private final WorkingCopyManager             workingCopyManager;
 
     @Inject
-    public JavaReconciler(SemanticHighlightingReconciler semanticHighlighting) {
+    public JavaReconciler(SemanticHighlightingReconciler semanticHighlighting, WorkingCopyManager workingCopyManager) {
         this.semanticHighlighting = semanticHighlighting;
+        this.workingCopyManager = workingCopyManager;
     }
 
+    /**
+     * Reconciles the compilation unit which declares the given type with the content of its file.
+     */
     public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
-        final ProblemRequestor requestor = new ProblemRequestor();
-        WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
-            public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
-                return requestor;
-            }
+        return reconcile(javaProject, fqn, (ReconcileRequest)null);
+    }
 
-            @Override
-            public IBuffer createBuffer(ICompilationUnit workingCopy) {
-//                return BufferManager.createBuffer(workingCopy);
-//                ?????
-                return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
-            }
-        };
-        List<HighlightedPosition> positions = null;
-        ICompilationUnit compilationUnit = null;
-        try {
-            IType type = javaProject.findType(fqn);
-            if (type == null) {
+    /**
+     * Updates the working copy of the compilation unit which declares the given type with
+     * the editor content and reconciles it. If there is no editor content then the working copy
+     * is synchronized with the content of its file.
+     * <p>
+     * Working copy stays opened between requests, it is reconciled again only if its content
+     * or java model has been changed since the last reconcile, otherwise the previous result is returned.
+     * If the editor changes can't be applied to the working copy content, the result which requires
+     * the editor to send its full content is returned.
+     */
+    public ReconcileResult reconcile(IJavaProject javaProject, String fqn, ReconcileRequest request) throws JavaModelException {
+        while (true) {
+            final OpenedWorkingCopy workingCopy = workingCopyManager.getWorkingCopy(javaProject, fqn);
+            if (workingCopy == null) {
                 return null;
             }
-            if (type.isBinary()) {
-                throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
-            } else {
-                compilationUnit = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
+            synchronized (workingCopy) {
+                if (workingCopy.isDiscarded()) {
+                    // evicted or closed by another request, it is opened again
+                    continue;
+                }
+                if (request == null) {
+                    workingCopy.synchronizeWithFile();
+                } else if (!workingCopy.update(request)) {
+                    final ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
+                    result.setResyncRequired(true);
+                    return result;
+                }
+                ReconcileResult result = workingCopy.getReconcileResult();
+                if (result == null) {
+                    result = reconcile(javaProject, fqn, workingCopy);
+                }
+                return result;
             }
+        }
+    }
+
+    /** Discards the working copy of the compilation unit which declares the given type, e.g. when editor is closed. */
+    public void closeWorkingCopy(IJavaProject javaProject, String fqn) {
+        workingCopyManager.close(javaProject, fqn);
+    }
+
+    private ReconcileResult reconcile(IJavaProject javaProject, String fqn, OpenedWorkingCopy workingCopy) throws JavaModelException {
+        final ProblemRequestor requestor = workingCopy.getProblemRequestor();
+        final ICompilationUnit compilationUnit = workingCopy.getWorkingCopy();
+        final long modelStamp = workingCopy.getModelStamp();
+        List<HighlightedPosition> positions;
+        try {
             requestor.reset();
-            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, null);
+            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, workingCopy.getOwner(), null);
             positions = semanticHighlighting.reconcileSemanticHighlight(unit);
             if (compilationUnit instanceof ClassFileWorkingCopy) {
                 //we don't wont to show any errors from ".class" files
                 requestor.reset();
             }
-
         } catch (JavaModelException e) {
             LOG.error("Can't reconcile class: " + fqn + " in project:" + javaProject.getPath().toOSString(), e);
+            // the next request opens working copy again
+            workingCopyManager.close(javaProject, fqn);
             throw e;
-        } finally {
-            if(compilationUnit!= null && compilationUnit.isWorkingCopy()){
-                try {
-                    //todo close buffer
-                    compilationUnit.getBuffer().close();
-                    compilationUnit.discardWorkingCopy();
-                } catch (JavaModelException e) {
-                    //ignore
-                }
-            }
         }
 
         ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
-        result.setProblems(convertProblems(requestor.problems));
+        result.setProblems(convertProblems(requestor.getProblems()));
         result.setHighlightedPositions(positions);
+        workingCopy.setReconcileResult(result, modelStamp);
         return result;
     }
 
@@ -130,33 +151,4 @@ public class JavaReconciler {
 
         return result;
     }
-
-    private static class ProblemRequestor implements IProblemRequestor {
-
-        private List<IProblem> problems = new ArrayList<>();
-
-        @Override
-        public void acceptProblem(IProblem problem) {
-            problems.add(problem);
-        }
-
-        @Override
-        public void beginReporting() {
-
-        }
-
-        @Override
-        public void endReporting() {
-
-        }
-
-        @Override
-        public boolean isActive() {
-            return true;
-        }
-
-        public void reset() {
-            problems.clear();
-        }
-    }
 }
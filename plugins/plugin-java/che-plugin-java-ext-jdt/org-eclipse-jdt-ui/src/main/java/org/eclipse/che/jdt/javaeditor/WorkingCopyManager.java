@@ -0,0 +1,379 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.che.jdt.javaeditor;
+
+import com.google.inject.Singleton;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaModelStatusConstants;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IProblemRequestor;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps working copies of the compilation units which are opened in the editors,
+ * so reconcile doesn't need to find the type, create new working copy and read the file on each request.
+ * Content of the working copy may be changed with the editor text changes instead of re-reading the file.
+ * <p>
+ * The number of kept working copies is limited, the least recently used working copy is discarded
+ * when the limit is reached.
+ * <p>
+ * The editor changes are applied only to the content they are based on, which is identified by the
+ * version and the hash of the editor content. When the working copy doesn't have such content,
+ * e.g. it was evicted or reopened after failed reconcile, the editor must send its full content.
+ */
+@Singleton
+public class WorkingCopyManager {
+    private static final Logger LOG = LoggerFactory.getLogger(WorkingCopyManager.class);
+
+    private static final int  MAX_WORKING_COPIES   = 64;
+    /** Version of the working copy content which isn't known to be the content of the editor. */
+    private static final long NO_EDITOR_VERSION    = -1;
+    /** Modification time resolution of the file systems, file changed right after it was read may keep the same stamp. */
+    private static final long FILE_TIME_RESOLUTION = 2000;
+
+    private final Map<String, OpenedWorkingCopy> workingCopies;
+    /** Incremented on each java model change, as such changes may affect the problems of the unchanged working copy. */
+    private final AtomicLong                     modelStamp;
+    private final IElementChangedListener        modelChangeListener;
+
+    public WorkingCopyManager() {
+        workingCopies = new LinkedHashMap<>(16, 0.75f, true);
+        modelStamp = new AtomicLong();
+        modelChangeListener = event -> modelStamp.incrementAndGet();
+    }
+
+    @PostConstruct
+    public void start() {
+        JavaCore.addElementChangedListener(modelChangeListener, ElementChangedEvent.POST_CHANGE);
+    }
+
+    /**
+     * Gets the working copy of the compilation unit which declares the given type, opens it if it isn't opened yet.
+     *
+     * @return the working copy or null if type is not found
+     * @throws IllegalArgumentException
+     *         if the type is binary
+     * @throws JavaModelException
+     *         if the working copy can't be created
+     */
+    public OpenedWorkingCopy getWorkingCopy(IJavaProject javaProject, String fqn) throws JavaModelException {
+        final String key = javaProject.getPath().toString() + ':' + fqn;
+        final List<OpenedWorkingCopy> evicted = new ArrayList<>();
+        OpenedWorkingCopy workingCopy;
+        synchronized (workingCopies) {
+            workingCopy = workingCopies.get(key);
+            if (workingCopy == null) {
+                IType type = javaProject.findType(fqn);
+                if (type == null) {
+                    return null;
+                }
+                if (type.isBinary()) {
+                    throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
+                }
+                workingCopy = new OpenedWorkingCopy(type.getCompilationUnit());
+                workingCopies.put(key, workingCopy);
+                final Iterator<OpenedWorkingCopy> it = workingCopies.values().iterator();
+                while (workingCopies.size() > MAX_WORKING_COPIES) {
+                    evicted.add(it.next());
+                    it.remove();
+                }
+            }
+        }
+        // discard outside of the lock, as evicted working copies may be reconciled right now
+        evicted.forEach(OpenedWorkingCopy::discard);
+        return workingCopy;
+    }
+
+    /** Discards the working copy of the compilation unit which declares the given type, e.g. when editor is closed. */
+    public void close(IJavaProject javaProject, String fqn) {
+        final OpenedWorkingCopy workingCopy;
+        synchronized (workingCopies) {
+            workingCopy = workingCopies.remove(javaProject.getPath().toString() + ':' + fqn);
+        }
+        if (workingCopy != null) {
+            workingCopy.discard();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        JavaCore.removeElementChangedListener(modelChangeListener);
+        closeAll();
+    }
+
+    /** Discards all the opened working copies. */
+    public void closeAll() {
+        final List<OpenedWorkingCopy> opened;
+        synchronized (workingCopies) {
+            opened = new ArrayList<>(workingCopies.values());
+            workingCopies.clear();
+        }
+        opened.forEach(OpenedWorkingCopy::discard);
+    }
+
+    /**
+     * Working copy opened in the editor. All the operations with the working copy
+     * must be performed while holding the lock of this object.
+     */
+    public class OpenedWorkingCopy {
+        private final ProblemRequestor requestor;
+        private final WorkingCopyOwner owner;
+        private final ICompilationUnit workingCopy;
+
+        private boolean         discarded;
+        private long            fileModified;
+        private long            fileLength;
+        private long            fileRead;
+        /** Incremented on each content change. */
+        private long            contentVersion;
+        /** Version of the editor content which is the same as the working copy content. */
+        private long            editorVersion;
+        private long            reconciledVersion;
+        private long            reconciledModelStamp;
+        private ReconcileResult reconcileResult;
+
+        private OpenedWorkingCopy(ICompilationUnit compilationUnit) throws JavaModelException {
+            requestor = new ProblemRequestor();
+            owner = new WorkingCopyOwner() {
+                public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
+                    return requestor;
+                }
+
+                @Override
+                public IBuffer createBuffer(ICompilationUnit workingCopy) {
+                    return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
+                }
+            };
+            // file is read by the buffer of the working copy, so its stamp is taken before
+            updateFileStamp(getFile(compilationUnit));
+            workingCopy = compilationUnit.getWorkingCopy(owner, null);
+            contentVersion = 1;
+            editorVersion = NO_EDITOR_VERSION;
+        }
+
+        public ICompilationUnit getWorkingCopy() {
+            return workingCopy;
+        }
+
+        public WorkingCopyOwner getOwner() {
+            return owner;
+        }
+
+        public ProblemRequestor getProblemRequestor() {
+            return requestor;
+        }
+
+        /**
+         * Re-reads working copy content if the file was changed since it was read last time,
+         * e.g. the editor content was saved or file was changed by another tool.
+         * <p>
+         * The file stamp is trusted only if the file had been modified long enough before it was read,
+         * otherwise the file is re-read and compared with the working copy content.
+         */
+        public void synchronizeWithFile() throws JavaModelException {
+            final File file = getFile(workingCopy);
+            if (file == null
+                || file.lastModified() == fileModified && file.length() == fileLength && fileModified + FILE_TIME_RESOLUTION < fileRead) {
+                return;
+            }
+            updateFileStamp(file);
+            final String contents;
+            try (InputStream inputStream = ((IFile)workingCopy.getResource()).getContents()) {
+                contents = IoUtil.readStream(inputStream);
+            } catch (IOException e) {
+                throw new JavaModelException(e, IJavaModelStatusConstants.IO_EXCEPTION);
+            } catch (CoreException e) {
+                throw new JavaModelException(e);
+            }
+            final IBuffer buffer = workingCopy.getBuffer();
+            if (!contents.equals(buffer.getContents())) {
+                buffer.setContents(contents);
+                contentVersion++;
+                editorVersion = NO_EDITOR_VERSION;
+            }
+        }
+
+        /**
+         * Updates the working copy content with the editor content.
+         * The full content replaces the working copy content, the changes are applied only if the working copy
+         * content is the editor content of the base version, in the given order.
+         *
+         * @return false if the changes are not applied as the working copy doesn't have the content they are based on,
+         * so the editor must send its full content
+         * @throws IllegalArgumentException
+         *         if change is out of the working copy content bounds
+         */
+        public boolean update(ReconcileRequest request) throws JavaModelException {
+            final IBuffer buffer = workingCopy.getBuffer();
+            if (request.getContent() != null) {
+                if (!request.getContent().equals(buffer.getContents())) {
+                    buffer.setContents(request.getContent());
+                    contentVersion++;
+                }
+                editorVersion = request.getVersion();
+                return true;
+            }
+            if (editorVersion == NO_EDITOR_VERSION
+                || editorVersion != request.getBaseVersion()
+                || buffer.getContents().hashCode() != request.getBaseHash()) {
+                editorVersion = NO_EDITOR_VERSION;
+                return false;
+            }
+            checkBounds(request.getChanges(), buffer.getLength());
+            for (Change change : request.getChanges()) {
+                final String text = change.getText() == null ? "" : change.getText();
+                if (change.getLength() == 0 && text.isEmpty()) {
+                    continue;
+                }
+                buffer.replace(change.getOffset(), change.getLength(), text);
+                contentVersion++;
+            }
+            editorVersion = request.getVersion();
+            return true;
+        }
+
+        /**
+         * Returns the result of the last reconcile if neither working copy content
+         * nor java model changed since then, otherwise returns null.
+         */
+        public ReconcileResult getReconcileResult() {
+            if (reconcileResult != null && reconciledVersion == contentVersion && reconciledModelStamp == modelStamp.get()) {
+                return reconcileResult;
+            }
+            return null;
+        }
+
+        /**
+         * Remembers the result of reconcile of the current working copy content.
+         * Must be called with the model stamp taken before reconcile started.
+         */
+        public void setReconcileResult(ReconcileResult reconcileResult, long modelStamp) {
+            this.reconcileResult = reconcileResult;
+            this.reconciledVersion = contentVersion;
+            this.reconciledModelStamp = modelStamp;
+        }
+
+        /** Returns current java model stamp which should be passed to {@link #setReconcileResult(ReconcileResult, long)}. */
+        public long getModelStamp() {
+            return modelStamp.get();
+        }
+
+        public boolean isDiscarded() {
+            return discarded;
+        }
+
+        private synchronized void discard() {
+            if (discarded) {
+                return;
+            }
+            discarded = true;
+            reconcileResult = null;
+            try {
+                workingCopy.getBuffer().close();
+                workingCopy.discardWorkingCopy();
+            } catch (JavaModelException e) {
+                LOG.warn("Can't discard working copy of " + workingCopy.getElementName(), e);
+            }
+        }
+
+        private void updateFileStamp(File file) {
+            if (file != null) {
+                fileRead = System.currentTimeMillis();
+                fileModified = file.lastModified();
+                fileLength = file.length();
+            }
+        }
+    }
+
+    /** Checks all the changes before any of them is applied, so the working copy is never left partially changed. */
+    private static void checkBounds(List<Change> changes, int contentLength) {
+        int length = contentLength;
+        for (Change change : changes) {
+            if (change.getOffset() < 0 || change.getLength() < 0 || change.getOffset() + change.getLength() > length) {
+                throw new IllegalArgumentException(String.format("Change [offset: %d, length: %d] is out of the content bounds [0, %d]",
+                                                                 change.getOffset(),
+                                                                 change.getLength(),
+                                                                 length));
+            }
+            length += (change.getText() == null ? 0 : change.getText().length()) - change.getLength();
+        }
+    }
+
+    private static File getFile(ICompilationUnit compilationUnit) {
+        final IResource resource = compilationUnit.getResource();
+        final IPath location = resource == null ? null : resource.getLocation();
+        return location == null ? null : location.toFile();
+    }
+
+    public static class ProblemRequestor implements IProblemRequestor {
+
+        private List<IProblem> problems = new ArrayList<>();
+
+        @Override
+        public void acceptProblem(IProblem problem) {
+            problems.add(problem);
+        }
+
+        @Override
+        public void beginReporting() {
+
+        }
+
+        @Override
+        public void endReporting() {
+
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        public List<IProblem> getProblems() {
+            return problems;
+        }
+
+        public void reset() {
+            problems.clear();
+        }
+    }
+}
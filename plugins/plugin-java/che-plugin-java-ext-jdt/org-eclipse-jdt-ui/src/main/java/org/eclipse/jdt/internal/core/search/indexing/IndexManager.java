@@ -67,6 +67,9 @@ public class IndexManager extends JobManager implements IIndexConstants {
     // should JDT manage (update, delete as needed) pre-built indexes?
     public static final  String            MANAGE_PRODUCT_INDEXES_PROPERTY      = "jdt.core.manageProductIndexes"; //$NON-NLS-1$
     private static final boolean           IS_MANAGING_PRODUCT_INDEXES_PROPERTY = Boolean.getBoolean(MANAGE_PRODUCT_INDEXES_PROPERTY);
+    // directory with the library indexes shared between workspaces and its size limit in megabytes
+    public static final  String            SHARED_INDEXES_LOCATION_PROPERTY     = "jdt.core.sharedIndexesLocation"; //$NON-NLS-1$
+    public static final  String            SHARED_INDEXES_MAX_SIZE_PROPERTY     = "jdt.core.sharedIndexesMaxSize"; //$NON-NLS-1$
     // Debug
     public static        boolean           DEBUG                                = false;
     // key = containerPath, value = indexLocation path
@@ -91,9 +94,14 @@ public class IndexManager extends JobManager implements IIndexConstants {
     private SimpleLookupTable participantsContainers = null;
     private boolean           participantUpdated     = false;
     private String indexLocation;
+    private final SharedIndexCache sharedIndexes;
 
     public IndexManager(String indexLocation) {
         this.indexLocation = indexLocation;
+        String sharedIndexesLocation = System.getProperty(SHARED_INDEXES_LOCATION_PROPERTY,
+                                                          new File(System.getProperty("user.home"), ".cache/che/jdt-indexes").getPath());
+        long sharedIndexesMaxSize = Long.getLong(SHARED_INDEXES_MAX_SIZE_PROPERTY, 1024L) * 1024 * 1024;
+        sharedIndexes = new SharedIndexCache(new File(sharedIndexesLocation), sharedIndexesMaxSize);
         indexNamesMapFile = new File(getSavedIndexesDirectory(), "indexNamesMap.txt");
         savedIndexNamesFile = new File(getSavedIndexesDirectory(), "savedIndexNames.txt");
         participantIndexNamesFile = new File(getSavedIndexesDirectory(), "participantsIndexNames.txt");
@@ -213,10 +221,56 @@ public class IndexManager extends JobManager implements IIndexConstants {
             // to share the indexLocation between the indexLocations and indexStates tables, get the key from the indexStates table
             indexLocation = (IndexLocation)getIndexStates().getKey(new FileIndexLocation(new File(getSavedIndexesDirectory(), fileName)));
             this.indexLocations.put(containerPath, indexLocation);
+            if (getIndexStates().get(indexLocation) == null) {
+                restoreSharedIndex(indexLocation, containerPath);
+            }
         }
         return indexLocation;
     }
 
+    /*
+     * Reuses the index of the same library archive built by another workspace or project, if there is such.
+     * Only the archive hash calculated by prepareSharedIndex is used, as the archive must not be read under the lock.
+     */
+    private void restoreSharedIndex(IndexLocation indexLocation, IPath containerPath) {
+        File archive = getArchiveFile(containerPath);
+        File indexFile = indexLocation.getIndexFile();
+        if (archive != null && indexFile != null && sharedIndexes.restore(archive, indexFile)) {
+            if (JobManager.VERBOSE)
+                Util.verbose("-> reusing shared index: " + indexLocation + " path: " + containerPath); //$NON-NLS-1$ //$NON-NLS-2$
+            updateIndexState(indexLocation, SAVED_STATE);
+        }
+    }
+
+    /*
+     * Calculates the hash of the library archive which index location is not computed yet,
+     * so its shared index can be found when the location is computed.
+     */
+    private void prepareSharedIndex(IPath containerPath) {
+        File archive = getArchiveFile(containerPath);
+        if (archive != null && !hasIndexLocation(containerPath)) {
+            sharedIndexes.hash(archive);
+        }
+    }
+
+    private synchronized boolean hasIndexLocation(IPath containerPath) {
+        return this.indexLocations.get(containerPath) != null;
+    }
+
+    /*
+     * Returns the library archive file for the given container path or null if container is not an archive.
+     */
+    private File getArchiveFile(IPath containerPath) {
+        Object target = JavaModelManager.getTarget(containerPath, true);
+        File file = null;
+        if (target instanceof File) {
+            file = (File)target;
+        } else if (target instanceof IFile && ((IFile)target).getLocation() != null) {
+            file = ((IFile)target).getLocation().toFile();
+        }
+        return file != null && SharedIndexCache.isArchive(file) ? file : null;
+    }
+
     public void deleteIndexFiles() {
         if (DEBUG)
             Util.verbose("Deleting index files"); //$NON-NLS-1$
@@ -608,6 +662,9 @@ public class IndexManager extends JobManager implements IIndexConstants {
             } else {
                 indexFile = IndexLocation.createIndexLocation(indexURL);
             }
+        } else {
+            // hash the archive before the indexing job computes index location under the lock
+            prepareSharedIndex(path);
         }
 //        if (JavaCore.getPlugin() == null) return;
         IndexRequest request = null;
@@ -931,13 +988,15 @@ public class IndexManager extends JobManager implements IIndexConstants {
 
     public void saveIndex(Index index) throws IOException {
         // must have permission to write from the write monitor
-        if (index.hasChanged()) {
+        boolean changed = index.hasChanged();
+        if (changed) {
             if (JobManager.VERBOSE)
                 Util.verbose("-> saving index " + index.getIndexLocation()); //$NON-NLS-1$
             index.save();
         }
+        IPath containerPath = new Path(index.containerPath);
+        IndexLocation indexLocation;
         synchronized (this) {
-            IPath containerPath = new Path(index.containerPath);
             if (this.jobEnd > this.jobStart) {
                 for (int i = this.jobEnd; i > this.jobStart; i--) { // skip the current job
                     IJob job = this.awaitingJobs[i];
@@ -945,9 +1004,15 @@ public class IndexManager extends JobManager implements IIndexConstants {
                         if (((IndexRequest)job).containerPath.equals(containerPath)) return;
                 }
             }
-            IndexLocation indexLocation = computeIndexLocation(containerPath);
+            indexLocation = computeIndexLocation(containerPath);
             updateIndexState(indexLocation, SAVED_STATE);
         }
+        // the index is complete, share it with the other workspaces
+        File archive = changed ? getArchiveFile(containerPath) : null;
+        File indexFile = indexLocation.getIndexFile();
+        if (archive != null && indexFile != null) {
+            sharedIndexes.publish(archive, indexFile);
+        }
     }
 
     /**
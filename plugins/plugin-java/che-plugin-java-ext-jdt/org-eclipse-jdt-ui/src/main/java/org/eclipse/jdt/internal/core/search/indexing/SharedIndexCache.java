@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Directory with the indexes of the library archives which is shared between projects, workspaces and restarts.
+ * <p>
+ * Indexes are stored by the content hash of the archive, so the same archive gets the same index
+ * regardless of its location. Index manager still works with its own index files, the shared index is copied
+ * to the index manager's location when the archive is indexed for the first time and the index manager's index
+ * is copied to the shared directory when it is saved, so no one modifies the shared indexes in place.
+ * <p>
+ * When the total size of the shared indexes exceeds the limit, the least recently used indexes are removed
+ * until the total size drops well below the limit, so the directory is not scanned on each publishing.
+ * <p>
+ * Calculating the archive hash reads the whole archive, so it is done by {@link #hash(File)} before
+ * the index location is computed, {@link #restore(File, File)} uses only already known hashes.
+ */
+class SharedIndexCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedIndexCache.class);
+
+    private static final String INDEX_SUFFIX    = ".index";
+    /** Part of the size limit which the indexes are evicted down to. */
+    private static final double EVICTION_TARGET = 0.8;
+
+    private final File                     directory;
+    private final long                     maxSize;
+    /** Archive hashes by archive path, hash is recalculated when archive length or modification time is changed. */
+    private final Map<String, ArchiveHash> hashes;
+    /** Total size of the shared indexes on the last eviction plus the size of the indexes published since then, -1 if unknown. */
+    private       long                     estimatedSize;
+
+    SharedIndexCache(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.hashes = new ConcurrentHashMap<>();
+        this.estimatedSize = -1;
+    }
+
+    /** Returns true if the given file is a library archive which index may be shared. */
+    static boolean isArchive(File file) {
+        final String name = file.getName().toLowerCase();
+        return (name.endsWith(".jar") || name.endsWith(".zip")) && file.isFile();
+    }
+
+    /**
+     * Copies the shared index of the given archive to the index file.
+     * The archive is not read, so the shared index is found only if the archive hash was calculated before.
+     *
+     * @return true if the shared index exists and it was copied, false otherwise
+     */
+    boolean restore(File archive, File indexFile) {
+        final String hash = knownHash(archive);
+        if (hash == null) {
+            return false;
+        }
+        final File sharedIndex = new File(directory, hash + INDEX_SUFFIX);
+        if (!sharedIndex.isFile()) {
+            return false;
+        }
+        try {
+            copyAtomically(sharedIndex.toPath(), indexFile.toPath());
+            // last modification time of the shared index is its last usage time
+            sharedIndex.setLastModified(System.currentTimeMillis());
+            return true;
+        } catch (IOException e) {
+            LOG.warn("Failed to restore shared index of " + archive, e);
+            return false;
+        }
+    }
+
+    /**
+     * Copies the index file of the given archive to the shared directory, unless the index of the same archive
+     * is already shared, and evicts the least recently used indexes if the size limit is exceeded.
+     */
+    void publish(File archive, File indexFile) {
+        final String hash = hash(archive);
+        if (hash == null || !indexFile.isFile()) {
+            return;
+        }
+        final File sharedIndex = new File(directory, hash + INDEX_SUFFIX);
+        if (sharedIndex.isFile()) {
+            // the index of the same archive content is the same
+            sharedIndex.setLastModified(System.currentTimeMillis());
+            return;
+        }
+        try {
+            Files.createDirectories(directory.toPath());
+            copyAtomically(indexFile.toPath(), sharedIndex.toPath());
+        } catch (IOException e) {
+            LOG.warn("Failed to share index of " + archive, e);
+            return;
+        }
+        if (isLimitExceeded(sharedIndex.length())) {
+            evict();
+        }
+    }
+
+    private synchronized boolean isLimitExceeded(long publishedSize) {
+        if (estimatedSize >= 0) {
+            estimatedSize += publishedSize;
+        }
+        return estimatedSize < 0 || estimatedSize > maxSize;
+    }
+
+    private synchronized void evict() {
+        final File[] indexes = directory.listFiles((dir, name) -> name.endsWith(INDEX_SUFFIX));
+        if (indexes == null) {
+            return;
+        }
+        long totalSize = 0;
+        for (File index : indexes) {
+            totalSize += index.length();
+        }
+        if (totalSize > maxSize) {
+            final long targetSize = (long)(maxSize * EVICTION_TARGET);
+            Arrays.sort(indexes, Comparator.comparingLong(File::lastModified));
+            for (int i = 0; i < indexes.length && totalSize > targetSize; i++) {
+                final long size = indexes[i].length();
+                if (indexes[i].delete()) {
+                    totalSize -= size;
+                }
+            }
+        }
+        estimatedSize = totalSize;
+    }
+
+    /** Returns the hash of the archive if it was calculated for the current archive content, otherwise returns null. */
+    private String knownHash(File archive) {
+        final ArchiveHash cached = hashes.get(archive.getAbsolutePath());
+        if (cached != null && cached.length == archive.length() && cached.lastModified == archive.lastModified()) {
+            return cached.hash;
+        }
+        return null;
+    }
+
+    /**
+     * Returns hash of the archive content combined with the index format signature,
+     * so indexes of the incompatible format are never reused. Returns null if archive can't be read.
+     */
+    String hash(File archive) {
+        final String known = knownHash(archive);
+        if (known != null) {
+            return known;
+        }
+        final String path = archive.getAbsolutePath();
+        final long length = archive.length();
+        final long lastModified = archive.lastModified();
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(DiskIndex.SIGNATURE.getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = new DigestInputStream(Files.newInputStream(archive.toPath()), digest)) {
+                final byte[] buffer = new byte[8192];
+                while (in.read(buffer) != -1) {
+                    // digest is updated by the stream
+                }
+            }
+            final StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            hashes.put(path, new ArchiveHash(hash.toString(), length, lastModified));
+            return hash.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOG.warn("Failed to calculate hash of " + archive, e);
+            return null;
+        }
+    }
+
+    /** Copies the file to a temporary file next to the target and then moves it, so target is never seen partially written. */
+    private static void copyAtomically(Path source, Path target) throws IOException {
+        final Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.copy(source, tmp, REPLACE_EXISTING);
+            Files.move(tmp, target, REPLACE_EXISTING, ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static class ArchiveHash {
+        final String hash;
+        final long   length;
+        final long   lastModified;
+
+        ArchiveHash(String hash, long length, long lastModified) {
+            this.hash = hash;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+    }
+}
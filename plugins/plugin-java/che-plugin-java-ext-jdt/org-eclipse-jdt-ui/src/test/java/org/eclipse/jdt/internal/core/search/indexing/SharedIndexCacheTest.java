@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link SharedIndexCache}.
+ */
+public class SharedIndexCacheTest {
+    private static final int INDEX_SIZE = 30;
+    private static final int MAX_SIZE   = 100;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File sharedDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sharedDirectory = temp.newFolder("shared");
+    }
+
+    @Test
+    public void shouldNotReadArchiveWhenRestoringIndex() throws Exception {
+        File archive = archive("lib.jar", "content");
+        new SharedIndexCache(sharedDirectory, MAX_SIZE).publish(archive, index("published"));
+        SharedIndexCache cache = new SharedIndexCache(sharedDirectory, MAX_SIZE);
+        File restored = new File(temp.getRoot(), "restored.index");
+
+        // index location is computed under the index manager lock, so restore must not hash the archive itself
+        assertFalse(cache.restore(archive, restored));
+        assertFalse(restored.exists());
+
+        cache.hash(archive);
+
+        assertTrue(cache.restore(archive, restored));
+        assertArrayEquals("published".getBytes(UTF_8), Files.readAllBytes(restored.toPath()));
+    }
+
+    @Test
+    public void shouldShareIndexOfArchivesWithTheSameContent() throws Exception {
+        SharedIndexCache cache = new SharedIndexCache(sharedDirectory, MAX_SIZE);
+        cache.publish(archive("first/lib.jar", "content"), index("published"));
+        File other = archive("second/lib.jar", "content");
+        File restored = new File(temp.getRoot(), "restored.index");
+
+        cache.hash(other);
+
+        assertTrue(cache.restore(other, restored));
+        assertArrayEquals("published".getBytes(UTF_8), Files.readAllBytes(restored.toPath()));
+    }
+
+    @Test
+    public void shouldNotRestoreIndexOfChangedArchive() throws Exception {
+        SharedIndexCache cache = new SharedIndexCache(sharedDirectory, MAX_SIZE);
+        File archive = archive("lib.jar", "content");
+        cache.publish(archive, index("published"));
+
+        Files.write(archive.toPath(), "changed content".getBytes(UTF_8));
+
+        assertFalse(cache.restore(archive, new File(temp.getRoot(), "restored.index")));
+    }
+
+    @Test
+    public void shouldNotPublishIndexOfAlreadySharedArchive() throws Exception {
+        SharedIndexCache cache = new SharedIndexCache(sharedDirectory, MAX_SIZE);
+        File archive = archive("lib.jar", "content");
+        cache.publish(archive, index("published"));
+        File shared = sharedIndex(cache, archive);
+        assertTrue(shared.setLastModified(1000));
+
+        cache.publish(archive, index("published again"));
+
+        assertArrayEquals("published".getBytes(UTF_8), Files.readAllBytes(shared.toPath()));
+        assertTrue(shared.lastModified() > 1000);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedIndexesBelowLimitWhenLimitIsExceeded() throws Exception {
+        SharedIndexCache cache = new SharedIndexCache(sharedDirectory, MAX_SIZE);
+        File[] archives = new File[4];
+        for (int i = 0; i < 3; i++) {
+            archives[i] = archive("lib" + i + ".jar", "content" + i);
+            cache.publish(archives[i], index(INDEX_SIZE));
+            assertTrue(sharedIndex(cache, archives[i]).setLastModified(1000 * (i + 1)));
+        }
+        // the oldest index is used recently
+        assertTrue(cache.restore(archives[0], new File(temp.getRoot(), "restored.index")));
+
+        archives[3] = archive("lib3.jar", "content3");
+        cache.publish(archives[3], index(INDEX_SIZE));
+
+        // 120 bytes exceed the limit, indexes are evicted down to 80% of the limit
+        assertTrue(sharedIndex(cache, archives[0]).exists());
+        assertFalse(sharedIndex(cache, archives[1]).exists());
+        assertFalse(sharedIndex(cache, archives[2]).exists());
+        assertTrue(sharedIndex(cache, archives[3]).exists());
+    }
+
+    @Test
+    public void shouldNotEvictIndexesOnEachPublishingAfterEviction() throws Exception {
+        SharedIndexCache cache = new SharedIndexCache(sharedDirectory, MAX_SIZE);
+        for (int i = 0; i < 4; i++) {
+            cache.publish(archive("lib" + i + ".jar", "content" + i), index(INDEX_SIZE));
+        }
+        assertEquals(2, sharedIndexes().length);
+
+        cache.publish(archive("lib4.jar", "content4"), index(INDEX_SIZE));
+
+        // 90 bytes are still below the limit
+        assertEquals(3, sharedIndexes().length);
+    }
+
+    private File archive(String path, String content) throws IOException {
+        File archive = new File(temp.getRoot(), path);
+        Files.createDirectories(archive.getParentFile().toPath());
+        Files.write(archive.toPath(), content.getBytes(UTF_8));
+        return archive;
+    }
+
+    private File index(String content) throws IOException {
+        File index = temp.newFile();
+        Files.write(index.toPath(), content.getBytes(UTF_8));
+        return index;
+    }
+
+    private File index(int size) throws IOException {
+        File index = temp.newFile();
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte)'i');
+        Files.write(index.toPath(), content);
+        return index;
+    }
+
+    private File sharedIndex(SharedIndexCache cache, File archive) {
+        return new File(sharedDirectory, cache.hash(archive) + ".index");
+    }
+
+    private File[] sharedIndexes() {
+        return sharedDirectory.listFiles((dir, name) -> name.endsWith(".index"));
+    }
+}
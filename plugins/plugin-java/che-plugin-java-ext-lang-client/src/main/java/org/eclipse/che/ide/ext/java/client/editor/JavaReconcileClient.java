@@ -14,6 +14,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
@@ -40,19 +41,47 @@ public class JavaReconcileClient {
     }
 
     public void reconcile(String projectPath, String fqn, final ReconcileCallback callback) {
-        String url = appContext.getDevMachine().getWsAgentBaseUrl() + "/java/reconcile/?projectpath=" + projectPath + "&fqn=" + fqn;
-        asyncRequestFactory.createGetRequest(url)
-                           .send(new AsyncRequestCallback<ReconcileResult>(dtoUnmarshallerFactory.newUnmarshaller(ReconcileResult.class)) {
-                               @Override
-                               protected void onSuccess(ReconcileResult result) {
-                                   callback.onReconcile(result);
-                               }
-
-                               @Override
-                               protected void onFailure(Throwable exception) {
-                                   Log.error(JavaReconcileClient.class, exception);
-                               }
-                           });
+        asyncRequestFactory.createGetRequest(getUrl(projectPath, fqn)).send(newCallback(callback));
+    }
+
+    /**
+     * Reconciles the class with the editor content. If the result requires resync,
+     * the editor changes are not applied and the full editor content must be sent.
+     */
+    public void reconcile(String projectPath, String fqn, ReconcileRequest request, final ReconcileCallback callback) {
+        asyncRequestFactory.createPostRequest(getUrl(projectPath, fqn), request).send(newCallback(callback));
+    }
+
+    /** Discards the working copy of the class kept for reconcile, should be called when editor is closed. */
+    public void closeWorkingCopy(String projectPath, String fqn) {
+        asyncRequestFactory.createDeleteRequest(getUrl(projectPath, fqn)).send(new AsyncRequestCallback<Void>() {
+            @Override
+            protected void onSuccess(Void result) {
+            }
+
+            @Override
+            protected void onFailure(Throwable exception) {
+                Log.error(JavaReconcileClient.class, exception);
+            }
+        });
+    }
+
+    private String getUrl(String projectPath, String fqn) {
+        return appContext.getDevMachine().getWsAgentBaseUrl() + "/java/reconcile/?projectpath=" + projectPath + "&fqn=" + fqn;
+    }
+
+    private AsyncRequestCallback<ReconcileResult> newCallback(final ReconcileCallback callback) {
+        return new AsyncRequestCallback<ReconcileResult>(dtoUnmarshallerFactory.newUnmarshaller(ReconcileResult.class)) {
+            @Override
+            protected void onSuccess(ReconcileResult result) {
+                callback.onReconcile(result);
+            }
+
+            @Override
+            protected void onFailure(Throwable exception) {
+                Log.error(JavaReconcileClient.class, exception);
+            }
+        };
     }
 
     public interface ReconcileCallback {
@@ -13,10 +13,14 @@ package org.eclipse.che.ide.ext.java.client.editor;
 import com.google.common.base.Optional;
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
+import com.google.web.bindery.event.shared.HandlerRegistration;
 
 import org.eclipse.che.ide.api.editor.EditorWithErrors;
 import org.eclipse.che.ide.api.editor.annotation.AnnotationModel;
 import org.eclipse.che.ide.api.editor.document.Document;
+import org.eclipse.che.ide.api.editor.document.DocumentHandle;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeEvent;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeHandler;
 import org.eclipse.che.ide.api.editor.reconciler.DirtyRegion;
 import org.eclipse.che.ide.api.editor.reconciler.ReconcilingStrategy;
 import org.eclipse.che.ide.api.editor.text.Region;
@@ -24,10 +28,13 @@ import org.eclipse.che.ide.api.editor.texteditor.TextEditorPresenter;
 import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.api.resources.VirtualFile;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.JavaLocalizationConstant;
 import org.eclipse.che.ide.ext.java.client.util.JavaUtil;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.project.ResolvingProjectStateHolder;
 import org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState;
@@ -36,12 +43,22 @@ import org.eclipse.che.ide.project.ResolvingProjectStateHolderRegistry;
 import org.eclipse.che.ide.util.loging.Log;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState.IN_PROGRESS;
 
+/**
+ * Reconciles the java editor content on the server.
+ * <p>
+ * The full editor content is sent only when the server doesn't have it yet, then only the document changes
+ * are sent together with the version and the hash of the content they are based on.
+ * If the server can't apply the changes, the full content is sent again.
+ */
 public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingProjectStateListener {
+    /** Synchronized version of the editor content which means that the server doesn't have the editor content. */
+    private static final long NOT_SYNCHRONIZED = -1;
 
     private final TextEditorPresenter<?>              editor;
     private final JavaCodeAssistProcessor             codeAssistProcessor;
@@ -50,7 +67,16 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
     private final ResolvingProjectStateHolderRegistry resolvingProjectStateHolderRegistry;
     private final JavaLocalizationConstant            localizationConstant;
     private final JavaReconcileClient                 client;
+    private final DtoFactory                          dtoFactory;
+    private final List<Change>                        changes;
     private       ResolvingProjectStateHolder         resolvingProjectStateHolder;
+    private       Document                            document;
+    private       HandlerRegistration                 documentChangeRegistration;
+    /** Version of the editor content, incremented on each document change. */
+    private       long                                version;
+    /** Version of the editor content which the server has. */
+    private       long                                synchronizedVersion;
+    private       int                                 synchronizedHash;
 
     @AssistedInject
     public JavaReconcilerStrategy(@Assisted @NotNull final TextEditorPresenter<?> editor,
@@ -59,9 +85,13 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
                                   final JavaReconcileClient client,
                                   final SemanticHighlightRenderer highlighter,
                                   final ResolvingProjectStateHolderRegistry resolvingProjectStateHolderRegistry,
-                                  final JavaLocalizationConstant localizationConstant) {
+                                  final JavaLocalizationConstant localizationConstant,
+                                  final DtoFactory dtoFactory) {
         this.editor = editor;
         this.client = client;
+        this.dtoFactory = dtoFactory;
+        this.changes = new ArrayList<>();
+        this.synchronizedVersion = NOT_SYNCHRONIZED;
         this.codeAssistProcessor = codeAssistProcessor;
         this.annotationModel = annotationModel;
         this.highlighter = highlighter;
@@ -72,6 +102,23 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
     @Override
     public void setDocument(final Document document) {
         highlighter.init(editor.getHasTextMarkers(), document);
+        this.document = document;
+        synchronizedVersion = NOT_SYNCHRONIZED;
+        final DocumentHandle documentHandle = document.getDocumentHandle();
+        if (documentHandle != null) {
+            documentChangeRegistration = documentHandle.getDocEventBus().addHandler(DocumentChangeEvent.TYPE, new DocumentChangeHandler() {
+                @Override
+                public void onDocumentChange(DocumentChangeEvent event) {
+                    version++;
+                    if (synchronizedVersion != NOT_SYNCHRONIZED) {
+                        changes.add(dtoFactory.createDto(Change.class)
+                                              .withOffset(event.getOffset())
+                                              .withLength(event.getRemoveCharCount())
+                                              .withText(event.getText()));
+                    }
+                }
+            });
+        }
 
         if (getFile() instanceof Resource) {
             final Optional<Project> project = ((Resource)getFile()).getRelatedProject();
@@ -107,10 +154,16 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
             }
 
             try {
-                client.reconcile(project.get().getLocation().toString(), JavaUtil.resolveFQN(getFile()),
+                client.reconcile(project.get().getLocation().toString(), JavaUtil.resolveFQN(getFile()), createReconcileRequest(),
                                  new JavaReconcileClient.ReconcileCallback() {
                                      @Override
                                      public void onReconcile(ReconcileResult result) {
+                                         if (result != null && result.isResyncRequired()) {
+                                             // server doesn't have the content the changes are based on
+                                             synchronizedVersion = NOT_SYNCHRONIZED;
+                                             parse();
+                                             return;
+                                         }
                                          if (resolvingProjectStateHolder != null && resolvingProjectStateHolder.getState() == IN_PROGRESS) {
                                              disableReconciler(localizationConstant.codeAssistErrorMessageResolvingProject());
                                              return;
@@ -133,6 +186,26 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
 
     }
 
+    /**
+     * Creates the request with the document changes made since the previous request,
+     * or with the full document content if the server doesn't have the content the changes are based on.
+     */
+    private ReconcileRequest createReconcileRequest() {
+        final ReconcileRequest request = dtoFactory.createDto(ReconcileRequest.class);
+        final String content = document.getContents();
+        if (synchronizedVersion == NOT_SYNCHRONIZED) {
+            request.setContent(content);
+        } else {
+            request.setBaseVersion(synchronizedVersion);
+            request.setBaseHash(synchronizedHash);
+            request.setChanges(new ArrayList<>(changes));
+        }
+        request.setVersion(version);
+        changes.clear();
+        synchronizedVersion = version;
+        synchronizedHash = content.hashCode();
+        return request;
+    }
 
     @Override
     public void reconcile(final Region partition) {
@@ -193,6 +266,20 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
         if (resolvingProjectStateHolder != null) {
             resolvingProjectStateHolder.removeResolvingProjectStateListener(this);
         }
+        if (documentChangeRegistration != null) {
+            documentChangeRegistration.removeHandler();
+            documentChangeRegistration = null;
+        }
+        if (getFile() instanceof Resource) {
+            final Optional<Project> project = ((Resource)getFile()).getRelatedProject();
+            if (project.isPresent()) {
+                try {
+                    client.closeWorkingCopy(project.get().getLocation().toString(), JavaUtil.resolveFQN(getFile()));
+                } catch (RuntimeException e) {
+                    Log.info(getClass(), e.getMessage());
+                }
+            }
+        }
     }
 
     @Override
@@ -17,13 +17,19 @@ import com.google.web.bindery.event.shared.HandlerRegistration;
 import org.eclipse.che.ide.api.editor.EditorInput;
 import org.eclipse.che.ide.api.editor.annotation.AnnotationModel;
 import org.eclipse.che.ide.api.editor.document.Document;
+import org.eclipse.che.ide.api.editor.document.DocumentEventBus;
+import org.eclipse.che.ide.api.editor.document.DocumentHandle;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeEvent;
 import org.eclipse.che.ide.api.editor.texteditor.TextEditorPresenter;
 import org.eclipse.che.ide.api.resources.Container;
 import org.eclipse.che.ide.api.resources.File;
 import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.JavaLocalizationConstant;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.project.ResolvingProjectStateHolder;
 import org.eclipse.che.ide.project.ResolvingProjectStateHolderRegistry;
@@ -43,11 +49,15 @@ import java.util.List;
 
 import static org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState.IN_PROGRESS;
 import static org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState.RESOLVED;
+import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -82,6 +92,14 @@ public class JavaReconcilerStrategyTest {
     private ResolvingProjectStateHolderRegistry resolvingProjectStateHolderRegistry;
     @Mock
     private JavaLocalizationConstant            localizationConstant;
+    @Mock
+    private DtoFactory                          dtoFactory;
+    @Mock
+    private Document                            document;
+    @Mock
+    private ReconcileRequest                    reconcileRequest;
+    @Mock
+    private Change                              change;
 
     @Captor
     private ArgumentCaptor<JavaReconcileClient.ReconcileCallback> reconcileCallbackCaptor;
@@ -115,7 +133,14 @@ public class JavaReconcilerStrategyTest {
         when(resolvingProjectStateHolderRegistry.getResolvingProjectStateHolder(anyString())).thenReturn(resolvingProjectStateHolder);
         when(localizationConstant.codeAssistErrorMessageResolvingProject()).thenReturn("error");
 
-        javaReconcilerStrategy.setDocument(mock(Document.class));
+        when(dtoFactory.createDto(ReconcileRequest.class)).thenReturn(reconcileRequest);
+        when(dtoFactory.createDto(Change.class)).thenReturn(change);
+        when(change.withOffset(anyInt())).thenReturn(change);
+        when(change.withLength(anyInt())).thenReturn(change);
+        when(change.withText(anyString())).thenReturn(change);
+        when(document.getContents()).thenReturn("content");
+
+        javaReconcilerStrategy.setDocument(document);
     }
 
     @Test
@@ -124,7 +149,7 @@ public class JavaReconcilerStrategyTest {
 
         javaReconcilerStrategy.parse();
 
-        verify(client).reconcile(anyString(), anyString(), reconcileCallbackCaptor.capture());
+        verify(client).reconcile(anyString(), anyString(), any(ReconcileRequest.class), reconcileCallbackCaptor.capture());
         JavaReconcileClient.ReconcileCallback reconcileCallback = reconcileCallbackCaptor.getValue();
         reconcileCallback.onReconcile(reconcileResult);
 
@@ -145,7 +170,7 @@ public class JavaReconcilerStrategyTest {
 
         javaReconcilerStrategy.parse();
 
-        verify(client).reconcile(anyString(), anyString(), reconcileCallbackCaptor.capture());
+        verify(client).reconcile(anyString(), anyString(), any(ReconcileRequest.class), reconcileCallbackCaptor.capture());
         JavaReconcileClient.ReconcileCallback reconcileCallback = reconcileCallbackCaptor.getValue();
         reconcileCallback.onReconcile(reconcileResult);
 
@@ -155,4 +180,43 @@ public class JavaReconcilerStrategyTest {
         verify(codeAssistProcessor, never()).disableCodeAssistant(anyString());
         verify(highlighter).reconcile(eq(positions));
     }
+
+    @Test
+    public void shouldSendDocumentChangesAfterFullContent() throws Exception {
+        DocumentHandle documentHandle = mock(DocumentHandle.class);
+        DocumentEventBus documentEventBus = new DocumentEventBus();
+        when(document.getDocumentHandle()).thenReturn(documentHandle);
+        when(documentHandle.getDocEventBus()).thenReturn(documentEventBus);
+        javaReconcilerStrategy.setDocument(document);
+
+        javaReconcilerStrategy.parse();
+        when(document.getContents()).thenReturn("changed content");
+        documentEventBus.fireEvent(new DocumentChangeEvent(documentHandle, 0, 8, "changed ", 0));
+        javaReconcilerStrategy.parse();
+
+        verify(reconcileRequest).setContent("content");
+        verify(reconcileRequest).setBaseVersion(0);
+        verify(reconcileRequest).setBaseHash("content".hashCode());
+        verify(reconcileRequest).setChanges(singletonList(change));
+        verify(reconcileRequest).setVersion(1);
+        verify(change).withOffset(0);
+        verify(change).withLength(0);
+        verify(change).withText("changed ");
+    }
+
+    @Test
+    public void shouldSendFullContentWhenResyncIsRequired() throws Exception {
+        when(resolvingProjectStateHolder.getState()).thenReturn(RESOLVED);
+        when(reconcileResult.isResyncRequired()).thenReturn(true);
+
+        javaReconcilerStrategy.parse();
+        verify(client).reconcile(anyString(), anyString(), any(ReconcileRequest.class), reconcileCallbackCaptor.capture());
+        reconcileCallbackCaptor.getValue().onReconcile(reconcileResult);
+
+        verify(client, times(2)).reconcile(anyString(), anyString(), any(ReconcileRequest.class), any(JavaReconcileClient.ReconcileCallback.class));
+        verify(reconcileRequest, times(2)).setContent("content");
+        verify(reconcileRequest, never()).setChanges(anyListOf(Change.class));
+        verify(reconcileResult, never()).getProblems();
+        verify(highlighter, never()).reconcile(anyListOf(HighlightedPosition.class));
+    }
 }
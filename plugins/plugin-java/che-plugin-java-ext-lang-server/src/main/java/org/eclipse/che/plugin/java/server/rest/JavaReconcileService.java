@@ -13,6 +13,7 @@ package org.eclipse.che.plugin.java.server.rest;
 
 import com.google.inject.Inject;
 
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
 import org.eclipse.jdt.core.IJavaProject;
@@ -20,7 +21,10 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
@@ -43,4 +47,40 @@ public class JavaReconcileService {
         IJavaProject javaProject = model.getJavaProject(projectPath);
         return reconciler.reconcile(javaProject, fqn);
     }
+
+    /**
+     * Updates the opened working copy of the class with the editor content and reconciles it.
+     * If the editor changes are not based on the working copy content, e.g. the working copy was
+     * evicted in the meantime, the result requires the editor to send its full content.
+     *
+     * @param projectPath
+     *         path to the project
+     * @param fqn
+     *         fully qualified name of the class
+     * @param request
+     *         full editor content or the changes made in the editor since the previous request
+     */
+    @POST
+    @Consumes("application/json")
+    @Produces("application/json")
+    public ReconcileResult reconcile(@QueryParam("projectpath") String projectPath,
+                                     @QueryParam("fqn") String fqn,
+                                     ReconcileRequest request) throws JavaModelException {
+        IJavaProject javaProject = model.getJavaProject(projectPath);
+        return reconciler.reconcile(javaProject, fqn, request);
+    }
+
+    /**
+     * Discards the opened working copy of the class, should be called when editor is closed.
+     *
+     * @param projectPath
+     *         path to the project
+     * @param fqn
+     *         fully qualified name of the class
+     */
+    @DELETE
+    public void close(@QueryParam("projectpath") String projectPath, @QueryParam("fqn") String fqn) {
+        IJavaProject javaProject = model.getJavaProject(projectPath);
+        reconciler.closeWorkingCopy(javaProject, fqn);
+    }
 }
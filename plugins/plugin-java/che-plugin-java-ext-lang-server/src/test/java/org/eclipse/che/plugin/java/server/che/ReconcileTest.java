@@ -11,10 +11,14 @@
 package org.eclipse.che.plugin.java.server.che;
 
 
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
 import org.eclipse.che.jdt.javaeditor.SemanticHighlightingReconciler;
+import org.eclipse.che.jdt.javaeditor.WorkingCopyManager;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IType;
@@ -33,6 +37,7 @@ import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.util.List;
 
+import static java.util.Collections.singletonList;
 import static org.fest.assertions.Assertions.assertThat;
 
 /**
@@ -58,7 +63,9 @@ public class ReconcileTest extends BaseTest {
 
     @Before
     public void init() throws Exception {
-        reconciler = new JavaReconciler(new SemanticHighlightingReconciler());
+        WorkingCopyManager workingCopyManager = new WorkingCopyManager();
+        workingCopyManager.start();
+        reconciler = new JavaReconciler(new SemanticHighlightingReconciler(), workingCopyManager);
         this.workingCopy = project.findType("p1.X").getCompilationUnit(); //.getWorkingCopy(this.wcOwner, null);
     }
 
@@ -81,6 +88,30 @@ public class ReconcileTest extends BaseTest {
 
     }
 
+    @Test
+    public void testReconcileWithEditorChanges() throws Exception {
+        String content = "package p1;\n" +
+                         "public class X {\n" +
+                         "}";
+        ReconcileResult reconcile = reconciler.reconcile(project, "p1.X", DtoFactory.newDto(ReconcileRequest.class)
+                                                                                   .withVersion(1)
+                                                                                   .withContent(content));
+        assertThat(reconcile.getProblems()).isEmpty();
+
+        Change change = DtoFactory.newDto(Change.class)
+                                  .withOffset("package p1;\npublic class X {\n".length())
+                                  .withLength(0)
+                                  .withText("  public void foo() {\n  }\n  public void foo() {\n  }\n");
+        reconcile = reconciler.reconcile(project, "p1.X", DtoFactory.newDto(ReconcileRequest.class)
+                                                              .withBaseVersion(1)
+                                                              .withBaseHash(content.hashCode())
+                                                              .withVersion(2)
+                                                              .withChanges(singletonList(change)));
+        assertThat(reconcile.isResyncRequired()).isFalse();
+        assertThat(reconcile.getProblems()).hasSize(2);
+        assertThat(reconcile.getProblems()).onProperty("message").containsSequence("Duplicate method foo() in type X");
+    }
+
     @Test
     public void testWarnings() throws Exception {
         project.setOption(JavaCore.COMPILER_PB_UNUSED_LOCAL, JavaCore.ERROR);
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.che;
+
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
+import org.eclipse.che.jdt.javaeditor.WorkingCopyManager;
+import org.eclipse.che.jdt.javaeditor.WorkingCopyManager.OpenedWorkingCopy;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests applying of the editor content to the working copies of {@link WorkingCopyManager}.
+ */
+public class WorkingCopyManagerTest {
+    private static final String FQN     = "p1.X";
+    private static final String CONTENT = "public class X {}";
+
+    private IJavaProject       javaProject;
+    private WorkingCopyManager workingCopyManager;
+
+    @Before
+    public void setUp() throws Exception {
+        javaProject = mock(IJavaProject.class);
+        IType type = mock(IType.class);
+        ICompilationUnit compilationUnit = mock(ICompilationUnit.class);
+        when(javaProject.getPath()).thenReturn(new Path("/test"));
+        when(javaProject.findType(FQN)).thenReturn(type);
+        when(type.getCompilationUnit()).thenReturn(compilationUnit);
+        // each opened working copy reads the file content into its own buffer
+        when(compilationUnit.getWorkingCopy(any(WorkingCopyOwner.class), any(IProgressMonitor.class))).thenAnswer(invocation -> {
+            ICompilationUnit workingCopy = mock(ICompilationUnit.class);
+            IBuffer buffer = createBuffer(CONTENT);
+            when(workingCopy.getBuffer()).thenReturn(buffer);
+            return workingCopy;
+        });
+        workingCopyManager = new WorkingCopyManager();
+    }
+
+    @Test
+    public void shouldApplyChangesBasedOnEditorContent() throws Exception {
+        OpenedWorkingCopy workingCopy = workingCopyManager.getWorkingCopy(javaProject, FQN);
+        String content = "public class Y {}";
+
+        assertThat(workingCopy.update(contentRequest(content, 1))).isTrue();
+        assertThat(workingCopy.update(changesRequest(content, 1, 2, change(13, 1, "Z")))).isTrue();
+        assertThat(workingCopy.update(changesRequest("public class Z {}", 2, 3, change(16, 0, " "), change(17, 0, " ")))).isTrue();
+
+        assertThat(contents(workingCopy)).isEqualTo("public class Z {  }");
+    }
+
+    @Test
+    public void shouldRequireResyncWhenEditorContentIsNotSentToWorkingCopy() throws Exception {
+        OpenedWorkingCopy workingCopy = workingCopyManager.getWorkingCopy(javaProject, FQN);
+
+        // working copy has the file content, but it isn't known whether the changes are based on it
+        assertThat(workingCopy.update(changesRequest(CONTENT, 1, 2, change(13, 1, "Y")))).isFalse();
+
+        assertThat(contents(workingCopy)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void shouldRequireResyncWhenBaseVersionDiffers() throws Exception {
+        OpenedWorkingCopy workingCopy = workingCopyManager.getWorkingCopy(javaProject, FQN);
+        workingCopy.update(contentRequest(CONTENT, 1));
+        workingCopy.update(changesRequest(CONTENT, 1, 2, change(13, 1, "Y")));
+
+        // changes of the lost or reordered request
+        assertThat(workingCopy.update(changesRequest(CONTENT, 1, 3, change(13, 1, "Z")))).isFalse();
+
+        assertThat(contents(workingCopy)).isEqualTo("public class Y {}");
+    }
+
+    @Test
+    public void shouldRequireResyncWhenBaseContentDiffers() throws Exception {
+        OpenedWorkingCopy workingCopy = workingCopyManager.getWorkingCopy(javaProject, FQN);
+        workingCopy.update(contentRequest(CONTENT, 1));
+
+        assertThat(workingCopy.update(changesRequest("public class Y {}", 1, 2, change(13, 1, "Z")))).isFalse();
+        // version is forgotten, so the following changes are not applied too
+        assertThat(workingCopy.update(changesRequest(CONTENT, 2, 3, change(13, 1, "Z")))).isFalse();
+
+        assertThat(contents(workingCopy)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void shouldRequireResyncWhenWorkingCopyIsReopened() throws Exception {
+        workingCopyManager.getWorkingCopy(javaProject, FQN).update(contentRequest(CONTENT, 1));
+
+        workingCopyManager.close(javaProject, FQN);
+        OpenedWorkingCopy reopened = workingCopyManager.getWorkingCopy(javaProject, FQN);
+
+        assertThat(reopened.update(changesRequest(CONTENT, 1, 2, change(13, 1, "Y")))).isFalse();
+        assertThat(reopened.update(contentRequest("public class Y {}", 2))).isTrue();
+        assertThat(contents(reopened)).isEqualTo("public class Y {}");
+    }
+
+    @Test
+    public void shouldNotApplyAnyChangeIfOneOfThemIsOutOfContentBounds() throws Exception {
+        OpenedWorkingCopy workingCopy = workingCopyManager.getWorkingCopy(javaProject, FQN);
+        workingCopy.update(contentRequest(CONTENT, 1));
+
+        try {
+            // the second change is out of bounds of the content after the first one is applied
+            workingCopy.update(changesRequest(CONTENT, 1, 2, change(0, 7, ""), change(CONTENT.length() - 7, 1, "")));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        assertThat(contents(workingCopy)).isEqualTo(CONTENT);
+    }
+
+    private static String contents(OpenedWorkingCopy workingCopy) throws Exception {
+        return workingCopy.getWorkingCopy().getBuffer().getContents();
+    }
+
+    private static ReconcileRequest contentRequest(String content, long version) {
+        return DtoFactory.newDto(ReconcileRequest.class)
+                         .withVersion(version)
+                         .withContent(content);
+    }
+
+    private static ReconcileRequest changesRequest(String baseContent, long baseVersion, long version, Change... changes) {
+        return DtoFactory.newDto(ReconcileRequest.class)
+                         .withBaseVersion(baseVersion)
+                         .withBaseHash(baseContent.hashCode())
+                         .withVersion(version)
+                         .withChanges(Arrays.asList(changes));
+    }
+
+    private static Change change(int offset, int length, String text) {
+        return DtoFactory.newDto(Change.class)
+                         .withOffset(offset)
+                         .withLength(length)
+                         .withText(text);
+    }
+
+    private static IBuffer createBuffer(String content) {
+        StringBuilder text = new StringBuilder(content);
+        IBuffer buffer = mock(IBuffer.class);
+        when(buffer.getContents()).thenAnswer(invocation -> text.toString());
+        when(buffer.getLength()).thenAnswer(invocation -> text.length());
+        doAnswer(invocation -> {
+            text.setLength(0);
+            text.append((String)invocation.getArguments()[0]);
+            return null;
+        }).when(buffer).setContents(anyString());
+        doAnswer(invocation -> {
+            int offset = (Integer)invocation.getArguments()[0];
+            int length = (Integer)invocation.getArguments()[1];
+            text.replace(offset, offset + length, (String)invocation.getArguments()[2]);
+            return null;
+        }).when(buffer).replace(anyInt(), anyInt(), anyString());
+        return buffer;
+    }
+}
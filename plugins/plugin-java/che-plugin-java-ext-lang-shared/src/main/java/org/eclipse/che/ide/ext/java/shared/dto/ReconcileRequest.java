@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * DTO represents the editor content sent to reconcile: either the full content
+ * or the changes made since the content of the previous request.
+ * <p>
+ * Changes are applied only if the working copy on the server has exactly the content
+ * they are based on, otherwise {@link ReconcileResult#isResyncRequired()} is set
+ * and the editor must send its full content.
+ */
+@DTO
+public interface ReconcileRequest {
+
+    /** Returns the version of the editor content after this request is applied. */
+    long getVersion();
+
+    void setVersion(long version);
+
+    ReconcileRequest withVersion(long version);
+
+    /** Returns the version of the editor content the changes are based on. */
+    long getBaseVersion();
+
+    void setBaseVersion(long baseVersion);
+
+    ReconcileRequest withBaseVersion(long baseVersion);
+
+    /** Returns {@link String#hashCode()} of the editor content the changes are based on. */
+    int getBaseHash();
+
+    void setBaseHash(int baseHash);
+
+    ReconcileRequest withBaseHash(int baseHash);
+
+    /** Returns text changes made in the editor since the base version, in the order they were made. */
+    List<Change> getChanges();
+
+    void setChanges(List<Change> changes);
+
+    ReconcileRequest withChanges(List<Change> changes);
+
+    /** Returns the full editor content, if it is set then changes are ignored and the content replaces the working copy content. */
+    String getContent();
+
+    void setContent(String content);
+
+    ReconcileRequest withContent(String content);
+}
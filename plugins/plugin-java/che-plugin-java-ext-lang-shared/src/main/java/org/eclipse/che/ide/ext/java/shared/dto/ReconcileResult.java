@@ -29,4 +29,12 @@ public interface ReconcileResult {
 
     void setHighlightedPositions(List<HighlightedPosition> positions);
 
+    /**
+     * Returns true if the changes of the {@link ReconcileRequest} were not applied, because the working copy
+     * has no content they are based on, so the editor must send its full content.
+     */
+    boolean isResyncRequired();
+
+    void setResyncRequired(boolean resyncRequired);
+
 }
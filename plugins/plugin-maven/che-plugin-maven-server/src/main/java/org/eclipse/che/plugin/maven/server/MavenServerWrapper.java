@@ -102,6 +102,11 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
         return perform(() -> getOrCreateWrappedObject().resolveProject(pom, activeProfiles, inactiveProfile));
     }
 
+    /** Resolves all the given projects with one call to the maven server, results are in the same order as poms. */
+    public List<MavenServerResult> resolveProjects(List<File> poms, List<String> activeProfiles, List<String> inactiveProfile) {
+        return perform(() -> getOrCreateWrappedObject().resolveProjects(poms, activeProfiles, inactiveProfile));
+    }
+
     public String getEffectivePom(File pom, List<String> activeProfiles, List<String> inactiveProfile) {
         return perform(() -> getOrCreateWrappedObject().getEffectivePom(pom, activeProfiles, inactiveProfile));
     }
@@ -23,6 +23,7 @@ import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.MavenResolutionCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 
@@ -66,6 +67,7 @@ public class MavenProjectManager {
     private final MavenTerminal         terminal;
     private final MavenProgressNotifier mavenNotifier;
     private final Provider<IWorkspace>  workspaceProvider;
+    private final MavenResolutionCache  resolutionCache;
 
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock                   readLock      = readWriteLock.readLock();
@@ -78,12 +80,14 @@ public class MavenProjectManager {
                                MavenServerManager serverManager,
                                MavenTerminal terminal,
                                MavenProgressNotifier mavenNotifier,
-                               EclipseWorkspaceProvider workspaceProvider) {
+                               EclipseWorkspaceProvider workspaceProvider,
+                               MavenResolutionCache resolutionCache) {
         this.wrapperManager = wrapperManager;
         this.serverManager = serverManager;
         this.terminal = terminal;
         this.mavenNotifier = mavenNotifier;
         this.workspaceProvider = workspaceProvider;
+        this.resolutionCache = resolutionCache;
         mavenWorkspaceCache = new MavenWorkspaceCache();
         keyToProjectMap = new HashMap<>();
         projectToMavenProjectMap = new HashMap<>();
@@ -127,6 +131,29 @@ public class MavenProjectManager {
 
     }
 
+    /**
+     * Resolves all the given projects with one call to the maven server instead of a call per project.
+     * Projects which didn't change since the last resolve are not resolved again.
+     */
+    public void resolveMavenProjects(List<MavenProject> mavenProjects) {
+        if (mavenProjects.isEmpty()) {
+            return;
+        }
+        MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
+        try {
+
+            mavenNotifier.setText("Resolving projects: " + mavenProjects.size());
+            MavenWorkspaceCache workspaceCache = copyWorkspaceCache();
+            mavenServer.customize(workspaceCache, terminal, mavenNotifier, false, true);
+            Map<MavenProject, MavenProjectModifications> modifications =
+                    MavenProject.resolve(mavenProjects, mavenServer, serverManager, resolutionCache, workspaceCache);
+            modifications.forEach(dispatcher::projectResolved);
+
+        } finally {
+            wrapperManager.release(mavenServer);
+        }
+    }
+
 
     public void update(List<IProject> projects, boolean recursive) {
         if (projects.isEmpty()) {
@@ -11,32 +11,40 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
-import org.eclipse.core.resources.IProject;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
+ * Resolves maven projects with one call to the maven server.
+ *
  * @author Evgen Vidolob
  */
 public class MavenProjectResolveTask implements MavenProjectTask {
 
-    private final MavenProject        mavenProject;
-    private final MavenProjectManager projectManager;
-    private final Runnable            afterTask;
+    private final List<MavenProject>     mavenProjects;
+    private final MavenProjectManager    projectManager;
+    private final Consumer<MavenProject> afterResolve;
 
-    public MavenProjectResolveTask(MavenProject mavenProject, MavenProjectManager projectManager, Runnable afterTask) {
-        this.mavenProject = mavenProject;
+    public MavenProjectResolveTask(List<MavenProject> mavenProjects, MavenProjectManager projectManager,
+                                   Consumer<MavenProject> afterResolve) {
+        this.mavenProjects = mavenProjects;
         this.projectManager = projectManager;
-        this.afterTask = afterTask;
+        this.afterResolve = afterResolve;
     }
 
     @Override
     public void perform() {
-        IProject project = mavenProject.getProject();
-        if (!project.exists()) {
+        List<MavenProject> existing = mavenProjects.stream()
+                                                   .filter(mavenProject -> mavenProject.getProject().exists())
+                                                   .collect(Collectors.toList());
+        if (existing.isEmpty()) {
             return;
         }
-        projectManager.resolveMavenProject(project, mavenProject);
-        if (afterTask != null) {
-            afterTask.run();
+        projectManager.resolveMavenProjects(existing);
+        if (afterResolve != null) {
+            existing.forEach(afterResolve);
         }
 
     }
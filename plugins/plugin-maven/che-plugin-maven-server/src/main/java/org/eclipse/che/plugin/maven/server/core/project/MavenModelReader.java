@@ -23,6 +23,7 @@ import org.eclipse.che.maven.data.MavenParent;
 import org.eclipse.che.maven.data.MavenProblemType;
 import org.eclipse.che.maven.data.MavenProjectProblem;
 import org.eclipse.che.maven.data.MavenResource;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
 import org.eclipse.che.maven.server.MavenProjectInfo;
 import org.eclipse.che.maven.server.MavenServerResult;
 import org.eclipse.che.plugin.maven.shared.MavenAttributes;
@@ -55,33 +56,69 @@ public class MavenModelReader {
                                                       List<String> inactiveProfiles, MavenServerManager serverManager) {
         try {
             MavenServerResult resolveProject = mavenServer.resolveProject(pom, activeProfiles, inactiveProfiles);
-            MavenProjectInfo projectInfo = resolveProject.getProjectInfo();
-            if (projectInfo != null) {
-                return new MavenModelReaderResult(projectInfo.getMavenModel(),
-                                                  projectInfo.getActiveProfiles(),
-                                                  Collections.emptyList(),
-                                                  resolveProject.getProblems(),
-                                                  resolveProject.getUnresolvedArtifacts());
-            } else {
-                MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
-                readMavenProject.getProblems().addAll(resolveProject.getProblems());
-                readMavenProject.getUnresolvedArtifacts().addAll(resolveProject.getUnresolvedArtifacts());
-                return readMavenProject;
-            }
+            return toReaderResult(pom, resolveProject, serverManager);
+        } catch (Throwable t) {
+            return toFailedResult(pom, t, serverManager);
+        }
+    }
 
+    /**
+     * Resolves all the given projects with one call to the maven server, projects which didn't change since
+     * the last resolve are taken from the resolution cache.
+     *
+     * @return results in the same order as the given poms
+     */
+    public List<MavenModelReaderResult> resolveMavenProjects(List<File> poms, MavenServerWrapper mavenServer,
+                                                             MavenResolutionCache resolutionCache, MavenWorkspaceCache workspaceCache,
+                                                             List<String> activeProfiles, List<String> inactiveProfiles,
+                                                             MavenServerManager serverManager) {
+        List<MavenServerResult> resolveProjects;
+        try {
+            resolveProjects = resolutionCache.resolveProjects(mavenServer, poms, activeProfiles, inactiveProfiles, workspaceCache);
         } catch (Throwable t) {
-            String message = t.getMessage();
-            LOG.info(message, t);
-            MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
-            if (message != null) {
-                readMavenProject.getProblems().add(MavenProjectProblem.newStructureProblem(pom.getPath(), message));
-            } else {
-                readMavenProject.getProblems().add(MavenProjectProblem.newSyntaxProblem(pom.getPath(), MavenProblemType.SYNTAX));
+            return poms.stream().map(pom -> toFailedResult(pom, t, serverManager)).collect(Collectors.toList());
+        }
+
+        List<MavenModelReaderResult> results = new ArrayList<>(poms.size());
+        for (int i = 0; i < poms.size(); i++) {
+            File pom = poms.get(i);
+            try {
+                results.add(toReaderResult(pom, resolveProjects.get(i), serverManager));
+            } catch (Throwable t) {
+                results.add(toFailedResult(pom, t, serverManager));
             }
+        }
+        return results;
+    }
+
+    private MavenModelReaderResult toReaderResult(File pom, MavenServerResult resolveProject, MavenServerManager serverManager) {
+        MavenProjectInfo projectInfo = resolveProject.getProjectInfo();
+        if (projectInfo != null) {
+            return new MavenModelReaderResult(projectInfo.getMavenModel(),
+                                              projectInfo.getActiveProfiles(),
+                                              Collections.emptyList(),
+                                              resolveProject.getProblems(),
+                                              resolveProject.getUnresolvedArtifacts());
+        } else {
+            MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
+            readMavenProject.getProblems().addAll(resolveProject.getProblems());
+            readMavenProject.getUnresolvedArtifacts().addAll(resolveProject.getUnresolvedArtifacts());
             return readMavenProject;
         }
     }
 
+    private MavenModelReaderResult toFailedResult(File pom, Throwable t, MavenServerManager serverManager) {
+        String message = t.getMessage();
+        LOG.info(message, t);
+        MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
+        if (message != null) {
+            readMavenProject.getProblems().add(MavenProjectProblem.newStructureProblem(pom.getPath(), message));
+        } else {
+            readMavenProject.getProblems().add(MavenProjectProblem.newSyntaxProblem(pom.getPath(), MavenProblemType.SYNTAX));
+        }
+        return readMavenProject;
+    }
+
     public MavenModelReaderResult readMavenProject(File pom, MavenServerManager serverManager) {
         Pair<ModelReadingResult, Pair<List<String>, List<String>>> readResult = readModel(pom);
         MavenModel model = readResult.first.model;
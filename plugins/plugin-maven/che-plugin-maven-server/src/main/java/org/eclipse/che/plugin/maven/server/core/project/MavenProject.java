@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server.core.project;
 
+import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.maven.data.MavenArtifact;
@@ -21,6 +22,7 @@ import org.eclipse.che.maven.data.MavenProblemType;
 import org.eclipse.che.maven.data.MavenProjectProblem;
 import org.eclipse.che.maven.data.MavenRemoteRepository;
 import org.eclipse.che.maven.data.MavenResource;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
@@ -32,6 +34,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -166,6 +169,42 @@ public class MavenProject {
         return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
     }
 
+    /**
+     * Invoke maven to build models of all the given projects with one call to the maven server.
+     * Projects with different profiles are resolved by separate calls.
+     * @param projects projects to resolve
+     * @param mavenServer the maven server
+     * @param resolutionCache cache of the results of the previous resolves
+     * @param workspaceCache maven projects of the workspace the maven server is customized with
+     * @return the modification types that applied to each project
+     */
+    public static Map<MavenProject, MavenProjectModifications> resolve(List<MavenProject> projects,
+                                                                       MavenServerWrapper mavenServer,
+                                                                       MavenServerManager serverManager,
+                                                                       MavenResolutionCache resolutionCache,
+                                                                       MavenWorkspaceCache workspaceCache) {
+        Map<Pair<List<String>, List<String>>, List<MavenProject>> byProfiles = new LinkedHashMap<>();
+        for (MavenProject project : projects) {
+            byProfiles.computeIfAbsent(Pair.of(project.info.activeProfiles, project.info.inactiveProfiles), key -> new ArrayList<>())
+                      .add(project);
+        }
+
+        MavenModelReader reader = new MavenModelReader();
+        Map<MavenProject, MavenProjectModifications> modifications = new LinkedHashMap<>();
+        for (Map.Entry<Pair<List<String>, List<String>>, List<MavenProject>> entry : byProfiles.entrySet()) {
+            List<MavenProject> group = entry.getValue();
+            List<File> poms = group.stream().map(MavenProject::getPomFile).collect(Collectors.toList());
+            List<MavenModelReaderResult> results =
+                    reader.resolveMavenProjects(poms, mavenServer, resolutionCache, workspaceCache,
+                                                entry.getKey().first, entry.getKey().second, serverManager);
+            for (int i = 0; i < group.size(); i++) {
+                MavenModelReaderResult result = results.get(i);
+                modifications.put(group.get(i), group.get(i).setModel(result, result.getProblems().isEmpty(), false));
+            }
+        }
+        return modifications;
+    }
+
     public MavenProjectModifications read(MavenServerManager manager) {
         return read(project, manager);
     }
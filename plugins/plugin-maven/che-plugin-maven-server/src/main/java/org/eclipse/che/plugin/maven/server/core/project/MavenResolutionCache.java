@@ -0,0 +1,416 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.ide.maven.tools.Model;
+import org.eclipse.che.ide.maven.tools.Parent;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenConstants;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.server.MavenServerResult;
+import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Persistent cache of the maven server resolve results, so projects which didn't change since the last resolve,
+ * e.g. after agent restart, are not resolved again.
+ * <p>
+ * Result is stored per pom together with the fingerprint of the resolve inputs known before the resolve: content of the pom
+ * and its parents, active and inactive profiles and the maven settings. The resolved dependencies are stored as well,
+ * for those of them which are workspace projects the fingerprint of their poms and parents is kept, so only changes
+ * of the projects the resolved one actually depends on invalidate it. Cached result is used only when its fingerprint
+ * is the same, the dependencies which were workspace projects are still the same projects with unchanged poms, no other
+ * dependency became a workspace project, all the resolved dependency files are unchanged in the local repository and
+ * the result is younger than a day, so snapshot dependencies are updated as often as maven updates them by default.
+ * <p>
+ * Results with problems or unresolved artifacts are not cached as the next resolve may fix them without any pom changes.
+ */
+@Singleton
+public class MavenResolutionCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenResolutionCache.class);
+
+    /** Changed when format of the fingerprint or the cache entry is changed. */
+    private static final String FORMAT_VERSION = "2";
+    private static final long   MAX_AGE        = TimeUnit.DAYS.toMillis(1);
+    private static final int    MAX_PARENTS    = 32;
+    private static final String ENTRY_SUFFIX   = ".ser";
+
+    private final File directory;
+
+    @Inject
+    public MavenResolutionCache(@Named("che.maven.resolution_cache.dir") String directory) {
+        this(new File(directory));
+    }
+
+    public MavenResolutionCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Resolves with the maven server only the projects which don't have actual cached results.
+     *
+     * @return results in the same order as the given poms
+     */
+    public List<MavenServerResult> resolveProjects(MavenServerWrapper mavenServer,
+                                                   List<File> poms,
+                                                   List<String> activeProfiles,
+                                                   List<String> inactiveProfiles,
+                                                   MavenWorkspaceCache workspaceCache) {
+        MavenServerResult[] results = new MavenServerResult[poms.size()];
+        String[] fingerprints = new String[poms.size()];
+        List<File> toResolve = new ArrayList<>();
+        List<Integer> toResolveIndexes = new ArrayList<>();
+
+        // the same workspace poms are usually dependencies of many projects
+        Map<File, String> pomFingerprints = new HashMap<>();
+        String commonFingerprint = commonFingerprint(activeProfiles, inactiveProfiles);
+        for (int i = 0; i < poms.size(); i++) {
+            File pom = poms.get(i);
+            fingerprints[i] = commonFingerprint == null ? null : fingerprint(pom, commonFingerprint, workspaceCache, pomFingerprints);
+            results[i] = fingerprints[i] == null ? null : load(pom, fingerprints[i], workspaceCache, pomFingerprints);
+            if (results[i] == null) {
+                toResolve.add(pom);
+                toResolveIndexes.add(i);
+            }
+        }
+
+        if (!toResolve.isEmpty()) {
+            List<MavenServerResult> resolved = mavenServer.resolveProjects(toResolve, activeProfiles, inactiveProfiles);
+            for (int j = 0; j < toResolve.size(); j++) {
+                int i = toResolveIndexes.get(j);
+                results[i] = resolved.get(j);
+                if (fingerprints[i] != null) {
+                    store(poms.get(i), fingerprints[i], results[i], workspaceCache, pomFingerprints);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /** Returns fingerprint of the resolve inputs which are the same for all the projects, or null if it can't be calculated. */
+    private String commonFingerprint(List<String> activeProfiles, List<String> inactiveProfiles) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            update(digest, FORMAT_VERSION);
+            update(digest, "active:" + activeProfiles);
+            update(digest, "inactive:" + inactiveProfiles);
+            updateWithFile(digest, new File(System.getProperty("user.home"), ".m2/settings.xml"));
+            String mavenHome = System.getenv("M2_HOME");
+            if (mavenHome != null) {
+                updateWithFile(digest, new File(mavenHome, "conf/settings.xml"));
+            }
+            return toHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOG.warn("Can't calculate fingerprint of maven settings", e);
+            return null;
+        }
+    }
+
+    /** Returns fingerprint of the pom and its parents combined with common fingerprint, or null if it can't be calculated. */
+    private String fingerprint(File pom,
+                               String commonFingerprint,
+                               MavenWorkspaceCache workspaceCache,
+                               Map<File, String> pomFingerprints) {
+        String pomFingerprint = pomFingerprints.computeIfAbsent(pom, file -> pomFingerprint(file, workspaceCache));
+        if (pomFingerprint == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            update(digest, commonFingerprint);
+            update(digest, pom.getAbsolutePath());
+            update(digest, pomFingerprint);
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            LOG.warn(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /** Returns fingerprint of the content of the pom and its parents, or null if it can't be calculated. */
+    private String pomFingerprint(File pom, MavenWorkspaceCache workspaceCache) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            updateWithFile(digest, pom);
+
+            File current = pom;
+            for (int i = 0; i < MAX_PARENTS; i++) {
+                Parent parent = Model.readFrom(current).getParent();
+                if (parent == null) {
+                    break;
+                }
+                update(digest, parent.getGroupId() + ':' + parent.getArtifactId() + ':' + parent.getVersion());
+                current = findParentPom(current, parent, workspaceCache);
+                if (current == null) {
+                    // parent comes from the repository, it is identified by its coordinates
+                    break;
+                }
+                updateWithFile(digest, current);
+            }
+            return toHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOG.debug("Can't calculate fingerprint of " + pom, e);
+            return null;
+        }
+    }
+
+    /** Returns pom of the workspace project which is the given dependency, or null if dependency isn't a workspace project. */
+    private static File findWorkspacePom(MavenWorkspaceCache workspaceCache, String key) {
+        if (workspaceCache == null) {
+            return null;
+        }
+        String[] coordinates = key.split(":", 3);
+        MavenWorkspaceCache.Entry entry = workspaceCache.findEntry(new MavenKey(coordinates[0], coordinates[1], coordinates[2]));
+        return entry == null ? null : entry.getFile(MavenConstants.POM_EXTENSION);
+    }
+
+    private File findParentPom(File pom, Parent parent, MavenWorkspaceCache workspaceCache) {
+        File relative = new File(pom.getParentFile(), parent.getRelativePath());
+        if (relative.isDirectory()) {
+            relative = new File(relative, MavenConstants.POM_FILE_NAME);
+        }
+        if (relative.isFile()) {
+            return relative;
+        }
+        if (workspaceCache != null) {
+            MavenWorkspaceCache.Entry entry =
+                    workspaceCache.findEntry(new MavenKey(parent.getGroupId(), parent.getArtifactId(), parent.getVersion()));
+            if (entry != null && entry.getFile(MavenConstants.POM_EXTENSION).isFile()) {
+                return entry.getFile(MavenConstants.POM_EXTENSION);
+            }
+        }
+        return null;
+    }
+
+    private MavenServerResult load(File pom,
+                                   String fingerprint,
+                                   MavenWorkspaceCache workspaceCache,
+                                   Map<File, String> pomFingerprints) {
+        File entryFile = getEntryFile(pom);
+        if (entryFile == null || !entryFile.isFile()) {
+            return null;
+        }
+        Entry entry;
+        try (InputStream in = Files.newInputStream(entryFile.toPath());
+             ObjectInputStream objectIn = new ObjectInputStream(in)) {
+            entry = (Entry)objectIn.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOG.debug("Can't read cached resolve result of " + pom, e);
+            entryFile.delete();
+            return null;
+        }
+
+        if (!entry.fingerprint.equals(fingerprint) || System.currentTimeMillis() - entry.created > MAX_AGE) {
+            return null;
+        }
+        for (FileStamp stamp : entry.files) {
+            if (!stamp.isActual()) {
+                return null;
+            }
+        }
+        for (String dependency : entry.dependencies) {
+            if (findWorkspacePom(workspaceCache, dependency) != null) {
+                // dependency which was resolved from the repository is a workspace project now
+                return null;
+            }
+        }
+        for (WorkspaceDependency dependency : entry.workspaceDependencies) {
+            File dependencyPom = findWorkspacePom(workspaceCache, dependency.key);
+            if (dependencyPom == null
+                || !dependencyPom.getAbsolutePath().equals(dependency.pom)
+                || !dependency.fingerprint.equals(pomFingerprints.computeIfAbsent(dependencyPom,
+                                                                                     file -> pomFingerprint(file, workspaceCache)))) {
+                return null;
+            }
+        }
+        return entry.result;
+    }
+
+    private void store(File pom,
+                       String fingerprint,
+                       MavenServerResult result,
+                       MavenWorkspaceCache workspaceCache,
+                       Map<File, String> pomFingerprints) {
+        File entryFile = getEntryFile(pom);
+        if (entryFile == null) {
+            return;
+        }
+        if (result.getProjectInfo() == null || result.getProjectInfo().getMavenModel() == null
+            || !result.getProblems().isEmpty() || !result.getUnresolvedArtifacts().isEmpty()) {
+            entryFile.delete();
+            return;
+        }
+
+        List<FileStamp> files = new ArrayList<>();
+        List<String> dependencies = new ArrayList<>();
+        List<WorkspaceDependency> workspaceDependencies = new ArrayList<>();
+        for (MavenArtifact artifact : result.getProjectInfo().getMavenModel().getDependencies()) {
+            String key = artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getBaseVersion();
+            File dependencyPom = findWorkspacePom(workspaceCache, key);
+            if (dependencyPom != null) {
+                String dependencyFingerprint = pomFingerprints.computeIfAbsent(dependencyPom,
+                                                                               file -> pomFingerprint(file, workspaceCache));
+                if (dependencyFingerprint == null) {
+                    entryFile.delete();
+                    return;
+                }
+                workspaceDependencies.add(new WorkspaceDependency(key, dependencyPom.getAbsolutePath(), dependencyFingerprint));
+            } else {
+                dependencies.add(key);
+                if (artifact.isResolved() && artifact.getFile() != null) {
+                    files.add(new FileStamp(artifact.getFile()));
+                }
+            }
+        }
+
+        Path tmp = null;
+        try {
+            Files.createDirectories(directory.toPath());
+            tmp = Files.createTempFile(directory.toPath(), entryFile.getName(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp);
+                 ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+                objectOut.writeObject(new Entry(fingerprint,
+                                                System.currentTimeMillis(),
+                                                files,
+                                                dependencies,
+                                                workspaceDependencies,
+                                                result));
+            }
+            Files.move(tmp, entryFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Can't cache resolve result of " + pom, e);
+        } finally {
+            if (tmp != null) {
+                tmp.toFile().delete();
+            }
+        }
+    }
+
+    private File getEntryFile(File pom) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            update(digest, pom.getAbsolutePath());
+            return new File(directory, toHex(digest.digest()) + ENTRY_SUFFIX);
+        } catch (NoSuchAlgorithmException e) {
+            LOG.warn(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)0);
+    }
+
+    private static void updateWithFile(MessageDigest digest, File file) throws IOException {
+        if (file != null && file.isFile()) {
+            digest.update(Files.readAllBytes(file.toPath()));
+        }
+        digest.update((byte)0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static class Entry implements Serializable {
+        private static final long serialVersionUID = 2L;
+
+        final String                    fingerprint;
+        final long                      created;
+        final List<FileStamp>           files;
+        /** Dependencies resolved from the repository, as groupId:artifactId:baseVersion. */
+        final List<String>              dependencies;
+        final List<WorkspaceDependency> workspaceDependencies;
+        final MavenServerResult         result;
+
+        Entry(String fingerprint,
+              long created,
+              List<FileStamp> files,
+              List<String> dependencies,
+              List<WorkspaceDependency> workspaceDependencies,
+              MavenServerResult result) {
+            this.fingerprint = fingerprint;
+            this.created = created;
+            this.files = files;
+            this.dependencies = dependencies;
+            this.workspaceDependencies = workspaceDependencies;
+            this.result = result;
+        }
+    }
+
+    /** Dependency which is a workspace project, with the fingerprint of its pom and parents at the moment of the resolve. */
+    private static class WorkspaceDependency implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String key;
+        final String pom;
+        final String fingerprint;
+
+        WorkspaceDependency(String key, String pom, String fingerprint) {
+            this.key = key;
+            this.pom = pom;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /** Length and modification time of the resolved dependency file, e.g. jar in the local repository. */
+    private static class FileStamp implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String path;
+        final long   length;
+        final long   lastModified;
+
+        FileStamp(File file) {
+            this.path = file.getAbsolutePath();
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        boolean isActual() {
+            File file = new File(path);
+            return file.exists() && file.length() == length && file.lastModified() == lastModified;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+/**
+ * Matches files of the {@link MavenResolutionCache} when its directory is kept inside of the workspace projects root,
+ * so they are not indexed for search and their changes are not reported by file watcher.
+ * Relative paths are resolved against the projects root.
+ */
+@Singleton
+public class ResolutionCacheDirectoryMatcher implements PathMatcher {
+    private final Path root;
+    private final Path cacheDirectory;
+
+    @Inject
+    public ResolutionCacheDirectoryMatcher(@Named("che.user.workspaces.storage") String root,
+                                           @Named("che.maven.resolution_cache.dir") String cacheDirectory) {
+        this.root = new File(root).toPath().toAbsolutePath().normalize();
+        this.cacheDirectory = new File(cacheDirectory).toPath().toAbsolutePath().normalize();
+    }
+
+    @Override
+    public boolean matches(Path path) {
+        return (path.isAbsolute() ? path : root.resolve(path)).normalize().startsWith(cacheDirectory);
+    }
+}
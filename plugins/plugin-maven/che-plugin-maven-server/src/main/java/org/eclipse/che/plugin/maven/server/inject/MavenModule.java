@@ -13,6 +13,7 @@ package org.eclipse.che.plugin.maven.server.inject;
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
 
 import org.eclipse.che.api.project.server.handlers.ProjectHandler;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
@@ -23,6 +24,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProgressNotifier;
 import org.eclipse.che.plugin.maven.server.core.MavenServerNotifier;
 import org.eclipse.che.plugin.maven.server.core.MavenTerminalImpl;
 import org.eclipse.che.plugin.maven.server.core.project.PomChangeListener;
+import org.eclipse.che.plugin.maven.server.core.project.ResolutionCacheDirectoryMatcher;
 import org.eclipse.che.plugin.maven.server.projecttype.MavenProjectType;
 import org.eclipse.che.plugin.maven.server.projecttype.MavenValueProviderFactory;
 import org.eclipse.che.plugin.maven.server.projecttype.handler.ArchetypeGenerationStrategy;
@@ -31,6 +33,8 @@ import org.eclipse.che.plugin.maven.server.projecttype.handler.MavenProjectGener
 import org.eclipse.che.plugin.maven.server.projecttype.handler.MavenProjectInitHandler;
 import org.eclipse.che.plugin.maven.server.rest.MavenServerService;
 
+import java.nio.file.PathMatcher;
+
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
 
 /** @author Artem Zatsarynnyi */
@@ -58,5 +62,9 @@ public class MavenModule extends AbstractModule {
         bind(MavenServerService.class);
 
         bind(PomChangeListener.class).asEagerSingleton();
+
+        Multibinder<PathMatcher> excludeMatcherMultibinder =
+                newSetBinder(binder(), PathMatcher.class, Names.named("vfs.index_filter_matcher"));
+        excludeMatcherMultibinder.addBinding().to(ResolutionCacheDirectoryMatcher.class);
     }
 }
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.server.MavenProjectInfo;
+import org.eclipse.che.maven.server.MavenServerResult;
+import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+public class MavenResolutionCacheTest {
+    private File                 root;
+    private File                 pom;
+    private MavenServerWrapper   mavenServer;
+    private MavenResolutionCache resolutionCache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("resolution-cache").toFile();
+        pom = new File(root, "project/pom.xml");
+        pom.getParentFile().mkdirs();
+        writePom("1.0");
+        mavenServer = mock(MavenServerWrapper.class);
+        when(mavenServer.resolveProjects(anyListOf(File.class), eq(Collections.emptyList()), eq(Collections.emptyList())))
+                .thenAnswer(invocation -> {
+                    List<MavenServerResult> results = new ArrayList<>();
+                    for (Object ignored : (List)invocation.getArguments()[0]) {
+                        results.add(new MavenServerResult(new MavenProjectInfo(new MavenModel(), null, Collections.emptyList()),
+                                                          new ArrayList<>(),
+                                                          new HashSet<>()));
+                    }
+                    return results;
+                });
+        resolutionCache = new MavenResolutionCache(new File(root, "cache"));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldNotResolveUnchangedProjectAgain() throws Exception {
+        resolve(resolutionCache);
+        List<MavenServerResult> results = resolve(new MavenResolutionCache(new File(root, "cache")));
+
+        assertEquals(results.size(), 1);
+        verify(mavenServer, times(1)).resolveProjects(Collections.singletonList(pom), Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Test
+    public void shouldResolveProjectAgainWhenPomIsChanged() throws Exception {
+        resolve(resolutionCache);
+        writePom("2.0");
+        resolve(resolutionCache);
+
+        verify(mavenServer, times(2)).resolveProjects(Collections.singletonList(pom), Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Test
+    public void shouldNotCacheResultWithProblems() throws Exception {
+        when(mavenServer.resolveProjects(anyListOf(File.class), eq(Collections.emptyList()), eq(Collections.emptyList())))
+                .thenReturn(Collections.singletonList(
+                        new MavenServerResult(null,
+                                              Collections.singletonList(MavenProjectProblem.newStructureProblem(pom.getPath(), "error")),
+                                              new HashSet<>())));
+
+        resolve(resolutionCache);
+        resolve(resolutionCache);
+
+        verify(mavenServer, times(2)).resolveProjects(Collections.singletonList(pom), Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Test
+    public void shouldResolveProjectAgainOnlyWhenWorkspaceProjectItDependsOnIsChanged() throws Exception {
+        File dependencyPom = writePom(new File(root, "dependency/pom.xml"), "dependency", "1.0");
+        File unrelatedPom = writePom(new File(root, "unrelated/pom.xml"), "unrelated", "1.0");
+        MavenWorkspaceCache workspaceCache = new MavenWorkspaceCache();
+        workspaceCache.put(new MavenKey("test", "dependency", "1.0"), dependencyPom);
+        workspaceCache.put(new MavenKey("test", "unrelated", "1.0"), unrelatedPom);
+        MavenModel model = new MavenModel();
+        model.setDependencies(Collections.singletonList(new MavenArtifact("test", "dependency", "1.0", "1.0", "jar", null, "compile",
+                                                                          false, "jar", dependencyPom, null, true, false)));
+        when(mavenServer.resolveProjects(anyListOf(File.class), eq(Collections.emptyList()), eq(Collections.emptyList())))
+                .thenAnswer(invocation -> Collections.singletonList(
+                        new MavenServerResult(new MavenProjectInfo(model, null, Collections.emptyList()),
+                                              new ArrayList<>(),
+                                              new HashSet<>())));
+
+        resolve(resolutionCache, workspaceCache);
+        writePom(unrelatedPom, "unrelated", "2.0");
+        resolve(resolutionCache, workspaceCache);
+
+        verify(mavenServer, times(1)).resolveProjects(Collections.singletonList(pom), Collections.emptyList(), Collections.emptyList());
+
+        writePom(dependencyPom, "dependency", "2.0");
+        resolve(resolutionCache, workspaceCache);
+
+        verify(mavenServer, times(2)).resolveProjects(Collections.singletonList(pom), Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Test
+    public void shouldResolveProjectAgainWhenItsDependencyBecomesWorkspaceProject() throws Exception {
+        File dependencyJar = new File(root, "repository/dependency-1.0.jar");
+        dependencyJar.getParentFile().mkdirs();
+        Files.write(dependencyJar.toPath(), new byte[] {0});
+        MavenModel model = new MavenModel();
+        model.setDependencies(Collections.singletonList(new MavenArtifact("test", "dependency", "1.0", "1.0", "jar", null, "compile",
+                                                                          false, "jar", dependencyJar, null, true, false)));
+        when(mavenServer.resolveProjects(anyListOf(File.class), eq(Collections.emptyList()), eq(Collections.emptyList())))
+                .thenAnswer(invocation -> Collections.singletonList(
+                        new MavenServerResult(new MavenProjectInfo(model, null, Collections.emptyList()),
+                                              new ArrayList<>(),
+                                              new HashSet<>())));
+        MavenWorkspaceCache workspaceCache = new MavenWorkspaceCache();
+
+        resolve(resolutionCache, workspaceCache);
+        workspaceCache.put(new MavenKey("test", "dependency", "1.0"),
+                           writePom(new File(root, "dependency/pom.xml"), "dependency", "1.0"));
+        resolve(resolutionCache, workspaceCache);
+
+        verify(mavenServer, times(2)).resolveProjects(Collections.singletonList(pom), Collections.emptyList(), Collections.emptyList());
+    }
+
+    private List<MavenServerResult> resolve(MavenResolutionCache cache, MavenWorkspaceCache workspaceCache) {
+        return cache.resolveProjects(mavenServer,
+                                     Collections.singletonList(pom),
+                                     Collections.emptyList(),
+                                     Collections.emptyList(),
+                                     workspaceCache);
+    }
+
+    private List<MavenServerResult> resolve(MavenResolutionCache cache) {
+        return resolve(cache, new MavenWorkspaceCache());
+    }
+
+    private void writePom(String version) throws Exception {
+        writePom(pom, "test", version);
+    }
+
+    private static File writePom(File pom, String artifactId, String version) throws Exception {
+        pom.getParentFile().mkdirs();
+        Files.write(pom.toPath(), ("<project><modelVersion>4.0.0</modelVersion>" +
+                                   "<groupId>test</groupId><artifactId>" + artifactId + "</artifactId><version>" + version + "</version>" +
+                                   "</project>").getBytes(StandardCharsets.UTF_8));
+        return pom;
+    }
+}
@@ -207,6 +207,20 @@ public class MavenServerManagerTest {
         mavenModel.getDependencies().forEach(mavenArtifact -> System.out.println(mavenArtifact.getFile().getAbsolutePath()));
     }
 
+    @Test
+    public void testResolveSeveralProjectsWithOneCall() throws Exception {
+        List<File> poms = Arrays.asList(new File(MavenServerManagerTest.class.getResource("/multimoduleProject/pom.xml").getFile()),
+                                        new File(MavenServerManagerTest.class.getResource("/BadProject/pom.xml").getFile()),
+                                        new File(MavenServerManagerTest.class.getResource("/multimoduleProject/subModule/pom.xml").getFile()));
+
+        List<MavenServerResult> results = mavenServer.resolveProjects(poms, Collections.emptyList(), Collections.emptyList());
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getProjectInfo().getMavenModel().getPackaging()).isEqualTo("pom");
+        assertEquals(1, results.get(1).getProblems().size());
+        assertThat(results.get(2).getProjectInfo().getMavenModel().getDependencies()).isNotEmpty().hasSize(3);
+    }
+
     private static class MyMavenTerminal implements MavenTerminal, Serializable {
         @Override
         public void print(int level, String message, Throwable throwable) throws RemoteException {
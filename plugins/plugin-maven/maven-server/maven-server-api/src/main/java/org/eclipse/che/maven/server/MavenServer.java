@@ -34,6 +34,14 @@ public interface MavenServer extends Remote {
 
     MavenServerResult resolveProject(File pom, List<String> activeProfiles, List<String> inactiveProfiles) throws RemoteException;
 
+    /**
+     * Resolves all the given projects in one maven session.
+     *
+     * @return results in the same order as the given poms
+     */
+    List<MavenServerResult> resolveProjects(List<File> poms, List<String> activeProfiles, List<String> inactiveProfiles)
+            throws RemoteException;
+
     MavenArtifact resolveArtifact(MavenArtifactKey artifactKey, List<MavenRemoteRepository> remoteRepositories) throws RemoteException;
 
     void reset() throws RemoteException;
@@ -91,9 +91,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
@@ -378,6 +380,17 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
         return createResult(pom, mavenResult);
     }
 
+    @Override
+    public List<MavenServerResult> resolveProjects(List<File> poms, List<String> activeProfiles, List<String> inactiveProfiles)
+            throws RemoteException {
+        List<MavenResult> mavenResults = internalResolveProjects(poms, activeProfiles, inactiveProfiles);
+        List<MavenServerResult> results = new ArrayList<>(mavenResults.size());
+        for (int i = 0; i < poms.size(); i++) {
+            results.add(createResult(poms.get(i), mavenResults.get(i)));
+        }
+        return results;
+    }
+
     @Override
     public MavenArtifact resolveArtifact(MavenArtifactKey artifactKey, List<MavenRemoteRepository> repositories) throws RemoteException {
         Artifact artifact = getMavenComponent(ArtifactFactory.class)
@@ -539,36 +552,8 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
                 List<ProjectBuildingResult> resultList =
                         builder.build(Collections.singletonList(pom), false, request.getProjectBuildingRequest());
                 ProjectBuildingResult result = resultList.get(0);
-                MavenProject mavenProject = result.getProject();
-                RepositorySystemSession repositorySession = getMavenComponent(LegacySupport.class).getRepositorySession();
-                if (repositorySession instanceof DefaultRepositorySystemSession) {
-                    ((DefaultRepositorySystemSession)repositorySession)
-                            .setTransferListener(new ArtifactTransferListener(mavenProgressNotifier));
-                    if (workspaceCache != null) {
-                        ((DefaultRepositorySystemSession)repositorySession).setWorkspaceReader(new MavenWorkspaceReader(workspaceCache));
-                    }
-
-                }
-
-                List<Exception> exceptions = new ArrayList<>();
-
-                loadExtensions(mavenProject, exceptions);
-                mavenProject.setDependencyArtifacts(mavenProject.createArtifacts(getMavenComponent(ArtifactFactory.class), null, null));
-
-                ArtifactResolutionRequest resolutionRequest = new ArtifactResolutionRequest();
-                resolutionRequest.setArtifact(mavenProject.getArtifact());
-                resolutionRequest.setRemoteRepositories(mavenProject.getRemoteArtifactRepositories());
-                resolutionRequest.setArtifactDependencies(mavenProject.getDependencyArtifacts());
-                resolutionRequest.setListeners(dependencyTreeResolutionListeners);
-                resolutionRequest.setLocalRepository(localRepo);
-                resolutionRequest.setManagedVersionMap(mavenProject.getManagedVersionMap());
-                resolutionRequest.setResolveTransitively(true);
-                resolutionRequest.setResolveRoot(false);
-                ArtifactResolver resolver = getMavenComponent(ArtifactResolver.class);
-                ArtifactResolutionResult resolve = resolver.resolve(resolutionRequest);
-                mavenProject.setArtifacts(resolve.getArtifacts());
-                reference.set(new MavenResult(mavenProject, exceptions));
-
+                setupRepositorySession();
+                reference.set(resolveDependencies(result.getProject(), dependencyTreeResolutionListeners));
             } catch (Exception e) {
                 reference.set(new MavenResult(null, null, Collections.singletonList(e)));
             }
@@ -576,6 +561,86 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
         return reference.get();
     }
 
+    /**
+     * Builds all the given projects with one project builder call and resolves their dependencies in the same maven session,
+     * so parent poms, imported boms and artifacts descriptors shared by the projects are read once.
+     * Projects which can't be built are resolved one by one, to get the same problems as a single project resolve reports.
+     */
+    private List<MavenResult> internalResolveProjects(List<File> poms, List<String> activeProfiles, List<String> inactiveProfiles) {
+        MavenExecutionRequest request = newMavenRequest(null, activeProfiles, inactiveProfiles, Collections.emptyList());
+        request.setUpdateSnapshots(updateSnapshots);
+
+        Map<File, MavenResult> results = new HashMap<>();
+        runMavenRequest(request, () -> {
+            List<ProjectBuildingResult> buildingResults;
+            try {
+                buildingResults = getMavenComponent(ProjectBuilder.class).build(poms, false, request.getProjectBuildingRequest());
+            } catch (ProjectBuildingException e) {
+                buildingResults = e.getResults();
+            }
+            if (buildingResults == null) {
+                return;
+            }
+            setupRepositorySession();
+            for (ProjectBuildingResult buildingResult : buildingResults) {
+                if (buildingResult.getProject() == null) {
+                    continue;
+                }
+                List<ResolutionListener> listeners = Collections.singletonList(new DependencyTreeResolutionListener(terminalLogger));
+                try {
+                    results.put(buildingResult.getPomFile(), resolveDependencies(buildingResult.getProject(), listeners));
+                } catch (Exception e) {
+                    results.put(buildingResult.getPomFile(), new MavenResult(null, null, Collections.singletonList(e)));
+                }
+            }
+        });
+
+        List<MavenResult> mavenResults = new ArrayList<>(poms.size());
+        for (File pom : poms) {
+            MavenResult mavenResult = results.get(pom);
+            if (mavenResult == null) {
+                List<ResolutionListener> listeners = Collections.singletonList(new DependencyTreeResolutionListener(terminalLogger));
+                mavenResult = internalResolveProject(pom, activeProfiles, inactiveProfiles, listeners);
+            }
+            mavenResults.add(mavenResult);
+        }
+        return mavenResults;
+    }
+
+    private void setupRepositorySession() {
+        RepositorySystemSession repositorySession = getMavenComponent(LegacySupport.class).getRepositorySession();
+        if (repositorySession instanceof DefaultRepositorySystemSession) {
+            ((DefaultRepositorySystemSession)repositorySession)
+                    .setTransferListener(new ArtifactTransferListener(mavenProgressNotifier));
+            if (workspaceCache != null) {
+                ((DefaultRepositorySystemSession)repositorySession).setWorkspaceReader(new MavenWorkspaceReader(workspaceCache));
+            }
+
+        }
+    }
+
+    private MavenResult resolveDependencies(MavenProject mavenProject, List<ResolutionListener> dependencyTreeResolutionListeners)
+            throws Exception {
+        List<Exception> exceptions = new ArrayList<>();
+
+        loadExtensions(mavenProject, exceptions);
+        mavenProject.setDependencyArtifacts(mavenProject.createArtifacts(getMavenComponent(ArtifactFactory.class), null, null));
+
+        ArtifactResolutionRequest resolutionRequest = new ArtifactResolutionRequest();
+        resolutionRequest.setArtifact(mavenProject.getArtifact());
+        resolutionRequest.setRemoteRepositories(mavenProject.getRemoteArtifactRepositories());
+        resolutionRequest.setArtifactDependencies(mavenProject.getDependencyArtifacts());
+        resolutionRequest.setListeners(dependencyTreeResolutionListeners);
+        resolutionRequest.setLocalRepository(localRepo);
+        resolutionRequest.setManagedVersionMap(mavenProject.getManagedVersionMap());
+        resolutionRequest.setResolveTransitively(true);
+        resolutionRequest.setResolveRoot(false);
+        ArtifactResolver resolver = getMavenComponent(ArtifactResolver.class);
+        ArtifactResolutionResult resolve = resolver.resolve(resolutionRequest);
+        mavenProject.setArtifacts(resolve.getArtifacts());
+        return new MavenResult(mavenProject, exceptions);
+    }
+
     private void loadExtensions(MavenProject project, List<Exception> exceptions) {
         ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
         Collection<AbstractMavenLifecycleParticipant> participants = getLifecycleParticipants(Collections.singletonList(project));
@@ -30,6 +30,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
@@ -173,6 +174,17 @@ public class SshMachineInstance extends AbstractInstance {
         throw new MachineException("File content reading is not implemented in ssh machine implementation");
     }
 
+    /**
+     * Not implemented.<p/>
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream readFileBytes(String filePath, long offset, long length, boolean follow) throws MachineException {
+        // todo
+        throw new MachineException("File content reading is not implemented in ssh machine implementation");
+    }
+
     /**
      * Not implemented.<p/>
      *
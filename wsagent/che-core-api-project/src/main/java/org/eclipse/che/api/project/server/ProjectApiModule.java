@@ -36,6 +36,7 @@ import org.eclipse.che.api.vfs.impl.file.event.PomModifiedHiEventDetector;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
+import org.eclipse.che.api.vfs.search.impl.IndexDirectoryMatcher;
 
 import java.nio.file.PathMatcher;
 
@@ -74,6 +75,7 @@ public class ProjectApiModule extends AbstractModule {
         Multibinder<PathMatcher> pathMatcherMultibinder = Multibinder.newSetBinder(binder(),
                                                                                    PathMatcher.class,
                                                                                    Names.named("vfs.index_filter_matcher"));
+        pathMatcherMultibinder.addBinding().to(IndexDirectoryMatcher.class);
 
         bind(SearcherProvider.class).to(FSLuceneSearcherProvider.class);
         bind(VirtualFileSystemProvider.class).to(LocalVirtualFileSystemProvider.class);
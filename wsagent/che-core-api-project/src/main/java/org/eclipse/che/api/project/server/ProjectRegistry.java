@@ -379,7 +379,8 @@ public class ProjectRegistry {
     private void initUnconfiguredFolders() {
         try {
             for (FolderEntry folder : root.getChildFolders()) {
-                if (!projects.containsKey(folder.getVirtualFile().getPath().toString())) {
+                // hidden folders keep workspace data, e.g. search index, and are not projects
+                if (!folder.getName().startsWith(".") && !projects.containsKey(folder.getVirtualFile().getPath().toString())) {
                     putProject(null, folder, true, false);
                 }
             }
@@ -10,6 +10,14 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
@@ -30,15 +38,26 @@ package org.eclipse.che.api.vfs;
  *         }
  *      }
  * </pre>
+ * Locks are hierarchical, lock of the folder conflicts with locks of its descendants. Locks held by one thread never
+ * conflict with each other, so the same thread may lock the same path or related paths recursively.
+ * <p/>
+ * State of each locked path is kept in a hash table, every path has own wait queue. Thread that locks some path leaves
+ * "intent" mark on each ancestor of the path, that allows to check for conflicts with descendants without scanning all held
+ * locks. That's a trade-off: cost of acquire and release doesn't depend on number of held locks, but it is proportional to
+ * depth of the path since entries of all the ancestors are updated. Entries of common ancestors, e.g. the root, are updated
+ * by every thread, such updates are serialized by lock of the hash table bin, but they only change counters and nobody
+ * waits while holding the bin lock. Release and rollback of failed acquire wake up only threads that wait for the changed
+ * paths.
  *
  * @author andrew00x>
  */
 public final class PathLockFactory {
-    private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+    private static final int  MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+    private static final long NO_TIMEOUT          = -1;
+
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int                       maxThreads;
+    private final ConcurrentMap<Path, Node> table;
 
     /**
      * @param maxThreads
@@ -50,145 +69,322 @@ public final class PathLockFactory {
             throw new IllegalArgumentException();
         }
         this.maxThreads = maxThreads;
+        this.table = new ConcurrentHashMap<>();
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
-        return new PathLock(path, exclusive ? maxThreads : 1);
+        return new PathLock(path, exclusive);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
-            }
+    private void acquire(PathLock lock, long timeoutMilliseconds) {
+        final long endTime = timeoutMilliseconds == NO_TIMEOUT ? Long.MAX_VALUE : System.currentTimeMillis() + timeoutMilliseconds;
+        final Thread current = Thread.currentThread();
+        if (tryReenter(lock.path, current)) {
+            return;
         }
+        Path blocker;
+        while ((blocker = tryAcquire(lock, current)) != null) {
+            awaitChanges(blocker, lock, current, endTime);
+        }
+    }
+
+    /** Increments counter of recursive locks if current thread already holds lock for the path. */
+    private boolean tryReenter(Path path, Thread current) {
+        final boolean[] reentered = new boolean[1];
+        table.computeIfPresent(path, (p, node) -> {
+            final Hold hold = node.holders.get(current);
+            if (hold != null) {
+                if (hold.count > MAX_RECURSIVE_LOCKS) {
+                    throw new Error("Max number of recursive locks exceeded. ");
+                }
+                ++hold.count;
+                reentered[0] = true;
+            }
+            return node;
+        });
+        return reentered[0];
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    /**
+     * Tries to lock the path. Leaves intent marks on all ancestors starting from the root and then locks the path itself.
+     * If any step fails all marks that are already done are rolled back.
+     *
+     * @return {@code null} if lock acquired or path that prevents us to get lock
+     */
+    private Path tryAcquire(PathLock lock, Thread current) {
+        final List<Path> ancestors = lock.ancestors;
+        int marked = 0;
+        Path blocker = null;
+        for (Path ancestor : ancestors) {
+            if (!addIntent(ancestor, lock.exclusive, current)) {
+                blocker = ancestor;
+                break;
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+            marked++;
+        }
+        if (blocker == null) {
+            if (addHold(lock.path, lock.exclusive, current)) {
+                return null;
             }
-            waitTime = endTime - now;
+            blocker = lock.path;
+        }
+        for (int i = marked - 1; i >= 0; i--) {
+            removeIntent(ancestors.get(i), lock.exclusive, current);
         }
+        return blocker;
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
+    private boolean addIntent(Path ancestor, boolean exclusive, Thread current) {
+        final boolean[] added = new boolean[1];
+        table.compute(ancestor, (p, node) -> {
+            if (node == null) {
+                node = new Node();
+            }
+            if (!node.blocksDescendant(exclusive, current)) {
+                node.intents.computeIfAbsent(current, t -> new Intent()).add(exclusive);
+                added[0] = true;
+            }
+            return node.isUnused() ? null : node;
+        });
+        return added[0];
+    }
+
+    private void removeIntent(Path ancestor, boolean exclusive, Thread current) {
+        final Node[] changed = new Node[1];
+        table.computeIfPresent(ancestor, (p, node) -> {
+            final Intent intent = node.intents.get(current);
+            if (intent != null) {
+                intent.remove(exclusive);
+                if (intent.isEmpty()) {
+                    node.intents.remove(current);
+                }
+                node.version++;
+                if (node.waiters > 0) {
+                    changed[0] = node;
+                }
+            }
+            return node.isUnused() ? null : node;
+        });
+        wakeUpWaiters(changed[0]);
+    }
+
+    private boolean addHold(Path path, boolean exclusive, Thread current) {
+        final boolean[] added = new boolean[1];
+        table.compute(path, (p, node) -> {
+            if (node == null) {
+                node = new Node();
+            }
+            if (!node.blocks(exclusive, current)) {
+                node.holders.put(current, new Hold(exclusive));
+                node.exclusive = exclusive;
+                added[0] = true;
+            }
+            return node.isUnused() ? null : node;
+        });
+        return added[0];
+    }
+
+    /**
+     * Waits until state of the path that prevents us to get lock is changed. Returns immediately if path is not blocking us
+     * anymore.
+     */
+    private void awaitChanges(Path blocker, PathLock lock, Thread current, long endTime) {
+        final boolean isAncestor = !blocker.equals(lock.path);
+        final int[] version = new int[1];
+        final Node[] waitFor = new Node[1];
+        table.computeIfPresent(blocker, (p, node) -> {
+            if (isAncestor ? node.blocksDescendant(lock.exclusive, current) : node.blocks(lock.exclusive, current)) {
+                node.waiters++;
+                version[0] = node.version;
+                waitFor[0] = node;
             }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
+            return node;
+        });
+        final Node node = waitFor[0];
+        if (node == null) {
+            return;
+        }
+        try {
+            synchronized (node) {
+                while (node.version == version[0]) {
+                    final long waitTime = endTime - System.currentTimeMillis();
+                    if (waitTime <= 0) {
+                        throw new RuntimeException(String.format("Get lock timeout for '%s'. ", lock.path));
                     }
-                } else {
-                    --prev.threadDeep;
+                    node.wait(waitTime);
                 }
             }
-            node = node.prev;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            table.computeIfPresent(blocker, (p, n) -> {
+                n.waiters--;
+                return n.isUnused() ? null : n;
+            });
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
     }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
+    private void release(PathLock lock) {
         final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
-                    }
-                    ++node.threadDeep;
-                    return true;
-                }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
+        final Hold[] released = new Hold[1];
+        final Node[] changed = new Node[1];
+        table.computeIfPresent(lock.path, (p, node) -> {
+            final Hold hold = node.holders.get(current);
+            if (hold != null && --hold.count == 0) {
+                // If last recursive lock.
+                node.holders.remove(current);
+                if (node.holders.isEmpty()) {
+                    node.exclusive = false;
                 }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
+                node.version++;
+                released[0] = hold;
+                if (node.waiters > 0) {
+                    changed[0] = node;
                 }
             }
-            node = node.prev;
+            return node.isUnused() ? null : node;
+        });
+        wakeUpWaiters(changed[0]);
+        if (released[0] != null) {
+            for (int i = lock.ancestors.size() - 1; i >= 0; i--) {
+                removeIntent(lock.ancestors.get(i), released[0].exclusive, current);
+            }
+        }
+    }
+
+    private void wakeUpWaiters(Node node) {
+        if (node != null) {
+            synchronized (node) {
+                node.notifyAll();
+            }
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
     }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+    public void checkClean() {
+        assert table.isEmpty();
+    }
+
+    private static List<Path> ancestorsOf(Path path) {
+        final List<Path> ancestors = new ArrayList<>(path.length());
+        for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+            ancestors.add(parent);
+        }
+        Collections.reverse(ancestors);
+        return ancestors;
     }
 
    /* =============================================== */
 
-    private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+    /** State of single path. Guarded by lock of the hash table bin, only {@code version} may be read without it. */
+    private final class Node {
+        /** Threads that hold lock for the path. */
+        final Map<Thread, Hold>   holders = new HashMap<>(4);
+        /** Threads that hold locks for descendants of the path. */
+        final Map<Thread, Intent> intents = new HashMap<>(4);
+        boolean exclusive;
+        int     waiters;
+        /** Incremented each time when lock or intent is released, threads that wait for this path watch it. */
+        volatile int version;
 
-        Node(Path path, int permits, Node prev) {
-            this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+        /** Checks whether this path is locked by other thread in the way that prevents to lock it. */
+        boolean blocks(boolean exclusive, Thread current) {
+            if (exclusive) {
+                // Any lock of this path or its descendants.
+                return !holders.isEmpty() || hasIntentsOfOtherThreads(current, false);
+            }
+            return this.exclusive || holders.size() >= maxThreads || hasIntentsOfOtherThreads(current, true);
+        }
+
+        /** Checks whether this path is locked by other thread in the way that prevents to lock any of its descendants. */
+        boolean blocksDescendant(boolean exclusive, Thread current) {
+            for (Map.Entry<Thread, Hold> entry : holders.entrySet()) {
+                // Own lock of the path doesn't matter, but other threads still may hold it.
+                if (entry.getKey() != current && (exclusive || entry.getValue().exclusive)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean hasIntentsOfOtherThreads(Thread current, boolean exclusiveOnly) {
+            for (Map.Entry<Thread, Intent> entry : intents.entrySet()) {
+                if (entry.getKey() != current && (!exclusiveOnly || entry.getValue().exclusive > 0)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isUnused() {
+            return holders.isEmpty() && intents.isEmpty() && waiters == 0;
         }
 
         @Override
         public String toString() {
             return "Node{" +
-                   "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
+                   "holders=" + holders +
+                   ", intents=" + intents +
+                   ", exclusive=" + exclusive +
+                   ", waiters=" + waiters +
                    '}';
         }
     }
 
+    private static class Hold {
+        final boolean exclusive;
+        int count;
+
+        Hold(boolean exclusive) {
+            this.exclusive = exclusive;
+            count = 1;
+        }
+
+        @Override
+        public String toString() {
+            return "Hold{exclusive=" + exclusive + ", count=" + count + '}';
+        }
+    }
+
+    private static class Intent {
+        int shared;
+        int exclusive;
+
+        void add(boolean exclusive) {
+            if (exclusive) {
+                ++this.exclusive;
+            } else {
+                ++shared;
+            }
+        }
+
+        void remove(boolean exclusive) {
+            if (exclusive) {
+                --this.exclusive;
+            } else {
+                --shared;
+            }
+        }
+
+        boolean isEmpty() {
+            return shared == 0 && exclusive == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Intent{shared=" + shared + ", exclusive=" + exclusive + '}';
+        }
+    }
+
     public final class PathLock {
-        private final Path path;
-        private final int  permits;
+        private final Path       path;
+        private final boolean    exclusive;
+        private final List<Path> ancestors;
 
-        private PathLock(Path path, int permits) {
+        private PathLock(Path path, boolean exclusive) {
             this.path = path;
-            this.permits = permits;
+            this.exclusive = exclusive;
+            this.ancestors = ancestorsOf(path);
         }
 
         /**
@@ -197,7 +393,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(this, NO_TIMEOUT);
             return this;
         }
 
@@ -212,18 +408,18 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            PathLockFactory.this.acquire(this, timeoutMilliseconds);
             return this;
         }
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(this);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
         public boolean isExclusive() {
-            return permits == PathLockFactory.this.maxThreads;
+            return exclusive;
         }
     }
 }
@@ -24,6 +24,8 @@ import java.io.File;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+
 @Singleton
 public class DefaultFileWatcherNotificationHandler implements FileWatcherNotificationHandler {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultFileWatcherNotificationHandler.class);
@@ -39,6 +41,9 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
 
     @Override
     public void handleFileWatcherEvent(FileWatcherEventType eventType, File watchRoot, String subPath, boolean isDir) {
+        if (eventType != MODIFIED) {
+            invalidateChildrenCache(subPath);
+        }
         VirtualFile virtualFile = convertToVirtualFile(watchRoot, subPath, isDir);
         if (virtualFile == null) {
             return;
@@ -68,6 +73,15 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         return fileWatcherNotificationListeners.remove(fileWatcherNotificationListener);
     }
 
+    private void invalidateChildrenCache(String subPath) {
+        try {
+            LocalVirtualFileSystem virtualFileSystem = (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
+            virtualFileSystem.invalidateChildrenCache(Path.of(subPath));
+        } catch (ServerException e) {
+            LOG.warn(e.getMessage());
+        }
+    }
+
     private VirtualFile convertToVirtualFile(File root, String subPath, boolean isDir) {
         try {
             LocalVirtualFileSystem virtualFileSystem = (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
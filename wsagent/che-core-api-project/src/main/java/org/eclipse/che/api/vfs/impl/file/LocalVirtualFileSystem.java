@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -81,6 +82,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
+    private static final int  CHILDREN_CACHE_MAX_SIZE    = 4096;
 
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
@@ -120,6 +122,17 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    /** Names of children of a folder together with modification time of the folder at the moment they were read. */
+    private static class ChildrenListing {
+        final long     lastModified;
+        final String[] names;
+
+        ChildrenListing(long lastModified, String[] names) {
+            this.lastModified = lastModified;
+            this.names = names;
+        }
+    }
+
     private final File                                            ioRoot;
     private final ArchiverFactory                                 archiverFactory;
     private final SearcherProvider                                searcherProvider;
@@ -136,6 +149,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final Cache<Path, ChildrenListing> childrenCache;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -162,6 +177,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        childrenCache = CacheBuilder.newBuilder()
+                                    .concurrencyLevel(16)
+                                    .maximumSize(CHILDREN_CACHE_MAX_SIZE)
+                                    .expireAfterAccess(10, MINUTES)
+                                    .build();
     }
 
     @Override
@@ -177,6 +198,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        childrenCache.invalidateAll();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -243,27 +265,49 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
+            final List<VirtualFile> children = doGetChildren(parent, getChildrenNames(parent), filter);
             Collections.sort(children);
             return children;
         }
         return emptyList();
     }
 
-
-    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-            throws ServerException {
-        if (ioFileFilter == null) {
-            ioFileFilter = IoUtil.ANY_FILTER;
+    /**
+     * Gets names of children of folder. Listing is cached and reused while modification time of folder stays the same, cached
+     * listing is also dropped by mutators of this file system and by file watcher events, see {@link #invalidateChildrenCache(Path)}.
+     */
+    private String[] getChildrenNames(LocalVirtualFile parent) throws ServerException {
+        final File parentIoFile = parent.toIoFile();
+        // Read modification time before listing. If folder is updated while we list it we get a different time next time.
+        final long lastModified = parentIoFile.lastModified();
+        final ChildrenListing cached = childrenCache.getIfPresent(parent.getPath());
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached.names;
         }
 
-        final String[] names = parent.toIoFile().list(ioFileFilter);
+        final String[] names = parentIoFile.list(DOT_VFS_DIR_FILTER);
         if (names == null) {
             throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
         }
+        childrenCache.put(parent.getPath(), new ChildrenListing(lastModified, names));
+        return names;
+    }
 
+    /**
+     * Drops cached listings of item with specified path and its parent. Listings of descendants aren't looked up,
+     * that would scan the whole cache, they are dropped by modification time check when folder is recreated
+     * and aren't read while it doesn't exist.
+     */
+    void invalidateChildrenCache(Path path) {
+        childrenCache.invalidate(path);
+        if (!path.isRoot()) {
+            childrenCache.invalidate(path.getParent());
+        }
+    }
+
+    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, String[] names, VirtualFileFilter vfsFilter) {
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
         }
@@ -297,6 +341,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 if (!newIoFile.createNewFile()) {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
+                invalidateChildrenCache(newPath);
             } catch (IOException e) {
                 String errorMessage = String.format("Unable create new file '%s'", newPath);
                 LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -330,6 +375,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
             }
+            // Name may contain few segments, all intermediate folders are created as well.
+            invalidateChildrenCache(parent.getPath().newPath(Path.of(name).element(0)));
 
             return new LocalVirtualFile(newIoFile, newPath, this);
         } else {
@@ -359,6 +406,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             doCopy(source, destination);
+            invalidateChildrenCache(destination.getPath());
 
             addInSearcher(destination);
 
@@ -421,6 +469,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             doCopy(virtualFile, newVirtualFile);
+            invalidateChildrenCache(newPath);
             addInSearcher(newVirtualFile);
 
             final Path path = virtualFile.getPath();
@@ -477,6 +526,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
 
         doCopy(virtualFile, newVirtualFile);
+        invalidateChildrenCache(newPath);
         addInSearcher(newVirtualFile);
 
         final Path path = virtualFile.getPath();
@@ -589,7 +639,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
 
-        if (!deleteRecursive(virtualFile.toIoFile())) {
+        final boolean deleted = deleteRecursive(virtualFile.toIoFile());
+        invalidateChildrenCache(virtualFile.getPath());
+        if (!deleted) {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
         }
@@ -614,7 +666,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            try {
+                extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            } finally {
+                invalidateChildrenCache(parent.getPath());
+            }
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
@@ -639,7 +695,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            try {
+                extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            } finally {
+                invalidateChildrenCache(parent.getPath());
+            }
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
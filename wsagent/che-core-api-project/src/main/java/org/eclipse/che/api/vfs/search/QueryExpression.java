@@ -12,11 +12,14 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  name;
+    private String  path;
+    private String  text;
+    private int     skipCount;
+    private int     maxItems;
+    private int     maxOccurrencesPerFile;
+    private String  cursor;
+    private boolean waitForPendingChanges;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -58,6 +61,20 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Opaque position in search result from which retrieving of items should be started. Cursor is provided by query expression for
+     * retrieving next page, see {@link SearchResult#getNextPageQueryExpression()}. If cursor is set searcher continues from the last
+     * item of previous page and doesn't need to skip {@link #getSkipCount()} items.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public QueryExpression setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
     /** Max number of results that might be returned after executing this query. */
     public int getMaxItems() {
         return maxItems;
@@ -68,6 +85,32 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Max number of occurrences of text that might be returned for each file in search result. Occurrences are not collected if this
+     * parameter is not positive.
+     */
+    public int getMaxOccurrencesPerFile() {
+        return maxOccurrencesPerFile;
+    }
+
+    public QueryExpression setMaxOccurrencesPerFile(int maxOccurrencesPerFile) {
+        this.maxOccurrencesPerFile = maxOccurrencesPerFile;
+        return this;
+    }
+
+    /**
+     * If {@code true} searcher waits until all changes of index made before search are visible, otherwise recent changes might be
+     * not visible in search result.
+     */
+    public boolean isWaitForPendingChanges() {
+        return waitForPendingChanges;
+    }
+
+    public QueryExpression setWaitForPendingChanges(boolean waitForPendingChanges) {
+        this.waitForPendingChanges = waitForPendingChanges;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
@@ -75,7 +118,10 @@ public class QueryExpression {
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
+               ", cursor='" + cursor + '\'' +
                ", maxItems=" + maxItems +
+               ", maxOccurrencesPerFile=" + maxOccurrencesPerFile +
+               ", waitForPendingChanges=" + waitForPendingChanges +
                '}';
     }
 }
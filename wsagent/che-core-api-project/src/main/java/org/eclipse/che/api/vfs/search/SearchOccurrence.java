@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Place in file where text of {@link QueryExpression} is found.
+ */
+public class SearchOccurrence {
+    private final int    lineNumber;
+    private final int    startOffset;
+    private final int    endOffset;
+    private final String lineContent;
+
+    public SearchOccurrence(int lineNumber, int startOffset, int endOffset, String lineContent) {
+        this.lineNumber = lineNumber;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.lineContent = lineContent;
+    }
+
+    /** Number of line, starting from 1, that contains found text. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Offset of the first character of found text from the beginning of file. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Offset of the character next to the last character of found text from the beginning of file. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /** Content of line that contains found text. Long lines are cut around found text. */
+    public String getLineContent() {
+        return lineContent;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOccurrence{" +
+               "lineNumber=" + lineNumber +
+               ", startOffset=" + startOffset +
+               ", endOffset=" + endOffset +
+               ", lineContent='" + lineContent + '\'' +
+               '}';
+    }
+}
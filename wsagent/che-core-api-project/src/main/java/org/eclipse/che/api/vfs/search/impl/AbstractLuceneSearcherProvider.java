@@ -11,6 +11,7 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
@@ -21,6 +22,7 @@ import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -34,6 +36,9 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
     private final ExecutorService executor;
 
+    private volatile long indexRefreshIntervalMillis = -1;
+    private volatile int  indexParallelism           = -1;
+
     /**
      * @param fileIndexFilters
      *         set filter for files that should not be indexed
@@ -46,6 +51,26 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
                                                              .build());
     }
 
+    /**
+     * @param indexRefreshIntervalMillis
+     *         max time in milliseconds that changes of index may stay invisible for search
+     * @see LuceneSearcher#setRefreshInterval(long)
+     */
+    @Inject(optional = true)
+    public void setIndexRefreshInterval(@Named("vfs.index.refresh_interval_ms") long indexRefreshIntervalMillis) {
+        this.indexRefreshIntervalMillis = indexRefreshIntervalMillis;
+    }
+
+    /**
+     * @param indexParallelism
+     *         number of threads that index files, non-positive value means number of available processors
+     * @see LuceneSearcher#setIndexParallelism(int)
+     */
+    @Inject(optional = true)
+    public void setIndexParallelism(@Named("vfs.index.parallelism") int indexParallelism) {
+        this.indexParallelism = indexParallelism;
+    }
+
     private VirtualFileFilter mergeFileIndexFilters(Set<VirtualFileFilter> fileIndexFilters) {
         final VirtualFileFilter filter;
         if (fileIndexFilters.isEmpty()) {
@@ -63,6 +88,12 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         Searcher cachedSearcher = searcherReference.get();
         if (cachedSearcher == null && create) {
             LuceneSearcher searcher = createLuceneSearcher(() -> searcherReference.set(null));
+            if (indexRefreshIntervalMillis >= 0) {
+                searcher.setRefreshInterval(indexRefreshIntervalMillis);
+            }
+            if (indexParallelism > 0) {
+                searcher.setIndexParallelism(indexParallelism);
+            }
             if (searcherReference.compareAndSet(null, searcher)) {
                 searcher.initAsynchronously(executor, virtualFileSystem);
             }
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+/**
+ * Matches files of the search index when index directory is kept inside of the workspace projects root,
+ * so the index is not indexed itself and its changes are not reported by file watcher.
+ * Relative paths are resolved against the projects root.
+ */
+@Singleton
+public class IndexDirectoryMatcher implements PathMatcher {
+    private final Path root;
+    private final Path indexRootDirectory;
+
+    @Inject
+    public IndexDirectoryMatcher(@Named("che.user.workspaces.storage") File root,
+                                 @Named("vfs.local.fs_index_root_dir") File indexRootDirectory) {
+        this.root = root.toPath().toAbsolutePath().normalize();
+        this.indexRootDirectory = indexRootDirectory.toPath().toAbsolutePath().normalize();
+    }
+
+    @Override
+    public boolean matches(Path path) {
+        return (path.isAbsolute() ? path : root.resolve(path)).normalize().startsWith(indexRootDirectory);
+    }
+}
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
@@ -17,11 +19,21 @@ import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexFormatTooNewException;
+import org.apache.lucene.index.IndexFormatTooOldException;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
@@ -35,15 +47,18 @@ import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -54,22 +69,71 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.emptyList;
 
 /**
  * Lucene based searcher.
+ * <p/>
+ * Changes of index made with methods {@link #add(VirtualFile)}, {@link #update(VirtualFile)} and {@link #delete(String, boolean)}
+ * are queued and applied asynchronously. Changes for the same path are coalesced, so only the latest one is applied. Queued
+ * changes are written to index in batches and become visible for search not later than after refresh interval, see
+ * {@link #setRefreshInterval(long)}. Use {@link QueryExpression#setWaitForPendingChanges(boolean)} to make search wait until all
+ * changes queued before the search are visible.
  *
  * @author andrew00x
  */
 public abstract class LuceneSearcher implements Searcher {
     private static final Logger LOG = LoggerFactory.getLogger(LuceneSearcher.class);
 
-    private static final int RESULT_LIMIT = 1000;
+    private static final int  RESULT_LIMIT                        = 1000;
+    private static final int  INDEX_BATCH_SIZE                    = 1000;
+    private static final long DEFAULT_REFRESH_INTERVAL_MILLIS     = 1000;
+    private static final long WAIT_FOR_PENDING_CHANGES_TIMEOUT_MS = 30000;
+    private static final long INDEXING_LAG_WARNING_MS             = 10000;
+
+    /** Version of document structure, documents of other versions are reindexed on start. */
+    private static final int         INDEX_FORMAT       = 2;
+    private static final Set<String> FINGERPRINT_FIELDS = newHashSet("path", "modified", "length", "format");
+    /** Text is indexed with positions and offsets of terms, so found occurrences are taken from index. */
+    private static final FieldType   TEXT_FIELD_TYPE    = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        TEXT_FIELD_TYPE.setStoreTermVectors(true);
+        TEXT_FIELD_TYPE.setStoreTermVectorPositions(true);
+        TEXT_FIELD_TYPE.setStoreTermVectorOffsets(true);
+        TEXT_FIELD_TYPE.freeze();
+    }
+
+    /** Change of index that is waiting in queue. */
+    private interface IndexChange {
+        void apply() throws ServerException;
+    }
+
+    /** Change of index together with generation in which it was queued. */
+    private static class QueuedChange {
+        final IndexChange change;
+        final long        generation;
+
+        QueuedChange(IndexChange change, long generation) {
+            this.change = change;
+            this.generation = generation;
+        }
+    }
 
     private final List<VirtualFileFilter>                      indexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
@@ -78,6 +142,27 @@ public abstract class LuceneSearcher implements Searcher {
     private SearcherManager searcherManager;
 
     private boolean closed = true;
+    /** Root of tree that is indexed, used for reading content of files found by search. */
+    private volatile VirtualFile root;
+
+    /*
+     * Queue of pending changes of index. Key is path of item, the latest change for the same path replaces previous one.
+     * Changes are ordered by generation.
+     */
+    private final Map<String, QueuedChange> pendingChanges = new LinkedHashMap<>();
+    private final Object                    indexQueueLock = new Object();
+    /** Incremented on each queued change. */
+    private       long                      enqueuedGeneration;
+    /** All changes queued up to this generation are written to index and visible for search. */
+    private       long                      appliedGeneration;
+    /** Time when index became out of date, zero if there is no pending changes. */
+    private       long                      outOfDateSince;
+    private       int                       pendingChangesWaiters;
+    private       boolean                   indexerStopped;
+    private       ExecutorService           indexer;
+    private volatile Thread                 indexerThread;
+    private volatile long                   refreshIntervalMillis = DEFAULT_REFRESH_INTERVAL_MILLIS;
+    private volatile int                    indexParallelism      = Runtime.getRuntime().availableProcessors();
 
     protected LuceneSearcher() {
         this(new MediaTypeFilter(), null);
@@ -108,6 +193,46 @@ public abstract class LuceneSearcher implements Searcher {
         return indexFilters.remove(indexFilter);
     }
 
+    /**
+     * Sets max time that queued changes of index may stay invisible for search.
+     *
+     * @param refreshIntervalMillis
+     *         refresh interval in milliseconds
+     */
+    public void setRefreshInterval(long refreshIntervalMillis) {
+        if (refreshIntervalMillis < 0) {
+            throw new IllegalArgumentException("Refresh interval may not be negative");
+        }
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * Sets number of threads that are used for initial indexing of the file system.
+     *
+     * @param indexParallelism
+     *         number of threads
+     */
+    public void setIndexParallelism(int indexParallelism) {
+        if (indexParallelism < 1) {
+            throw new IllegalArgumentException("Index parallelism must be positive");
+        }
+        this.indexParallelism = indexParallelism;
+    }
+
+    /** Returns number of queued changes that are not written to index yet. */
+    public int getPendingChangesCount() {
+        synchronized (indexQueueLock) {
+            return pendingChanges.size();
+        }
+    }
+
+    /** Returns time in milliseconds since index became out of date or zero if all queued changes are visible for search. */
+    public long getIndexingLagMillis() {
+        synchronized (indexQueueLock) {
+            return outOfDateSince == 0 ? 0 : System.currentTimeMillis() - outOfDateSince;
+        }
+    }
+
     protected Analyzer makeAnalyzer() {
         return new Analyzer() {
             @Override
@@ -122,7 +247,8 @@ public abstract class LuceneSearcher implements Searcher {
     protected abstract Directory makeDirectory() throws ServerException;
 
     /**
-     * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
+     * Init lucene index. Scan all files in virtual filesystem and add to index. If index directory is not clean only files that are
+     * not indexed yet or modified since they were indexed are added to index and documents of removed files are deleted from index.
      *
      * @param virtualFileSystem
      *         VirtualFileSystem
@@ -131,15 +257,17 @@ public abstract class LuceneSearcher implements Searcher {
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        root = virtualFileSystem.getRoot();
+        indexTree(root);
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
+        root = virtualFileSystem.getRoot();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.indexTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -147,17 +275,109 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /** Brings index in line with content of the tree. */
+    private void indexTree(VirtualFile root) throws ServerException {
+        final Map<String, IndexedFile> indexedFiles = readIndexedFiles();
+        if (indexedFiles.isEmpty()) {
+            new ParallelTreeIndexer(this, indexParallelism).index(root);
+            return;
+        }
+
+        final long start = System.currentTimeMillis();
+        final int total = indexedFiles.size();
+        final int reindexed = new ParallelTreeIndexer(this, indexParallelism).index(root, file -> {
+            final IndexedFile indexedFile = indexedFiles.remove(file.getPath().toString());
+            return indexedFile == null || !indexedFile.isUpToDate(file);
+        });
+        // Files that are left in map are not found in the tree. Check them again, they might be added while we walked the tree.
+        int deleted = 0;
+        for (String path : indexedFiles.keySet()) {
+            if (root.getChild(Path.of(path)) == null) {
+                doDelete(path, true);
+                deleted++;
+            }
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        LOG.debug("Updated index of {}, {} documents found in index, {} files reindexed, {} documents deleted, time: {} ms",
+                  root.getPath(), total, reindexed, deleted, (System.currentTimeMillis() - start));
+    }
+
+    /** Reads path, modification time and length of all files in index. */
+    private Map<String, IndexedFile> readIndexedFiles() throws ServerException {
+        final Map<String, IndexedFile> indexedFiles = new ConcurrentHashMap<>();
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            final IndexReader reader = luceneSearcher.getIndexReader();
+            final Bits liveDocs = MultiFields.getLiveDocs(reader);
+            for (int i = 0, maxDoc = reader.maxDoc(); i < maxDoc; i++) {
+                if (liveDocs == null || liveDocs.get(i)) {
+                    final Document doc = reader.document(i, FINGERPRINT_FIELDS);
+                    final IndexableField modified = doc.getField("modified");
+                    final IndexableField length = doc.getField("length");
+                    final IndexableField format = doc.getField("format");
+                    indexedFiles.put(doc.get("path"), modified == null || length == null || format == null
+                                                      || format.numericValue().intValue() != INDEX_FORMAT
+                                                      ? IndexedFile.UNKNOWN
+                                                      : new IndexedFile(modified.numericValue().longValue(),
+                                                                        length.numericValue().longValue()));
+                }
+            }
+            return indexedFiles;
+        } catch (CorruptIndexException e) {
+            LOG.warn("Index of {} is corrupted, it is removed and will be rebuilt. {}", root.getPath(), e.getMessage());
+            try {
+                luceneIndexWriter.deleteAll();
+            } catch (IOException x) {
+                throw new ServerException(x.getMessage(), x);
+            }
+            return new ConcurrentHashMap<>();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            luceneIndexWriter = makeIndexWriter(makeDirectory());
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
             closed = false;
+            startIndexer();
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
-    public final synchronized void close() {
+    /** Opens writer of the index in the given directory, index which can't be read is removed, so it is rebuilt from scratch. */
+    private IndexWriter makeIndexWriter(Directory directory) throws IOException {
+        try {
+            return new IndexWriter(directory, new IndexWriterConfig(makeAnalyzer()));
+        } catch (CorruptIndexException | IndexFormatTooOldException | IndexFormatTooNewException e) {
+            LOG.warn("Unable open index in {}, it is removed and will be rebuilt. {}", directory, e.getMessage());
+            for (String file : directory.listAll()) {
+                directory.deleteFile(file);
+            }
+            return new IndexWriter(directory, new IndexWriterConfig(makeAnalyzer()));
+        }
+    }
+
+    public final void close() {
+        stopIndexer();
+        doClose();
+    }
+
+    private synchronized void doClose() {
         if (!closed) {
             try {
                 IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
@@ -189,14 +409,25 @@ public abstract class LuceneSearcher implements Searcher {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
+            if (query.isWaitForPendingChanges()) {
+                waitForPendingChanges();
+            }
             searcherManager.maybeRefresh();
             luceneSearcher = searcherManager.acquire();
 
-            Query luceneQuery = createLuceneQuery(query);
+            final Query textQuery = createTextQuery(query);
+            final Query luceneQuery = createLuceneQuery(query, textQuery);
+            final OccurrencesFinder occurrencesFinder = textQuery == null || query.getMaxOccurrencesPerFile() <= 0
+                                                        ? null
+                                                        : new OccurrencesFinder(textQuery);
 
+            final long indexVersion = ((DirectoryReader)luceneSearcher.getIndexReader()).getVersion();
+            final SearchCursor cursor = parseCursor(query.getCursor());
             ScoreDoc after = null;
-            final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
+            final int numSkipDocs = cursor == null ? Math.max(0, query.getSkipCount()) : cursor.getOffset();
+            if (cursor != null && cursor.getIndexVersion() == indexVersion) {
+                after = cursor.getLastScoreDoc();
+            } else if (numSkipDocs > 0) {
                 after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
             }
 
@@ -208,15 +439,23 @@ public abstract class LuceneSearcher implements Searcher {
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
                 String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
+                if (occurrencesFinder == null) {
+                    results.add(new SearchResultEntry(filePath));
+                } else {
+                    results.add(new SearchResultEntry(filePath, findOccurrences(luceneSearcher.getIndexReader(), scoreDoc.doc, filePath,
+                                                                                occurrencesFinder, query.getMaxOccurrencesPerFile())));
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            boolean hasMoreToRetrieve = topDocs.scoreDocs.length > 0 && numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                final ScoreDoc lastScoreDoc = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                final int newSkipCount = numSkipDocs + topDocs.scoreDocs.length;
+                nextPageQueryExpression = createNextPageQuery(query, newSkipCount,
+                                                              new SearchCursor(indexVersion, newSkipCount, lastScoreDoc).serialize());
             }
 
             return SearchResult.aSearchResult()
@@ -236,28 +475,65 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
-    private Query createLuceneQuery(QueryExpression query) throws ServerException {
+    private Query createTextQuery(QueryExpression query) throws ServerException {
+        final String text = query.getText();
+        if (text == null) {
+            return null;
+        }
+        QueryParser qParser = new QueryParser("text", makeAnalyzer());
+        try {
+            return qParser.parse(text);
+        } catch (ParseException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    private Query createLuceneQuery(QueryExpression query, Query textQuery) {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
         final String path = query.getPath();
-        final String text = query.getText();
         if (path != null) {
             luceneQuery.add(new PrefixQuery(new Term("path", path)), BooleanClause.Occur.MUST);
         }
         if (name != null) {
             luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
         }
-        if (text != null) {
-            QueryParser qParser = new QueryParser("text", makeAnalyzer());
-            try {
-                luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-            } catch (ParseException e) {
-                throw new ServerException(e.getMessage());
-            }
+        if (textQuery != null) {
+            luceneQuery.add(textQuery, BooleanClause.Occur.MUST);
         }
         return luceneQuery;
     }
 
+    /**
+     * Finds occurrences of text query in the document by term vector of its text. Content of file is read only to get lines
+     * of found occurrences. Returns empty list if file is not available anymore.
+     */
+    private List<SearchOccurrence> findOccurrences(IndexReader reader,
+                                                   int docId,
+                                                   String filePath,
+                                                   OccurrencesFinder occurrencesFinder,
+                                                   int maxOccurrences) {
+        if (root == null || occurrencesFinder.isEmpty()) {
+            return emptyList();
+        }
+        try {
+            final Terms termVector = reader.getTermVector(docId, "text");
+            if (termVector == null) {
+                return emptyList();
+            }
+            final VirtualFile file = root.getChild(Path.of(filePath));
+            if (file == null || !file.isFile()) {
+                return emptyList();
+            }
+            try (Reader contentReader = new BufferedReader(new InputStreamReader(file.getContent()))) {
+                return occurrencesFinder.find(termVector, contentReader, maxOccurrences);
+            }
+        } catch (IOException | ForbiddenException | ServerException e) {
+            LOG.warn("Unable find occurrences of text in file {}: {}", filePath, e.getMessage());
+            return emptyList();
+        }
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -279,17 +555,31 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private SearchCursor parseCursor(String cursor) throws ServerException {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return SearchCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, String cursor) {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setCursor(cursor)
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setMaxOccurrencesPerFile(originalQuery.getMaxOccurrencesPerFile())
+                                    .setWaitForPendingChanges(originalQuery.isWaitForPendingChanges());
     }
 
     @Override
     public final void add(VirtualFile virtualFile) throws ServerException {
-        doAdd(virtualFile);
+        enqueue(virtualFile.getPath().toString(), () -> doAdd(virtualFile));
     }
 
     protected void doAdd(VirtualFile virtualFile) throws ServerException {
@@ -342,6 +632,10 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
+        enqueue(path, () -> doDelete(path, isFile));
+    }
+
+    protected void doDelete(String path, boolean isFile) throws ServerException {
         try {
             if (isFile) {
                 Term term = new Term("path", path);
@@ -360,7 +654,8 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void update(VirtualFile virtualFile) throws ServerException {
-        doUpdate(new Term("path", virtualFile.getPath().toString()), virtualFile);
+        final String path = virtualFile.getPath().toString();
+        enqueue(path, () -> doUpdate(new Term("path", path), virtualFile));
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
@@ -382,12 +677,202 @@ public abstract class LuceneSearcher implements Searcher {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField("modified", virtualFile.getLastModificationDate()));
+        doc.add(new StoredField("length", virtualFile.getLength()));
+        doc.add(new StoredField("format", INDEX_FORMAT));
         if (reader != null) {
-            doc.add(new TextField("text", reader));
+            doc.add(new Field("text", reader, TEXT_FIELD_TYPE));
         }
         return doc;
     }
 
+    private void enqueue(String path, IndexChange change) {
+        synchronized (indexQueueLock) {
+            // Remove previous change for the same path to put new one in the end of queue and keep order of changes.
+            pendingChanges.remove(path);
+            pendingChanges.put(path, new QueuedChange(change, ++enqueuedGeneration));
+            if (outOfDateSince == 0) {
+                outOfDateSince = System.currentTimeMillis();
+                indexQueueLock.notifyAll();
+            } else if (pendingChanges.size() >= INDEX_BATCH_SIZE) {
+                indexQueueLock.notifyAll();
+            }
+        }
+    }
+
+    /** Blocks until all changes of index queued before call of this method become visible for search. */
+    private void waitForPendingChanges() {
+        synchronized (indexQueueLock) {
+            final long generation = enqueuedGeneration;
+            if (appliedGeneration >= generation) {
+                return;
+            }
+            pendingChangesWaiters++;
+            indexQueueLock.notifyAll();
+            try {
+                final long endTime = System.currentTimeMillis() + WAIT_FOR_PENDING_CHANGES_TIMEOUT_MS;
+                while (appliedGeneration < generation && !indexerStopped) {
+                    final long waitTime = endTime - System.currentTimeMillis();
+                    if (waitTime <= 0) {
+                        LOG.warn("Timeout waiting for {} pending changes of index", pendingChanges.size());
+                        break;
+                    }
+                    indexQueueLock.wait(waitTime);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pendingChangesWaiters--;
+            }
+        }
+    }
+
+    private void startIndexer() {
+        synchronized (indexQueueLock) {
+            indexerStopped = false;
+            indexer = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                                                                                  .setNameFormat("LuceneSearcherIndexThread")
+                                                                                  .build());
+            indexer.execute(this::processIndexQueue);
+        }
+    }
+
+    private void stopIndexer() {
+        final ExecutorService indexer;
+        synchronized (indexQueueLock) {
+            indexer = this.indexer;
+            this.indexer = null;
+            indexerStopped = true;
+            pendingChanges.clear();
+            indexQueueLock.notifyAll();
+        }
+        if (indexer == null) {
+            return;
+        }
+        indexer.shutdown();
+        // Searcher might be closed from index thread if it fails with OutOfMemoryError, do not wait for itself then.
+        if (Thread.currentThread() != indexerThread) {
+            try {
+                if (!indexer.awaitTermination(WAIT_FOR_PENDING_CHANGES_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    LOG.warn("Unable terminate index thread");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void processIndexQueue() {
+        indexerThread = Thread.currentThread();
+        final List<IndexChange> batch = new ArrayList<>(INDEX_BATCH_SIZE);
+        while (true) {
+            final long batchGeneration;
+            synchronized (indexQueueLock) {
+                try {
+                    waitForBatch();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (indexerStopped) {
+                    return;
+                }
+                long lastGeneration = appliedGeneration;
+                for (Iterator<QueuedChange> iterator = pendingChanges.values().iterator();
+                     iterator.hasNext() && batch.size() < INDEX_BATCH_SIZE; ) {
+                    final QueuedChange queued = iterator.next();
+                    batch.add(queued.change);
+                    lastGeneration = queued.generation;
+                    iterator.remove();
+                }
+                batchGeneration = lastGeneration;
+            }
+
+            final int batchSize = batch.size();
+            final long batchStart = System.currentTimeMillis();
+            for (IndexChange change : batch) {
+                try {
+                    change.apply();
+                } catch (ServerException | RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                } catch (OutOfMemoryError e) {
+                    // Searcher is closed already.
+                    LOG.error(e.getMessage(), e);
+                    return;
+                }
+            }
+            batch.clear();
+            try {
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                LOG.error(e.getMessage(), e);
+            }
+
+            synchronized (indexQueueLock) {
+                // Queue is ordered by generation, so all changes up to the last one of batch are applied or replaced by later ones.
+                // Wake up waiters even if new changes are queued in the meantime.
+                if (batchGeneration > appliedGeneration) {
+                    appliedGeneration = batchGeneration;
+                    indexQueueLock.notifyAll();
+                }
+                final long lag = outOfDateSince == 0 ? 0 : System.currentTimeMillis() - outOfDateSince;
+                if (lag >= INDEXING_LAG_WARNING_MS) {
+                    LOG.warn("Search index is {} ms behind, {} changes are pending", lag, pendingChanges.size());
+                } else {
+                    LOG.debug("Indexed batch of {} changes, time: {} ms, pending changes: {}, indexing lag: {} ms",
+                              batchSize, System.currentTimeMillis() - batchStart, pendingChanges.size(), lag);
+                }
+                if (pendingChanges.isEmpty()) {
+                    outOfDateSince = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until batch of changes is ready to be written: refresh interval is over since index became out of date, batch is full
+     * or someone waits for pending changes. Must be called while holding {@code indexQueueLock}.
+     */
+    private void waitForBatch() throws InterruptedException {
+        while (!indexerStopped) {
+            if (pendingChanges.isEmpty()) {
+                indexQueueLock.wait();
+            } else if (pendingChangesWaiters > 0 || pendingChanges.size() >= INDEX_BATCH_SIZE) {
+                return;
+            } else {
+                final long waitTime = outOfDateSince + refreshIntervalMillis - System.currentTimeMillis();
+                if (waitTime <= 0) {
+                    return;
+                }
+                indexQueueLock.wait(waitTime);
+            }
+        }
+    }
+
+    /** Modification time and length of file at the moment when it was added to index. */
+    private static class IndexedFile {
+        /** Document that was indexed without modification time and length or in other format. */
+        static final IndexedFile UNKNOWN = new IndexedFile(-1, -1);
+
+        final long modified;
+        final long length;
+
+        IndexedFile(long modified, long length) {
+            this.modified = modified;
+            this.length = length;
+        }
+
+        boolean isUpToDate(VirtualFile virtualFile) {
+            if (this == UNKNOWN || modified != virtualFile.getLastModificationDate()) {
+                return false;
+            }
+            try {
+                return length == virtualFile.getLength();
+            } catch (ServerException e) {
+                return false;
+            }
+        }
+    }
+
     private boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : indexFilters) {
             if (!indexFilter.accept(virtualFile)) {
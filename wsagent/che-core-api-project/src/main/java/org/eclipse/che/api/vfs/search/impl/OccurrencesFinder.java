@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Finds places in text that match text query. Positions and offsets of the matched terms are taken from the term vector
+ * of the document, so found occurrences are exactly the ones the document is found by and text is not analyzed once again.
+ * Terms of a phrase are matched only when they follow each other in the same order as in the phrase, slop of the phrase
+ * is not taken into account.
+ */
+class OccurrencesFinder {
+    static final int LINE_CONTENT_MAX_LENGTH = 256;
+
+    private final Set<String>                 terms;
+    private final List<String>                prefixes;
+    private final List<CharacterRunAutomaton> wildcards;
+    private final List<Phrase>                phrases;
+    /** Terms of all phrases, positions of them are needed to match phrases. */
+    private final Set<String>                 phraseTerms;
+
+    /**
+     * @param textQuery
+     *         query that is parsed from text of {@code QueryExpression}
+     */
+    OccurrencesFinder(Query textQuery) {
+        terms = new HashSet<>();
+        prefixes = new ArrayList<>();
+        wildcards = new ArrayList<>();
+        phrases = new ArrayList<>();
+        phraseTerms = new HashSet<>();
+        collectTerms(textQuery);
+    }
+
+    private void collectTerms(Query query) {
+        if (query instanceof TermQuery) {
+            terms.add(((TermQuery)query).getTerm().text());
+        } else if (query instanceof PhraseQuery) {
+            final Phrase phrase = new Phrase((PhraseQuery)query);
+            if (phrase.terms.length == 1) {
+                terms.add(phrase.terms[0]);
+            } else if (phrase.terms.length > 1) {
+                phrases.add(phrase);
+                for (String term : phrase.terms) {
+                    phraseTerms.add(term);
+                }
+            }
+        } else if (query instanceof PrefixQuery) {
+            prefixes.add(((PrefixQuery)query).getPrefix().text());
+        } else if (query instanceof WildcardQuery) {
+            wildcards.add(new CharacterRunAutomaton(WildcardQuery.toAutomaton(((WildcardQuery)query).getTerm())));
+        } else if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (!clause.isProhibited()) {
+                    collectTerms(clause.getQuery());
+                }
+            }
+        }
+    }
+
+    /** Returns {@code true} if query doesn't contain any terms that this finder is able to look for. */
+    boolean isEmpty() {
+        return terms.isEmpty() && prefixes.isEmpty() && wildcards.isEmpty() && phrases.isEmpty();
+    }
+
+    /**
+     * Finds occurrences of query in the document.
+     *
+     * @param termVector
+     *         term vector of the document text with positions and offsets
+     * @param content
+     *         reader of the document text, it is used only to get number and content of lines with found occurrences
+     *         and it is read not further than the line of the last returned occurrence
+     * @param maxOccurrences
+     *         max number of occurrences to find
+     * @return found occurrences in order they appear in text
+     */
+    List<SearchOccurrence> find(Terms termVector, Reader content, int maxOccurrences) throws IOException {
+        final List<Match> matches = findMatches(termVector);
+        if (matches.isEmpty()) {
+            return emptyList();
+        }
+        matches.sort(Comparator.comparingInt((Match match) -> match.start).thenComparingInt(match -> match.end));
+        return toOccurrences(matches, content, maxOccurrences);
+    }
+
+    private List<Match> findMatches(Terms termVector) throws IOException {
+        final List<Match> matches = new ArrayList<>();
+        final Map<Integer, Match> phraseTermsByPosition = new HashMap<>();
+        final TermsEnum termsEnum = termVector.iterator(null);
+        PostingsEnum postings = null;
+        BytesRef term;
+        while ((term = termsEnum.next()) != null) {
+            final String text = term.utf8ToString();
+            final boolean matched = matches(text);
+            final boolean inPhrase = phraseTerms.contains(text);
+            if (!matched && !inPhrase) {
+                continue;
+            }
+            postings = termsEnum.postings(null, postings, PostingsEnum.OFFSETS);
+            if (postings.nextDoc() == DocIdSetIterator.NO_MORE_DOCS) {
+                continue;
+            }
+            for (int i = 0, freq = postings.freq(); i < freq; i++) {
+                final Match match = new Match(text, postings.nextPosition(), postings.startOffset(), postings.endOffset());
+                if (matched) {
+                    matches.add(match);
+                }
+                if (inPhrase) {
+                    phraseTermsByPosition.put(match.position, match);
+                }
+            }
+        }
+        for (Phrase phrase : phrases) {
+            phrase.findMatches(phraseTermsByPosition, matches);
+        }
+        return matches;
+    }
+
+    private boolean matches(String token) {
+        if (terms.contains(token)) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (token.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (CharacterRunAutomaton wildcard : wildcards) {
+            if (wildcard.run(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Reads text line by line until lines of all required matches are found. Matches must be sorted by start offset. */
+    private List<SearchOccurrence> toOccurrences(List<Match> matches, Reader content, int maxOccurrences) throws IOException {
+        final List<SearchOccurrence> occurrences = new ArrayList<>();
+        final StringBuilder line = new StringBuilder();
+        int lineNumber = 1;
+        int lineStart = 0;
+        int next = 0;
+        int i = 0;
+        int lastStart = -1;
+        while (i < matches.size() && occurrences.size() < maxOccurrences && next != -1) {
+            line.setLength(0);
+            while ((next = content.read()) != -1 && next != '\n') {
+                line.append((char)next);
+            }
+            final int lineLength = line.length();
+            if (lineLength > 0 && line.charAt(lineLength - 1) == '\r') {
+                line.setLength(lineLength - 1);
+            }
+            final int nextLineStart = lineStart + lineLength + 1;
+            for (; i < matches.size() && occurrences.size() < maxOccurrences && matches.get(i).start < nextLineStart; i++) {
+                final Match match = matches.get(i);
+                // the same place may be matched by a few parts of query
+                if (match.start != lastStart) {
+                    final int start = match.start - lineStart;
+                    final int end = match.end - lineStart;
+                    occurrences.add(new SearchOccurrence(lineNumber, match.start, match.end, lineContent(line.toString(), start, end)));
+                    lastStart = match.start;
+                }
+            }
+            lineNumber++;
+            lineStart = nextLineStart;
+        }
+        return occurrences;
+    }
+
+    private String lineContent(String line, int start, int end) {
+        if (line.length() <= LINE_CONTENT_MAX_LENGTH) {
+            return line;
+        }
+        // Line is too long, cut it around found text.
+        final int from = Math.max(0, start - Math.max(0, LINE_CONTENT_MAX_LENGTH - (end - start)) / 2);
+        final int to = Math.min(line.length(), from + LINE_CONTENT_MAX_LENGTH);
+        return line.substring(from, to);
+    }
+
+    /** Term or phrase found in text. */
+    private static class Match {
+        final String term;
+        final int    position;
+        final int    start;
+        final int    end;
+
+        Match(String term, int position, int start, int end) {
+            this.term = term;
+            this.position = position;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static class Phrase {
+        final String[] terms;
+        /** Positions of terms relative to the first term of phrase. */
+        final int[]    positions;
+
+        Phrase(PhraseQuery query) {
+            final Term[] queryTerms = query.getTerms();
+            final int[] queryPositions = query.getPositions();
+            terms = new String[queryTerms.length];
+            positions = new int[queryTerms.length];
+            for (int i = 0; i < queryTerms.length; i++) {
+                terms[i] = queryTerms[i].text();
+                positions[i] = queryPositions[i] - queryPositions[0];
+            }
+        }
+
+        void findMatches(Map<Integer, Match> termsByPosition, List<Match> matches) {
+            for (Match first : termsByPosition.values()) {
+                if (!terms[0].equals(first.term)) {
+                    continue;
+                }
+                int end = first.end;
+                int i = 1;
+                for (; i < terms.length; i++) {
+                    final Match match = termsByPosition.get(first.position + positions[i]);
+                    if (match == null || !terms[i].equals(match.term)) {
+                        break;
+                    }
+                    end = Math.max(end, match.end);
+                }
+                if (i == terms.length) {
+                    matches.add(new Match(null, first.position, first.start, end));
+                }
+            }
+        }
+    }
+}
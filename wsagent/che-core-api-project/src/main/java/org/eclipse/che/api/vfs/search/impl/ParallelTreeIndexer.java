@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Adds all files of the tree in index of {@link LuceneSearcher}. Tree is split between workers of fork-join pool, each worker
+ * lists folders and reads and analyzes files concurrently with others, all workers write documents in the same {@code IndexWriter}.
+ * Files are added with {@link LuceneSearcher#addFile(VirtualFile)} so index filters are applied in the same way as for single file.
+ * <p/>
+ * Pool of workers is created for each indexed tree, so it is used only for initial indexing of the whole file system. Folders that
+ * are added later are indexed by the index thread of searcher.
+ */
+class ParallelTreeIndexer {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelTreeIndexer.class);
+
+    private static final int FILES_PER_TASK       = 32;
+    private static final int PROGRESS_REPORT_STEP = 10000;
+
+    private final LuceneSearcher searcher;
+    private final int            parallelism;
+    private final AtomicInteger  indexedFiles;
+    private final AtomicInteger  listedFolders;
+    private final AtomicLong     listingNanos;
+    private final AtomicLong     indexingNanos;
+
+    ParallelTreeIndexer(LuceneSearcher searcher, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.searcher = searcher;
+        this.parallelism = parallelism;
+        indexedFiles = new AtomicInteger();
+        listedFolders = new AtomicInteger();
+        listingNanos = new AtomicLong();
+        indexingNanos = new AtomicLong();
+    }
+
+    /**
+     * Adds all files of the tree in index.
+     *
+     * @param tree
+     *         root folder of tree
+     * @return number of files added in index
+     * @throws ServerException
+     *         if any error occurs while reading the tree or writing index, indexing is stopped then
+     */
+    int index(VirtualFile tree) throws ServerException {
+        return index(tree, VirtualFileFilter.ACCEPT_ALL);
+    }
+
+    /**
+     * Adds files of the tree that are accepted by filter in index.
+     *
+     * @param tree
+     *         root folder of tree
+     * @param filter
+     *         filter for files that should be added in index, e.g. skips files that are indexed already and not changed since then
+     * @return number of files added in index
+     * @throws ServerException
+     *         if any error occurs while reading the tree or writing index, indexing is stopped then
+     */
+    int index(VirtualFile tree, VirtualFileFilter filter) throws ServerException {
+        final long start = System.currentTimeMillis();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("LuceneSearcherIndexWorker-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        try {
+            pool.invoke(new FolderTask(tree, filter));
+        } catch (IndexingException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+        final long end = System.currentTimeMillis();
+        LOG.debug("Indexed {} files in {} folders from {}, time: {} ms, listing folders: {} ms, reading and indexing files: {} ms" +
+                  " (summary time of {} threads)",
+                  indexedFiles.get(), listedFolders.get(), tree.getPath(), (end - start),
+                  NANOSECONDS.toMillis(listingNanos.get()), NANOSECONDS.toMillis(indexingNanos.get()), parallelism);
+        return indexedFiles.get();
+    }
+
+    /** Number of files that are added in index so far. */
+    int getIndexedFiles() {
+        return indexedFiles.get();
+    }
+
+    private class FolderTask extends RecursiveAction {
+        private final VirtualFile       folder;
+        private final VirtualFileFilter filter;
+
+        FolderTask(VirtualFile folder, VirtualFileFilter filter) {
+            this.folder = folder;
+            this.filter = filter;
+        }
+
+        @Override
+        protected void compute() {
+            if (!folder.exists()) {
+                return;
+            }
+            final long start = System.nanoTime();
+            final List<VirtualFile> children;
+            try {
+                children = folder.getChildren();
+            } catch (ServerException e) {
+                throw new IndexingException(e);
+            }
+            listingNanos.addAndGet(System.nanoTime() - start);
+            listedFolders.incrementAndGet();
+
+            final List<RecursiveAction> subTasks = new ArrayList<>();
+            List<VirtualFile> files = new ArrayList<>(FILES_PER_TASK);
+            for (VirtualFile child : children) {
+                if (child.isFolder()) {
+                    subTasks.add(new FolderTask(child, filter));
+                } else if (filter.accept(child)) {
+                    files.add(child);
+                    if (files.size() == FILES_PER_TASK) {
+                        subTasks.add(new FilesTask(files));
+                        files = new ArrayList<>(FILES_PER_TASK);
+                    }
+                }
+            }
+            if (!files.isEmpty()) {
+                subTasks.add(new FilesTask(files));
+            }
+            invokeAll(subTasks);
+        }
+    }
+
+    private class FilesTask extends RecursiveAction {
+        private final List<VirtualFile> files;
+
+        FilesTask(List<VirtualFile> files) {
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            for (VirtualFile file : files) {
+                final long start = System.nanoTime();
+                try {
+                    searcher.addFile(file);
+                } catch (ServerException e) {
+                    throw new IndexingException(e);
+                }
+                indexingNanos.addAndGet(System.nanoTime() - start);
+                final int indexed = indexedFiles.incrementAndGet();
+                if (indexed % PROGRESS_REPORT_STEP == 0) {
+                    LOG.info("Indexed {} files", indexed);
+                }
+            }
+        }
+    }
+
+    /** Carries ServerException through fork-join tasks. */
+    private static class IndexingException extends RuntimeException {
+        IndexingException(ServerException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ServerException getCause() {
+            return (ServerException)super.getCause();
+        }
+    }
+}
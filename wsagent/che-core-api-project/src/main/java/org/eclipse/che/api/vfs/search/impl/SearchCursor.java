@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.search.ScoreDoc;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Position in search result from which next page starts. Cursor keeps the last document of previous page, so the next page is
+ * retrieved with {@code IndexSearcher.searchAfter} without scanning all previous pages again. Document ids and scores are valid
+ * only for the same version of index, so cursor also keeps version of index and number of items that are already retrieved. If
+ * index is changed in between the next page is found by skipping retrieved items.
+ */
+class SearchCursor {
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Restores cursor from string that is created with {@link #serialize()}.
+     *
+     * @throws IllegalArgumentException
+     *         if {@code cursor} is not valid
+     */
+    static SearchCursor parse(String cursor) {
+        final String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split(SEPARATOR);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid search cursor '%s'", cursor));
+        }
+        if (parts.length != 4) {
+            throw new IllegalArgumentException(String.format("Invalid search cursor '%s'", cursor));
+        }
+        try {
+            return new SearchCursor(Long.parseLong(parts[0]),
+                                    Integer.parseInt(parts[1]),
+                                    new ScoreDoc(Integer.parseInt(parts[2]), Float.intBitsToFloat(Integer.parseUnsignedInt(parts[3], 16))));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid search cursor '%s'", cursor));
+        }
+    }
+
+    private final long     indexVersion;
+    private final int      offset;
+    private final ScoreDoc lastScoreDoc;
+
+    SearchCursor(long indexVersion, int offset, ScoreDoc lastScoreDoc) {
+        this.indexVersion = indexVersion;
+        this.offset = offset;
+        this.lastScoreDoc = lastScoreDoc;
+    }
+
+    /** Version of index that document id and score of {@link #getLastScoreDoc()} are related to. */
+    long getIndexVersion() {
+        return indexVersion;
+    }
+
+    /** Number of items that are retrieved before this cursor. */
+    int getOffset() {
+        return offset;
+    }
+
+    /** The last document of previous page. */
+    ScoreDoc getLastScoreDoc() {
+        return lastScoreDoc;
+    }
+
+    /** Serializes this cursor to opaque string that is safe to use in URL. */
+    String serialize() {
+        final String cursor = indexVersion + SEPARATOR +
+                              offset + SEPARATOR +
+                              lastScoreDoc.doc + SEPARATOR +
+                              Integer.toHexString(Float.floatToIntBits(lastScoreDoc.score));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(UTF_8));
+    }
+}
@@ -23,6 +23,7 @@ import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.core.util.PagingUtil;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.project.server.handlers.CreateProjectHandler;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
@@ -118,6 +119,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 
 /**
@@ -1855,6 +1857,32 @@ public class ProjectServiceTest {
         Assert.assertTrue(result.get(0).getPath().equals("/my_project/c/test.txt"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchReturnsLinkToNextPageWithCursor() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        for (String folder : Arrays.asList("a", "b", "c", "d")) {
+            myProject.getBaseFolder().createFolder(folder).createFile("test.txt", "test".getBytes());
+        }
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project?text=test&maxItems=1",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> firstPage = (List<ItemReference>)response.getEntity();
+        assertEquals(firstPage.size(), 1);
+        String next = PagingUtil.parseLinkHeader((String)response.getHttpHeaders().getFirst("Link")).get("next");
+        assertNotNull(next);
+        Assert.assertTrue(next.contains("skipCount=1"));
+        Assert.assertTrue(next.contains("cursor="));
+
+        response = launcher.service(GET, next, "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> secondPage = (List<ItemReference>)response.getEntity();
+        assertEquals(secondPage.size(), 1);
+        assertNotEquals(secondPage.get(0).getPath(), firstPage.get(0).getPath());
+    }
+
     private void validateFileLinks(ItemReference item) {
         Link link = item.getLink("delete");
         assertNotNull(link);
@@ -236,4 +236,75 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testChildLockBlocksParentExclusiveLock() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false);
+                lock.acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        // Shared locks of related paths do not conflict.
+        PathLockFactory.PathLock sharedParentLock = pathLockFactory.getLock(path.getParent(), false).acquire(100);
+        sharedParentLock.release();
+        try {
+            pathLockFactory.getLock(path.getParent(), true).acquire(100);
+            fail();
+        } catch (RuntimeException e) {
+            // OK
+        }
+        finisher.countDown();
+        t.join();
+        PathLockFactory.PathLock exclusiveParentLock = pathLockFactory.getLock(path.getParent(), true).acquire(100);
+        exclusiveParentLock.release();
+        pathLockFactory.checkClean();
+    }
+
+    public void testParentLockOfOtherThreadBlocksChildExclusiveLockOfParentHolder() throws Exception {
+        final Path parent = path.getParent();
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(parent, false);
+                lock.acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        PathLockFactory.PathLock sharedParentLock = pathLockFactory.getLock(parent, false).acquire(100);
+        // Own shared lock of the parent must not hide shared lock of another thread.
+        try {
+            pathLockFactory.getLock(path, true).acquire(100);
+            fail();
+        } catch (RuntimeException e) {
+            // OK
+        }
+        finisher.countDown();
+        t.join();
+        PathLockFactory.PathLock exclusiveChildLock = pathLockFactory.getLock(path, true).acquire(100);
+        exclusiveChildLock.release();
+        sharedParentLock.release();
+        pathLockFactory.checkClean();
+    }
 }
@@ -326,6 +326,36 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, root.getChildren());
     }
 
+    @Test
+    public void getsChildrenCreatedOutsideOfFileSystemAfterCacheInvalidation() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        assertEquals(newArrayList(file1), folder.getChildren());
+
+        String name = generateFileName();
+        assertTrue(new File(folder.toIoFile(), name).createNewFile());
+        fileSystem.invalidateChildrenCache(folder.getPath().newPath(name));
+
+        List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(name)));
+        Collections.sort(expectedResult);
+
+        assertEquals(expectedResult, folder.getChildren());
+    }
+
+    @Test
+    public void doesNotShowDeletedItemInListOfChildren() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        VirtualFile file2 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        assertEquals(2, folder.getChildren().size());
+
+        file1.delete();
+
+        assertEquals(newArrayList(file2), folder.getChildren());
+    }
+
     @Test
     public void doesNotShowDotVfsFolderInListOfChildren() throws Exception {
         VirtualFile root = getRoot();
@@ -27,6 +27,7 @@ import org.junit.Test;
 import org.mockito.ArgumentMatcher;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.List;
 
@@ -84,6 +85,49 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void reindexesOnlyChangedFilesWhenIndexDirectoryIsReused() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile changed = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile deleted = folder.createFile("yyy.txt", TEST_CONTENT[0]);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        changed.updateContent(TEST_CONTENT[3]);
+        deleted.delete();
+        folder.createFile("vvv.txt", TEST_CONTENT[2]);
+
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+        searcher.init(virtualFileSystem);
+
+        assertEquals(newArrayList("/folder/vvv.txt"), searcher.search(new QueryExpression().setText("be")).getFilePaths());
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("ascent")).getFilePaths());
+        assertTrue(searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths().isEmpty());
+        assertEquals(newArrayList("/folder/zzz.txt"), searcher.search(new QueryExpression().setText("think")).getFilePaths());
+    }
+
+    @Test
+    public void rebuildsIndexWhenIndexDirectoryIsCorrupted() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        for (File file : indexDirectory.listFiles()) {
+            Files.write(file.toPath(), "corrupted".getBytes());
+        }
+
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+        searcher.init(virtualFileSystem);
+
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("be")).getFilePaths());
+        assertEquals(newArrayList("/folder/zzz.txt"), searcher.search(new QueryExpression().setText("think")).getFilePaths());
+    }
+
     @Test
     public void addsSingleFileInIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -92,7 +136,7 @@ public class FSLuceneSearcherTest {
 
         searcher.add(file);
 
-        List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        List<String> paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("should")).getFilePaths();
         assertEquals(newArrayList(file.getPath().toString()), paths);
     }
 
@@ -106,9 +150,9 @@ public class FSLuceneSearcherTest {
 
         searcher.add(virtualFileSystem.getRoot());
 
-        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        List<String> paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("be")).getFilePaths();
         assertEquals(newArrayList("/folder/xxx.txt"), paths);
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("should")).getFilePaths();
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
@@ -124,7 +168,7 @@ public class FSLuceneSearcherTest {
         file.updateContent(TEST_CONTENT[1]);
         searcher.update(file);
 
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("should")).getFilePaths();
 
         assertEquals(newArrayList(file.getPath().toString()), paths);
     }
@@ -140,7 +184,7 @@ public class FSLuceneSearcherTest {
 
         searcher.delete(file.getPath().toString(), file.isFile());
 
-        paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("be")).getFilePaths();
         assertTrue(paths.isEmpty());
     }
 
@@ -159,9 +203,9 @@ public class FSLuceneSearcherTest {
 
         searcher.delete("/folder", false);
 
-        paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("be")).getFilePaths();
         assertTrue(paths.isEmpty());
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("should")).getFilePaths();
         assertTrue(paths.isEmpty());
     }
 
@@ -18,6 +18,7 @@ import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.junit.After;
 import org.junit.Before;
@@ -25,11 +26,14 @@ import org.junit.Test;
 import org.mockito.ArgumentMatcher;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
@@ -82,7 +86,7 @@ public class MemoryLuceneSearcherTest {
 
         searcher.add(file);
 
-        List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        List<String> paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("should")).getFilePaths();
         assertEquals(newArrayList(file.getPath().toString()), paths);
     }
 
@@ -96,12 +100,29 @@ public class MemoryLuceneSearcherTest {
 
         searcher.add(virtualFileSystem.getRoot());
 
-        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        List<String> paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("be")).getFilePaths();
         assertEquals(newArrayList("/folder/xxx.txt"), paths);
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("should")).getFilePaths();
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void addsGeneratedFileTreeInIndexInParallel() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%d/sub%d", i, i));
+            for (int j = 0; j < 100; j++) {
+                folder.createFile(String.format("file%03d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        searcher.setIndexParallelism(4);
+
+        searcher.init(virtualFileSystem);
+
+        assertEquals(250, searcher.search(new QueryExpression().setText("mission")).getTotalHits());
+        assertEquals(250, searcher.search(new QueryExpression().setText("spaceflight")).getTotalHits());
+    }
+
     @Test
     public void updatesSingleFileInIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -114,9 +135,30 @@ public class MemoryLuceneSearcherTest {
         file.updateContent(TEST_CONTENT[1]);
         searcher.update(file);
 
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("should")).getFilePaths();
+
+        assertEquals(newArrayList(file.getPath().toString()), paths);
+    }
+
+    @Test
+    public void coalescesPendingChangesOfSameFile() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[2]);
+        searcher.setRefreshInterval(60000);
+        searcher.init(virtualFileSystem);
 
+        for (int i = 0; i < 50; i++) {
+            file.updateContent(TEST_CONTENT[i % TEST_CONTENT.length]);
+            searcher.update(file);
+        }
+        file.updateContent(TEST_CONTENT[1]);
+        searcher.update(file);
+
+        assertEquals(1, searcher.getPendingChangesCount());
+        List<String> paths = searcher.search(new QueryExpression().setText("should").setWaitForPendingChanges(true)).getFilePaths();
         assertEquals(newArrayList(file.getPath().toString()), paths);
+        assertEquals(0, searcher.getPendingChangesCount());
+        assertEquals(0, searcher.getIndexingLagMillis());
     }
 
     @Test
@@ -130,7 +172,7 @@ public class MemoryLuceneSearcherTest {
 
         searcher.delete(file.getPath().toString(), file.isFile());
 
-        paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("be")).getFilePaths();
         assertTrue(paths.isEmpty());
     }
 
@@ -149,9 +191,9 @@ public class MemoryLuceneSearcherTest {
 
         searcher.delete("/folder", false);
 
-        paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("be")).getFilePaths();
         assertTrue(paths.isEmpty());
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setWaitForPendingChanges(true).setText("should")).getFilePaths();
         assertTrue(paths.isEmpty());
     }
 
@@ -167,6 +209,63 @@ public class MemoryLuceneSearcherTest {
         assertEquals(newArrayList("/folder/xxx.txt"), paths);
     }
 
+    @Test
+    public void returnsLimitedNumberOfTextOccurrencesForEachFile() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0] + "\n" + TEST_CONTENT[2] + "\r\n" + TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setMaxOccurrencesPerFile(3));
+
+        assertEquals(1, result.getResults().size());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(3, occurrences.size());
+        int secondLineStart = TEST_CONTENT[0].length() + 1;
+        assertEquals(2, occurrences.get(0).getLineNumber());
+        assertEquals(secondLineStart + 3, occurrences.get(0).getStartOffset());
+        assertEquals(secondLineStart + 5, occurrences.get(0).getEndOffset());
+        assertEquals(TEST_CONTENT[2], occurrences.get(0).getLineContent());
+        assertEquals(2, occurrences.get(1).getLineNumber());
+        assertEquals(secondLineStart + 16, occurrences.get(1).getStartOffset());
+        assertEquals(3, occurrences.get(2).getLineNumber());
+        assertEquals(TEST_CONTENT[2], occurrences.get(2).getLineContent());
+    }
+
+    @Test
+    public void returnsOccurrencesOfWholePhrase() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[1] + "\n" + TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("\"to be\"").setMaxOccurrencesPerFile(10));
+
+        assertEquals(1, result.getResults().size());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        int secondLineStart = TEST_CONTENT[1].length() + 1;
+        assertEquals(2, occurrences.get(0).getLineNumber());
+        assertEquals(secondLineStart, occurrences.get(0).getStartOffset());
+        assertEquals(secondLineStart + 5, occurrences.get(0).getEndOffset());
+        assertEquals(2, occurrences.get(1).getLineNumber());
+        assertEquals(secondLineStart + 13, occurrences.get(1).getStartOffset());
+        assertEquals(secondLineStart + 18, occurrences.get(1).getEndOffset());
+        assertEquals(TEST_CONTENT[2], occurrences.get(1).getLineContent());
+    }
+
+    @Test
+    public void doesNotReturnTextOccurrencesIfTheyAreNotRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertEquals(1, result.getResults().size());
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
     @Test
     public void searchesByTextAndPath() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -284,6 +383,50 @@ public class MemoryLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void pagesThroughSearchResultWithCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 2000; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%04d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult page = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(30));
+        Set<String> paths = new HashSet<>(page.getFilePaths());
+        int pages = 1;
+        while (page.getNextPageQueryExpression().isPresent()) {
+            QueryExpression nextPageQueryExpression = page.getNextPageQueryExpression().get();
+            assertNotNull(nextPageQueryExpression.getCursor());
+            page = searcher.search(nextPageQueryExpression);
+            for (String path : page.getFilePaths()) {
+                assertTrue(path, paths.add(path));
+            }
+            pages++;
+        }
+
+        assertEquals(17, pages);
+        assertEquals(500, paths.size());
+    }
+
+    @Test
+    public void retrievesNextPageWithCursorAfterIndexIsChanged() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+        searcher.add(virtualFileSystem.getRoot().createFile("file100", TEST_CONTENT[0]));
+
+        QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+        nextPageQueryExpression.setMaxItems(100).setWaitForPendingChanges(true);
+        SearchResult lastPage = searcher.search(nextPageQueryExpression);
+
+        assertEquals(18, lastPage.getFilePaths().size());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
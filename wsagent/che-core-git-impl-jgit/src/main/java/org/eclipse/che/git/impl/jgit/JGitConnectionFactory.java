@@ -17,11 +17,10 @@ import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
@@ -31,6 +30,7 @@ import java.io.File;
 import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JGit implementation for GitConnectionFactory
@@ -41,15 +41,20 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     private static final String USER_AGENT = "git/2.1.0";
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    private static final int  MAX_CACHED_REPOSITORIES    = 32;
+    private static final long REPOSITORY_IDLE_TIMEOUT_MIN = 10;
+
+    private final CredentialsLoader   credentialsLoader;
+    private final SshKeyProvider      sshKeyProvider;
+    private final GitUserResolver     userResolver;
+    private final JGitRepositoryCache repositoryCache;
 
     @Inject
     public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = new JGitRepositoryCache(MAX_CACHED_REPOSITORIES, REPOSITORY_IDLE_TIMEOUT_MIN, TimeUnit.MINUTES);
 
         UserAgent.set(USER_AGENT);
         // Install the all-trusting trust manager
@@ -84,9 +89,10 @@ public class JGitConnectionFactory extends GitConnectionFactory {
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    private Repository createRepository(File workDir) throws GitException {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            // Connection releases repository when it is closed
+            return repositoryCache.acquire(workDir);
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
@@ -96,4 +102,9 @@ public class JGitConnectionFactory extends GitConnectionFactory {
     public CredentialsLoader getCredentialsLoader() {
         return credentialsLoader;
     }
+
+    @PreDestroy
+    public void stop() {
+        repositoryCache.invalidateAll();
+    }
 }
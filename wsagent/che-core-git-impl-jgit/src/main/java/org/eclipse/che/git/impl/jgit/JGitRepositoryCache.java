@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps opened git repositories, so git operations on the same working directory share refs, pack indexes and object caches
+ * instead of reading them from the disk on each request.
+ * <p>
+ * Repositories are reference counted. The cache holds one reference to each repository and every {@link #acquire(File)} adds
+ * one more that must be released with {@link Repository#close()}. Repository is closed when it is evicted from the cache (there
+ * are too many repositories or it isn't used for a long time) and all its users release it.
+ * <p>
+ * Cached repository is dropped when its {@code .git} directory is removed or replaced with another one, e.g. when project is
+ * cloned again. Directory identifiers may be reused by the file system for the new directory, so both {@code .git} and
+ * {@code .git/objects} directories are compared, they are created one after another and are unlikely to get the same
+ * identifiers as the removed ones both at once. Repository is dropped as well whenever it is requested while its
+ * {@code .git} directory doesn't exist, which is the case for clone and init.
+ */
+class JGitRepositoryCache {
+    private final Cache<String, CachedRepository> repositories;
+
+    JGitRepositoryCache(int maxSize, long idleTimeout, TimeUnit timeUnit) {
+        repositories = CacheBuilder.newBuilder()
+                                   .maximumSize(maxSize)
+                                   .expireAfterAccess(idleTimeout, timeUnit)
+                                   .removalListener((RemovalListener<String, CachedRepository>)n -> n.getValue().repository.close())
+                                   .build();
+    }
+
+    /**
+     * Gets repository for the specified working directory. Caller must close returned repository when it doesn't need it any
+     * more.
+     *
+     * @throws IOException
+     *         if repository can't be opened
+     */
+    Repository acquire(File workDir) throws IOException {
+        final File gitDir = new File(workDir, Constants.DOT_GIT);
+        final String key = gitDir.getAbsoluteFile().toPath().normalize().toString();
+        final String gitDirId = getRepositoryId(gitDir.toPath());
+        // All access to the cache is synchronized. So removal listener, which is invoked by cache in the thread that modifies it,
+        // can't close repository between getting it from the cache and acquiring of the new reference.
+        synchronized (repositories) {
+            CachedRepository cached = repositories.getIfPresent(key);
+            if (cached != null && !cached.gitDirId.equals(gitDirId)) {
+                repositories.invalidate(key);
+                cached = null;
+            }
+            if (gitDirId.isEmpty()) {
+                // Not a repository yet, e.g. it is going to be cloned or initialized, don't keep it
+                return new FileRepository(gitDir);
+            }
+            if (cached == null) {
+                cached = new CachedRepository(new FileRepository(gitDir), gitDirId);
+                repositories.put(key, cached);
+            }
+            cached.repository.incrementOpen();
+            return cached.repository;
+        }
+    }
+
+    /** Releases all cached repositories. Repositories that are still in use are closed after their users release them. */
+    void invalidateAll() {
+        synchronized (repositories) {
+            repositories.invalidateAll();
+        }
+    }
+
+    /** Gets number of cached repositories. */
+    long size() {
+        synchronized (repositories) {
+            repositories.cleanUp();
+            return repositories.size();
+        }
+    }
+
+    /**
+     * Gets identifier of the repository that is changed when its git directory is removed and created again. Returns empty
+     * string if git directory doesn't exist or it isn't a repository yet.
+     */
+    private static String getRepositoryId(Path gitDir) {
+        final String gitDirId = getDirectoryId(gitDir);
+        final String objectsDirId = gitDirId.isEmpty() ? "" : getDirectoryId(gitDir.resolve(Constants.OBJECTS));
+        return objectsDirId.isEmpty() ? "" : gitDirId + '/' + objectsDirId;
+    }
+
+    /**
+     * Gets identifier of the directory that is changed when directory is removed and created again. Returns empty string if
+     * directory doesn't exist.
+     * <p/>
+     * File key (device and inode on unix) is used when file system provides it. Creation time is not reliable there, on Linux it is
+     * reported as time of last modification, so it changes on each write to the directory.
+     */
+    private static String getDirectoryId(Path dir) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(dir, BasicFileAttributes.class);
+            if (!attributes.isDirectory()) {
+                return "";
+            }
+            final Object fileKey = attributes.fileKey();
+            return fileKey != null ? fileKey.toString() : Long.toString(attributes.creationTime().toMillis());
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static class CachedRepository {
+        final Repository repository;
+        final String     gitDirId;
+
+        CachedRepository(Repository repository, String gitDirId) {
+            this.repository = repository;
+            this.gitDirId = gitDirId;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.io.Files;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class JGitRepositoryCacheTest {
+    private File                workDir;
+    private JGitRepositoryCache repositoryCache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDir();
+        repositoryCache = new JGitRepositoryCache(2, 1, TimeUnit.MINUTES);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        repositoryCache.invalidateAll();
+        IoUtil.deleteRecursive(workDir);
+    }
+
+    @Test
+    public void shouldReuseRepositoryForTheSameWorkingDirectory() throws Exception {
+        initRepository(workDir);
+
+        Repository first = repositoryCache.acquire(workDir);
+        first.close();
+        Repository second = repositoryCache.acquire(new File(workDir, "."));
+        second.close();
+
+        assertSame(second, first);
+        assertEquals(repositoryCache.size(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheDirectoryWhichIsNotRepository() throws Exception {
+        Repository first = repositoryCache.acquire(workDir);
+        first.close();
+        Repository second = repositoryCache.acquire(workDir);
+        second.close();
+
+        assertNotSame(second, first);
+        assertEquals(repositoryCache.size(), 0);
+    }
+
+    @Test
+    public void shouldOpenNewRepositoryWhenGitDirectoryIsRecreated() throws Exception {
+        initRepository(workDir);
+        Repository first = repositoryCache.acquire(workDir);
+        first.close();
+
+        IoUtil.deleteRecursive(new File(workDir, Constants.DOT_GIT));
+        Repository removed = repositoryCache.acquire(workDir);
+        removed.close();
+        assertFalse(removed.getObjectDatabase().exists());
+        assertEquals(repositoryCache.size(), 0);
+        initRepository(workDir);
+        Repository second = repositoryCache.acquire(workDir);
+        second.close();
+
+        assertNotSame(second, first);
+        assertTrue(second.getObjectDatabase().exists());
+        assertEquals(repositoryCache.size(), 1);
+    }
+
+    @Test
+    public void shouldOpenNewRepositoryWhenObjectsDirectoryIsRecreated() throws Exception {
+        initRepository(workDir);
+        Repository first = repositoryCache.acquire(workDir);
+        first.close();
+
+        // git directory keeps its identifier, as if it were reused by the file system for the new repository
+        File objectsDir = new File(new File(workDir, Constants.DOT_GIT), Constants.OBJECTS);
+        File movedObjectsDir = new File(workDir, "objects");
+        assertTrue(objectsDir.renameTo(movedObjectsDir));
+        IoUtil.copy(movedObjectsDir, objectsDir, null);
+        Repository second = repositoryCache.acquire(workDir);
+        second.close();
+
+        assertNotSame(second, first);
+        assertEquals(repositoryCache.size(), 1);
+    }
+
+    @Test
+    public void shouldReuseRepositoryWhenGitDirectoryIsModified() throws Exception {
+        initRepository(workDir);
+        Repository first = repositoryCache.acquire(workDir);
+        first.close();
+
+        File gitDir = new File(workDir, Constants.DOT_GIT);
+        assertTrue(new File(gitDir, "FETCH_HEAD").createNewFile());
+        assertTrue(gitDir.setLastModified(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1)));
+        Repository second = repositoryCache.acquire(workDir);
+        second.close();
+
+        assertSame(second, first);
+    }
+
+    @Test
+    public void shouldKeepEvictedRepositoryUsableUntilItIsReleased() throws Exception {
+        File[] workDirs = {new File(workDir, "a"), new File(workDir, "b"), new File(workDir, "c")};
+        for (File dir : workDirs) {
+            initRepository(dir);
+        }
+
+        Repository inUse = repositoryCache.acquire(workDirs[0]);
+        repositoryCache.acquire(workDirs[1]).close();
+        repositoryCache.acquire(workDirs[2]).close();
+
+        assertEquals(repositoryCache.size(), 2);
+        assertEquals(inUse.exactRef(Constants.HEAD).getTarget().getName(), "refs/heads/master");
+        inUse.close();
+        assertNotSame(repositoryCache.acquire(workDirs[0]), inUse);
+    }
+
+    private static void initRepository(File dir) throws Exception {
+        Git.init().setDirectory(dir).call().close();
+    }
+}
@@ -47,7 +47,10 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -355,6 +358,82 @@ public class MachineService extends Service {
         return machine.readFileContent(path, startFrom, limit);
     }
 
+    /**
+     * Reads bytes of file from machine by specified path.
+     *
+     * @param machineId
+     *         id of machine
+     * @param path
+     *         path to file on machine instance
+     * @param offset
+     *         position of the first byte to read
+     * @param length
+     *         max number of bytes to read, if not specified bytes are read up to the end of file
+     * @param follow
+     *         if {@code true} response is not finished at the end of file,
+     *         bytes which are appended to the file later are sent as soon as they are read.
+     *         Client disconnection is noticed only when bytes are sent, so machine may finish the response
+     *         when nothing is appended to the file for a while, client continues following with the next offset
+     * @return file bytes
+     * @throws NotFoundException
+     *         if machine or file with specified path doesn't exist
+     * @throws BadRequestException
+     *         if offset is negative
+     * @throws ServerException
+     *         if any other error occurs with file reading
+     */
+    @GET
+    @Path("/{machineId}/file/{path:.*}")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    @ApiOperation(value = "Get bytes of file in machine")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains file bytes"),
+                   @ApiResponse(code = 400, message = "Offset is negative"),
+                   @ApiResponse(code = 404, message = "Machine or file with specified path does not exist"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public Response getFileBytes(@ApiParam(value = "Machine ID")
+                                 @PathParam("machineId")
+                                 String machineId,
+                                 @ApiParam(value = "Path of file")
+                                 @PathParam("path")
+                                 String path,
+                                 @ApiParam(value = "Position of the first byte")
+                                 @QueryParam("offset")
+                                 @DefaultValue("0")
+                                 Long offset,
+                                 @ApiParam(value = "Number of bytes, all the bytes up to the end of file are returned by default")
+                                 @QueryParam("length")
+                                 @DefaultValue("-1")
+                                 Long length,
+                                 @ApiParam(value = "Whether to wait for bytes appended to the file, " +
+                                                   "the response may end when nothing is appended for a while")
+                                 @QueryParam("follow")
+                                 @DefaultValue("false")
+                                 Boolean follow)
+            throws NotFoundException,
+                   ForbiddenException,
+                   ServerException,
+                   BadRequestException {
+        if (offset < 0) {
+            throw new BadRequestException("Offset must not be negative");
+        }
+
+        final Instance machine = machineManager.getInstance(machineId);
+        final InputStream content = machine.readFileBytes(path, offset, length, follow);
+        final StreamingOutput output = stream -> {
+            try (InputStream in = content) {
+                final byte[] buf = new byte[8192];
+                int n;
+                while ((n = in.read(buf)) != -1) {
+                    stream.write(buf, 0, n);
+                    if (follow) {
+                        stream.flush();
+                    }
+                }
+            }
+        };
+        return Response.ok(output).build();
+    }
+
     /**
      * Copies files from specified machine into current machine.
      *
@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -107,6 +108,28 @@ public interface Instance extends Machine {
      */
     String readFileContent(String filePath, int startFrom, int limit) throws MachineException;
 
+    /**
+     * Reads bytes of file from machine by specified path.
+     *
+     * @param filePath
+     *         path to file on machine instance
+     * @param offset
+     *         position of the first byte to read
+     * @param length
+     *         max number of bytes to read, {@code -1} means read up to the end of file
+     * @param follow
+     *         if {@code true} end of file doesn't end returned stream, bytes which are appended
+     *         to the file later are returned until {@code length} bytes are read or stream is closed,
+     *         implementation may end the stream at the end of file earlier, e.g. when nothing
+     *         is appended to the file for a long time
+     * @return stream of file bytes, must be closed by the caller
+     * @throws NotFoundException
+     *         if file doesn't exist
+     * @throws MachineException
+     *         if any other error occurs with file reading
+     */
+    InputStream readFileBytes(String filePath, long offset, long length, boolean follow) throws NotFoundException, MachineException;
+
 
     /**
      * Copies files from specified machine into current machine.
@@ -12,6 +12,8 @@ package org.eclipse.che.api.workspace.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -34,26 +36,38 @@ import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineLogMessageImpl;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.server.event.MachineStartTimingEvent;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
 
@@ -88,6 +102,8 @@ public class WorkspaceRuntimes {
     // 16 - experimental value for stripes count, it comes from default hash map size
     private static final Striped<ReadWriteLock> STRIPED = Striped.readWriteLock(16);
 
+    private static final int                    DEFAULT_MACHINES_PARALLELISM = 4;
+
     @VisibleForTesting
     final Map<String, RuntimeDescriptor>        descriptors;
     @VisibleForTesting
@@ -97,17 +113,36 @@ public class WorkspaceRuntimes {
     private final EventService                        eventService;
     private final EventSubscriber<MachineStatusEvent> addMachineEventSubscriber;
     private final EventSubscriber<MachineStatusEvent> removeMachineEventSubscriber;
+    private final int                                 machinesParallelism;
+    private final ExecutorService                     executor;
 
     private volatile boolean isPreDestroyInvoked;
 
+    /**
+     * @param machinesParallelism
+     *         the maximum number of non-dev machines of a single workspace which are started or stopped at the same time
+     */
     @Inject
-    public WorkspaceRuntimes(MachineManager machineManager, EventService eventService) {
+    public WorkspaceRuntimes(MachineManager machineManager,
+                             EventService eventService,
+                             @Named("workspace.runtime.machines_parallelism") int machinesParallelism) {
+        if (machinesParallelism < 1) {
+            throw new IllegalArgumentException("Machines parallelism must be positive, but was " + machinesParallelism);
+        }
         this.machineManager = machineManager;
         this.eventService = eventService;
+        this.machinesParallelism = machinesParallelism;
         this.descriptors = new HashMap<>();
         this.startQueues = new HashMap<>();
         this.addMachineEventSubscriber = new AddMachineEventSubscriber();
         this.removeMachineEventSubscriber = new RemoveMachineEventSubscriber();
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("WorkspaceRuntimes-%d")
+                                                                                .setDaemon(true)
+                                                                                .build());
+    }
+
+    public WorkspaceRuntimes(MachineManager machineManager, EventService eventService) {
+        this(machineManager, eventService, DEFAULT_MACHINES_PARALLELISM);
     }
 
     /**
@@ -147,6 +182,9 @@ public class WorkspaceRuntimes {
      * If dev-machine start failed then method will throw appropriate
      * {@link ServerException}. During the start of the workspace its
      * runtime is visible with {@link WorkspaceStatus#STARTING} status.
+     * When dev-machine is started the other machines are started concurrently,
+     * but not more than configured number of machines at the same time.
+     * The time of each machine start is published with {@link MachineStartTimingEvent}.
      *
      * <p>If {@link #stop} method executed after dev machine is started but
      * another machines haven't been started yet then {@link ConflictException}
@@ -238,8 +276,8 @@ public class WorkspaceRuntimes {
     /**
      * Stops running workspace runtime.
      *
-     * <p>Stops all running machines one by one,
-     * non-dev machines first. During the stop of the workspace
+     * <p>Stops all running machines, non-dev machines first,
+     * non-dev machines are stopped concurrently. During the stop of the workspace
      * its runtime is accessible with {@link WorkspaceStatus#STOPPING stopping} status.
      * Workspace may be stopped only if its status is {@link WorkspaceStatus#RUNNING}.
      *
@@ -368,6 +406,9 @@ public class WorkspaceRuntimes {
         for (int i = 0; i < STRIPED.size(); i++) {
             STRIPED.getAt(i).writeLock().unlock();
         }
+
+        // Machines which are currently starting will be processed by the running tasks
+        executor.shutdown();
     }
 
     @VisibleForTesting
@@ -409,8 +450,8 @@ public class WorkspaceRuntimes {
         final List<MachineImpl> machines = workspace.getMachines();
         final MachineImpl devMachine = removeFirstMatching(machines, m -> m.getConfig().isDev());
 
-        // Synchronously destroying all non-dev machines
-        for (MachineImpl machine : machines) {
+        // Synchronously destroying all non-dev machines, machines are destroyed concurrently
+        forEachInParallel(machines, machine -> {
             try {
                 machineManager.destroy(machine.getId(), false);
             } catch (NotFoundException ignore) {
@@ -423,7 +464,7 @@ public class WorkspaceRuntimes {
                                  machine.getWorkspaceId()),
                           ex);
             }
-        }
+        });
 
         // Synchronously destroying dev-machine
         try {
@@ -449,78 +490,17 @@ public class WorkspaceRuntimes {
                                                     ConflictException {
         publishEvent(EventType.STARTING, workspaceId, null);
 
-        // Starting all the machines one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
-        MachineConfigImpl config = queuePeekOrFail(workspaceId);
-        while (config != null) {
-
-            // According to WorkspaceStatus specification the workspace start
-            // is failed when dev-machine start is failed, so if any error
-            // occurs during machine creation and the machine is dev-machine
-            // then start fail is reported and start resources such as queue
-            // and descriptor must be cleaned up
-            MachineImpl machine = null;
-            try {
-                machine = startMachine(config, workspaceId, envName, recover);
-            } catch (RuntimeException | ServerException | ConflictException | NotFoundException x) {
-                if (config.isDev()) {
-                    publishEvent(EventType.ERROR, workspaceId, x.getLocalizedMessage());
-                    cleanupStartResources(workspaceId);
-                    throw x;
-                }
-                LOG.error(format("Error while creating non-dev machine '%s' in workspace '%s', environment '%s'",
-                                 config.getName(),
-                                 workspaceId,
-                                 envName),
-                          x);
-            }
-
-            // Machine destroying is an expensive operation which must be
-            // performed outside of the lock, this section checks if
-            // the workspace wasn't stopped while it is starting and sets
-            // polled flag to true if the workspace wasn't stopped plus
-            // polls the proceeded machine configuration from the queue
-            boolean queuePolled = false;
-            acquireWriteLock(workspaceId);
-            try {
-                ensurePreDestroyIsNotExecuted();
-                final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
-                if (queue != null) {
-                    queue.poll();
-                    queuePolled = true;
-                    if (machine != null) {
-                        final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
-                        if (config.isDev()) {
-                            descriptor.getRuntime().setDevMachine(machine);
-                            descriptor.setRuntimeStatus(WorkspaceStatus.RUNNING);
-                        }
-                        descriptor.getRuntime().getMachines().add(machine);
-                    }
-                }
-            } finally {
-                releaseWriteLock(workspaceId);
-            }
-
-            // Event publication should be performed outside of the lock
-            // as it may take some time to notify subscribers
-            if (machine != null && config.isDev()) {
-                publishEvent(EventType.RUNNING, workspaceId, null);
-            }
+        // Dev-machine is in the queue head, it is started first
+        startQueuedMachine(queuePeekOrFail(workspaceId), workspaceId, envName, recover);
 
-            // If machine config is not polled from the queue
-            // then workspace was stopped and newly created machine
-            // must be destroyed(if such exists)
-            if (!queuePolled) {
-                if (machine != null) {
-                    machineManager.destroy(machine.getId(), false);
-                }
-                throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
-                                                   workspaceId));
-            }
-
-            config = queuePeekOrFail(workspaceId);
-        }
+        // Non-dev machines don't depend on each other, so they are started concurrently.
+        // Machine config stays in the queue until its machine is started,
+        // so if workspace is stopped while machines are starting then
+        // the machines which are not started yet won't be started at all
+        forEachInParallel(queueCopyOrFail(workspaceId), config -> {
+            queuePeekOrFail(workspaceId);
+            startQueuedMachine(config, workspaceId, envName, recover);
+        });
 
         // All the machines tried to start which means that queue
         // should be empty and can be normally removed, but in the case of
@@ -541,6 +521,179 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Starts the machine from the config which is in the start queue
+     * and removes the config from the queue after the machine is started.
+     *
+     * @throws ConflictException
+     *         when workspace was stopped while machine was starting,
+     *         in this case started machine is destroyed
+     */
+    private void startQueuedMachine(MachineConfigImpl config,
+                                    String workspaceId,
+                                    String envName,
+                                    boolean recover) throws ServerException,
+                                                            NotFoundException,
+                                                            ConflictException {
+        // According to WorkspaceStatus specification the workspace start
+        // is failed when dev-machine start is failed, so if any error
+        // occurs during machine creation and the machine is dev-machine
+        // then start fail is reported and start resources such as queue
+        // and descriptor must be cleaned up
+        final long startTime = System.currentTimeMillis();
+        MachineImpl machine = null;
+        try {
+            machine = startMachine(config, workspaceId, envName, recover);
+            publishMachineStartTime(workspaceId, envName, config, startTime, null);
+        } catch (RuntimeException | ServerException | ConflictException | NotFoundException x) {
+            publishMachineStartTime(workspaceId, envName, config, startTime, x.getLocalizedMessage());
+            if (config.isDev()) {
+                publishEvent(EventType.ERROR, workspaceId, x.getLocalizedMessage());
+                cleanupStartResources(workspaceId);
+                throw x;
+            }
+            LOG.error(format("Error while creating non-dev machine '%s' in workspace '%s', environment '%s'",
+                             config.getName(),
+                             workspaceId,
+                             envName),
+                      x);
+        }
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the workspace wasn't stopped while it is starting and sets
+        // polled flag to true if the workspace wasn't stopped plus
+        // removes the proceeded machine configuration from the queue
+        boolean queuePolled = false;
+        acquireWriteLock(workspaceId);
+        try {
+            ensurePreDestroyIsNotExecuted();
+            final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
+            if (queue != null) {
+                queue.remove(config);
+                queuePolled = true;
+                if (machine != null) {
+                    final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
+                    if (config.isDev()) {
+                        descriptor.getRuntime().setDevMachine(machine);
+                        descriptor.setRuntimeStatus(WorkspaceStatus.RUNNING);
+                    }
+                    descriptor.getRuntime().getMachines().add(machine);
+                }
+            }
+        } finally {
+            releaseWriteLock(workspaceId);
+        }
+
+        // Event publication should be performed outside of the lock
+        // as it may take some time to notify subscribers
+        if (machine != null && config.isDev()) {
+            publishEvent(EventType.RUNNING, workspaceId, null);
+        }
+
+        // If machine config is not polled from the queue
+        // then workspace was stopped and newly created machine
+        // must be destroyed(if such exists)
+        if (!queuePolled) {
+            if (machine != null) {
+                machineManager.destroy(machine.getId(), false);
+            }
+            throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
+                                               workspaceId));
+        }
+    }
+
+    private void publishMachineStartTime(String workspaceId,
+                                         String envName,
+                                         MachineConfig config,
+                                         long startTime,
+                                         String error) {
+        eventService.publish(new MachineStartTimingEvent(workspaceId,
+                                                         envName,
+                                                         config.getName(),
+                                                         config.isDev(),
+                                                         startTime,
+                                                         System.currentTimeMillis() - startTime,
+                                                         error));
+    }
+
+    /**
+     * Performs the task for each of the given elements, at most {@link #machinesParallelism} elements
+     * are processed at the same time and the calling thread is one of the processing threads.
+     * Waits until all the elements are processed. When the task fails for any element the rest
+     * of elements are not processed and the failure is rethrown.
+     */
+    private <T> void forEachInParallel(Collection<T> elements, MachinesTask<T> task) throws ServerException,
+                                                                                            NotFoundException,
+                                                                                            ConflictException {
+        final Queue<T> pending = new ConcurrentLinkedQueue<>(elements);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final Runnable worker = () -> {
+            T element;
+            while (failure.get() == null && (element = pending.poll()) != null) {
+                try {
+                    task.perform(element);
+                } catch (RuntimeException | ServerException | NotFoundException | ConflictException x) {
+                    failure.compareAndSet(null, x);
+                }
+            }
+        };
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 1; i < Math.min(machinesParallelism, elements.size()); i++) {
+                // machines are created on behalf of the user who started workspace
+                futures.add(executor.submit(ThreadLocalPropagateContext.wrap(worker)));
+            }
+        } catch (RejectedExecutionException ignored) {
+            // Executor is shut down because application server is stopping,
+            // the rest of the elements are processed by the calling thread
+        }
+        worker.run();
+        for (Future<?> future : futures) {
+            try {
+                Uninterruptibles.getUninterruptibly(future);
+            } catch (ExecutionException x) {
+                failure.compareAndSet(null, new ServerException(x.getCause().getLocalizedMessage(), x.getCause()));
+            }
+        }
+
+        final Exception x = failure.get();
+        if (x instanceof ServerException) {
+            throw (ServerException)x;
+        } else if (x instanceof NotFoundException) {
+            throw (NotFoundException)x;
+        } else if (x instanceof ConflictException) {
+            throw (ConflictException)x;
+        } else if (x != null) {
+            throw (RuntimeException)x;
+        }
+    }
+
+    /**
+     * Returns copy of the queue associated with the given {@code workspaceId}.
+     *
+     * @throws ConflictException
+     *         when queue doesn't exist which means that {@link #stop(String)} executed
+     *         before all the machines started
+     * @throws ServerException
+     *         only if pre destroy has been invoked before copy retrieved
+     */
+    private List<MachineConfigImpl> queueCopyOrFail(String workspaceId) throws ConflictException, ServerException {
+        acquireReadLock(workspaceId);
+        try {
+            ensurePreDestroyIsNotExecuted();
+            final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
+            if (queue == null) {
+                throw new ConflictException(
+                        format("Workspace '%s' start interrupted. Workspace was stopped before all its machines were started",
+                               workspaceId));
+            }
+            return new ArrayList<>(queue);
+        } finally {
+            releaseReadLock(workspaceId);
+        }
+    }
+
     /**
      * Gets head config from the queue associated with the given {@code workspaceId}.
      *
@@ -811,6 +964,12 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /** Task which is performed for each machine or machine config. */
+    @FunctionalInterface
+    private interface MachinesTask<T> {
+        void perform(T element) throws ServerException, NotFoundException, ConflictException;
+    }
+
     private static <T> T removeFirstMatching(List<? extends T> elements, Predicate<T> predicate) {
         T element = null;
         for (final Iterator<? extends T> it = elements.iterator(); it.hasNext() && element == null; ) {
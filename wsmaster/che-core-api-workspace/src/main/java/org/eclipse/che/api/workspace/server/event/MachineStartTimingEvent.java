@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.event;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Informs about how long it took to start a machine of the workspace.
+ * Published once per each machine start attempt, both successful and failed.
+ */
+@EventOrigin("workspace")
+public class MachineStartTimingEvent {
+    private final String  workspaceId;
+    private final String  envName;
+    private final String  machineName;
+    private final boolean dev;
+    private final long    startTime;
+    private final long    duration;
+    private final String  error;
+
+    public MachineStartTimingEvent(String workspaceId,
+                                   String envName,
+                                   String machineName,
+                                   boolean dev,
+                                   long startTime,
+                                   long duration,
+                                   String error) {
+        this.workspaceId = workspaceId;
+        this.envName = envName;
+        this.machineName = machineName;
+        this.dev = dev;
+        this.startTime = startTime;
+        this.duration = duration;
+        this.error = error;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public String getEnvName() {
+        return envName;
+    }
+
+    public String getMachineName() {
+        return machineName;
+    }
+
+    public boolean isDev() {
+        return dev;
+    }
+
+    /** Returns the time in milliseconds when machine start began. */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /** Returns the time in milliseconds which machine start took. */
+    public long getDuration() {
+        return duration;
+    }
+
+    /** Returns the error message if machine start failed, or null if machine started successfully. */
+    public String getError() {
+        return error;
+    }
+}
@@ -27,12 +27,16 @@ import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes.RuntimeDescriptor;
+import org.eclipse.che.api.workspace.server.event.MachineStartTimingEvent;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -44,6 +48,10 @@ import org.testng.annotations.Test;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -55,6 +63,7 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
@@ -206,6 +215,55 @@ public class WorkspaceRuntimesTest {
         verify(machineManager, times(2)).destroy(any(), anyBoolean());
     }
 
+    @Test
+    public void nonDevMachinesShouldBeStartedConcurrently() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(3);
+        runtimes = new WorkspaceRuntimes(machineManager, eventService, 3);
+        // each non-dev machine start waits for the others, so start fails if they are started one by one
+        final CyclicBarrier barrier = new CyclicBarrier(3);
+        doAnswer(invocation -> {
+            final MachineConfig machineCfg = (MachineConfig)invocation.getArguments()[0];
+            if (!machineCfg.isDev()) {
+                barrier.await(10, TimeUnit.SECONDS);
+            }
+            return createMachine(machineCfg);
+        }).when(machineManager).createMachineSync(any(), anyString(), anyString(), any(LineConsumer.class));
+
+        final RuntimeDescriptor descriptor = runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertEquals(descriptor.getRuntimeStatus(), RUNNING);
+        assertEquals(descriptor.getRuntime().getMachines().size(), 4);
+        verify(eventService, times(4)).publish(isA(MachineStartTimingEvent.class));
+    }
+
+    @Test
+    public void nonDevMachinesStartedConcurrentlyShouldBeCreatedInEnvironmentContextOfCaller() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(3);
+        runtimes = new WorkspaceRuntimes(machineManager, eventService, 3);
+        final Subject subject = new SubjectImpl("user", "user123", "token", false);
+        final List<Subject> creators = new CopyOnWriteArrayList<>();
+        final CyclicBarrier barrier = new CyclicBarrier(3);
+        doAnswer(invocation -> {
+            final MachineConfig machineCfg = (MachineConfig)invocation.getArguments()[0];
+            if (!machineCfg.isDev()) {
+                barrier.await(10, TimeUnit.SECONDS);
+            }
+            creators.add(EnvironmentContext.getCurrent().getSubject());
+            return createMachine(machineCfg);
+        }).when(machineManager).createMachineSync(any(), anyString(), anyString(), any(LineConsumer.class));
+
+        final EnvironmentContext context = new EnvironmentContext();
+        context.setSubject(subject);
+        EnvironmentContext.setCurrent(context);
+        try {
+            runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+        } finally {
+            EnvironmentContext.reset();
+        }
+
+        assertEquals(creators, asList(subject, subject, subject, subject));
+    }
+
     @Test
     public void testCleanup() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
@@ -728,15 +786,23 @@ public class WorkspaceRuntimesTest {
     }
 
     private static WorkspaceImpl createWorkspace() {
+        return createWorkspace(1);
+    }
+
+    private static WorkspaceImpl createWorkspace(int nonDevMachines) {
         final MachineConfigImpl devCfg = createConfig(true);
-        final MachineConfigImpl nonDevCfg = MachineConfigImpl.builder()
-                                                             .fromConfig(devCfg)
-                                                             .setName("non-dev")
-                                                             .setDev(false)
-                                                             .build();
+        final List<MachineConfigImpl> machineConfigs = new ArrayList<>();
+        for (int i = 0; i < nonDevMachines; i++) {
+            machineConfigs.add(MachineConfigImpl.builder()
+                                                .fromConfig(devCfg)
+                                                .setName(i == 0 ? "non-dev" : "non-dev-" + i)
+                                                .setDev(false)
+                                                .build());
+        }
+        machineConfigs.add(devCfg);
         final EnvironmentImpl environment = new EnvironmentImpl(ENV_NAME,
                                                                 new RecipeImpl(),
-                                                                asList(nonDevCfg, devCfg));
+                                                                machineConfigs);
         final WorkspaceConfigImpl wsConfig = WorkspaceConfigImpl.builder()
                                                                 .setName("test workspace")
                                                                 .setEnvironments(singletonList(environment))
@@ -11,14 +11,16 @@
 package org.eclipse.che.api.local;
 
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -27,11 +29,18 @@ import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
 
 /**
+ * In-memory implementation of {@link PreferenceDao}.
+ *
+ * <p>Preferences are served from memory. Preferences file may be edited while component is running,
+ * so it is reloaded when its modification is detected. Changes of preferences of each user are appended
+ * to the journal of the local storage, the whole file is rewritten only periodically and on stop.
+ *
  * @author Eugene Voevodin
  * @author Dmitry Shnurenko
  * @author Anton Korneta
@@ -40,55 +49,81 @@ import java.util.regex.Pattern;
 @Singleton
 public class LocalPreferenceDaoImpl implements PreferenceDao {
 
-    private static final Logger LOG = LoggerFactory.getLogger(LocalPreferenceDaoImpl.class);
+    private static final int MAX_CACHED_FILTERS = 100;
 
     private final Map<String, Map<String, String>> preferences;
     private final ReadWriteLock                    lock;
     private final LocalStorage                     preferenceStorage;
+    private final Cache<String, Pattern>           filters;
 
     @Inject
     public LocalPreferenceDaoImpl(LocalStorageFactory localStorageFactory) throws IOException {
         preferences = new HashMap<>();
         lock = new ReentrantReadWriteLock();
         preferenceStorage = localStorageFactory.create("preferences.json");
+        filters = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_FILTERS).build();
     }
 
     @PostConstruct
-    private void start() {
-        preferences.putAll(preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {}));
-        // Add default entry if file doesn't exist or invalid or empty.
-        if (preferences.isEmpty()) {
-            final Map<String, String> newPreferences = new HashMap<>(4);
-            newPreferences.put("preference1", "value");
-            newPreferences.put("preference2", "value");
-            preferences.put("codenvy", newPreferences);
+    @VisibleForTesting
+    void start() {
+        lock.writeLock().lock();
+        try {
+            preferences.putAll(loadPreferences());
+            // Add default entry if file doesn't exist or invalid or empty.
+            if (preferences.isEmpty()) {
+                final Map<String, String> newPreferences = new HashMap<>(4);
+                newPreferences.put("preference1", "value");
+                newPreferences.put("preference2", "value");
+                preferences.put("codenvy", newPreferences);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     @PreDestroy
     private void stop() throws IOException {
-        preferenceStorage.store(preferences);
+        compact();
+    }
+
+    /** Stores preferences of all the users to the preferences file if they were changed, so the journal of changes is cleared. */
+    @ScheduleDelay(initialDelay = 1, delay = 1, unit = TimeUnit.MINUTES)
+    public void compact() throws IOException {
+        // manual changes of the file must not be overwritten
+        reloadIfChanged();
+        lock.readLock().lock();
+        try {
+            if (!preferenceStorage.isJournalEmpty()) {
+                preferenceStorage.store(preferences);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public void setPreferences(String userId, Map<String, String> prefs) throws ServerException {
+        final Map<String, String> copy = new HashMap<>(prefs);
+        final long position;
         lock.writeLock().lock();
         try {
-            preferences.put(userId, new HashMap<>(prefs));
-            preferenceStorage.store(preferences);
-        } catch (IOException e) {
-            LOG.warn("Impossible to store preferences");
+            position = preferenceStorage.put(userId, copy);
+            preferences.put(userId, copy);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
     public Map<String, String> getPreferences(String userId) throws ServerException {
+        //Need read all new preferences without restarting dev-machine. It is needed for  IDEX-2180
+        reloadIfChanged();
         lock.readLock().lock();
         try {
-            //Need read all new preferences without restarting dev-machine. It is needed for  IDEX-2180
-            preferences.putAll(preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {}));
             final Map<String, String> prefs = new HashMap<>();
             if (preferences.containsKey(userId)) {
                 prefs.putAll(preferences.get(userId));
@@ -101,17 +136,16 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     @Override
     public Map<String, String> getPreferences(String userId, String filter) throws ServerException {
-        lock.readLock().lock();
-        try {
-            return filter(getPreferences(userId), filter);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return filter(getPreferences(userId), filter);
     }
 
     private Map<String, String> filter(Map<String, String> prefs, String filter) {
         final Map<String, String> filtered = new HashMap<>();
-        final Pattern pattern = Pattern.compile(filter);
+        Pattern pattern = filters.getIfPresent(filter);
+        if (pattern == null) {
+            pattern = Pattern.compile(filter);
+            filters.put(filter, pattern);
+        }
         for (Map.Entry<String, String> entry : prefs.entrySet()) {
             if (pattern.matcher(entry.getKey()).matches()) {
                 filtered.put(entry.getKey(), entry.getValue());
@@ -122,11 +156,49 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     @Override
     public void remove(String userId) throws ServerException {
+        final long position;
         lock.writeLock().lock();
         try {
+            if (!preferences.containsKey(userId)) {
+                return;
+            }
+            position = preferenceStorage.remove(userId);
             preferences.remove(userId);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        sync(position);
+    }
+
+    /** Reloads preferences if the preferences file was modified after it was loaded or stored. */
+    private void reloadIfChanged() {
+        if (!preferenceStorage.isSnapshotChanged()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (preferenceStorage.isSnapshotChanged()) {
+                // preferences of users which were removed from the file must not survive reload
+                final Map<String, Map<String, String>> loaded = loadPreferences();
+                preferences.clear();
+                preferences.putAll(loaded);
+            }
         } finally {
             lock.writeLock().unlock();
         }
     }
+
+    private Map<String, Map<String, String>> loadPreferences() {
+        return preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {});
+    }
+
+    private void sync(long position) throws ServerException {
+        try {
+            preferenceStorage.sync(position);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
 }
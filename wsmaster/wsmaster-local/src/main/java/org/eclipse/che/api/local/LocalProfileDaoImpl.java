@@ -16,12 +16,14 @@ import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.core.model.user.Profile;
 import org.eclipse.che.api.user.server.model.impl.ProfileImpl;
 import org.eclipse.che.api.user.server.spi.ProfileDao;
 import org.eclipse.che.api.user.server.spi.UserDao;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -31,6 +33,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -72,48 +75,72 @@ public class LocalProfileDaoImpl implements ProfileDao {
 
     @PreDestroy
     private void stop() throws IOException {
-        profileStorage.store(profiles);
+        compact();
+    }
+
+    /** Stores all the profiles to the profiles file if they were changed, so the journal of changes is cleared. */
+    @ScheduleDelay(initialDelay = 1, delay = 1, unit = TimeUnit.MINUTES)
+    public void compact() throws IOException {
+        lock.readLock().lock();
+        try {
+            if (!profileStorage.isJournalEmpty()) {
+                profileStorage.store(profiles);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
-    public void create(ProfileImpl profile) throws ConflictException {
+    public void create(ProfileImpl profile) throws ConflictException, ServerException {
         requireNonNull(profile, "Required non-null profile");
+        final long position;
         lock.writeLock().lock();
         try {
             if (profiles.containsKey(profile.getUserId())) {
                 throw new ConflictException(format("Profile for user '%s' already exists", profile.getUserId()));
             }
-            profiles.put(profile.getUserId(), new ProfileImpl(profile));
+            position = put(new ProfileImpl(profile));
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
-    public void update(ProfileImpl profile) throws NotFoundException {
+    public void update(ProfileImpl profile) throws NotFoundException, ServerException {
         requireNonNull(profile, "Required non-null profile");
+        final long position;
         lock.writeLock().lock();
         try {
             final Profile myProfile = profiles.get(profile.getUserId());
             if (myProfile == null) {
                 throw new NotFoundException(format("Profile with id '%s' not found", profile.getUserId()));
             }
-            myProfile.getAttributes().clear();
-            myProfile.getAttributes().putAll(profile.getAttributes());
+            position = put(new ProfileImpl(myProfile.getUserId(), profile.getAttributes()));
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
-    public void remove(String id) {
+    public void remove(String id) throws ServerException {
         requireNonNull(id, "Required non-null id");
+        final long position;
         lock.writeLock().lock();
         try {
-           profiles.remove(id);
+            if (!profiles.containsKey(id)) {
+                return;
+            }
+            position = profileStorage.remove(id);
+            profiles.remove(id);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
@@ -130,4 +157,24 @@ public class LocalProfileDaoImpl implements ProfileDao {
             lock.readLock().unlock();
         }
     }
+
+    /** Appends the profile to the journal and puts it to the in memory profiles, must be called under the write lock. */
+    private long put(ProfileImpl profile) throws ServerException {
+        final long position;
+        try {
+            position = profileStorage.put(profile.getUserId(), profile);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+        profiles.put(profile.getUserId(), profile);
+        return position;
+    }
+
+    private void sync(long position) throws ServerException {
+        try {
+            profileStorage.sync(position);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
 }
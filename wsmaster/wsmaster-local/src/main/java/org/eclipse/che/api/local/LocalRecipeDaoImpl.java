@@ -20,6 +20,7 @@ import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.dao.RecipeDao;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -28,6 +29,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -59,31 +61,48 @@ public class LocalRecipeDaoImpl implements RecipeDao {
     }
 
     @PreDestroy
+    @ScheduleDelay(initialDelay = 1, delay = 1, unit = TimeUnit.MINUTES)
     public void saveRecipes() throws IOException {
-        recipeStorage.store(recipes);
+        lock.readLock().lock();
+        try {
+            if (!recipeStorage.isJournalEmpty()) {
+                recipeStorage.store(recipes);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
-    public void create(RecipeImpl recipe) throws ConflictException {
+    public void create(RecipeImpl recipe) throws ConflictException, ServerException {
+        final long position;
         lock.writeLock().lock();
         try {
             if (recipes.containsKey(recipe.getId())) {
                 throw new ConflictException(format("Recipe with id %s already exists", recipe.getId()));
             }
+            position = recipeStorage.put(recipe.getId(), recipe);
             recipes.put(recipe.getId(), recipe);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
-    public RecipeImpl update(RecipeImpl update) throws NotFoundException {
+    public RecipeImpl update(RecipeImpl update) throws NotFoundException, ServerException {
+        final long position;
+        final RecipeImpl target;
         lock.writeLock().lock();
         try {
-            final RecipeImpl target = recipes.get(update.getId());
-            if (target == null) {
+            final RecipeImpl existing = recipes.get(update.getId());
+            if (existing == null) {
                 throw new NotFoundException(format("Recipe with id '%s' was not found", update.getId()));
             }
+            // existing recipe is replaced, so it stays unchanged if the update can't be journaled
+            target = new RecipeImpl(existing);
             if (update.getType() != null) {
                 target.setType(update.getType());
             }
@@ -102,21 +121,33 @@ public class LocalRecipeDaoImpl implements RecipeDao {
             if (update.getAcl() != null && !update.getAcl().isEmpty()) {
                 target.setAcl(update.getAcl());
             }
-
-            return new RecipeImpl(target);
+            position = recipeStorage.put(target.getId(), target);
+            recipes.put(target.getId(), target);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
+        return new RecipeImpl(target);
     }
 
     @Override
-    public void remove(String id) {
+    public void remove(String id) throws ServerException {
+        final long position;
         lock.writeLock().lock();
         try {
+            if (!recipes.containsKey(id)) {
+                return;
+            }
+            position = recipeStorage.remove(id);
             recipes.remove(id);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
@@ -150,4 +181,12 @@ public class LocalRecipeDaoImpl implements RecipeDao {
             lock.readLock().unlock();
         }
     }
+
+    private void sync(long position) throws ServerException {
+        try {
+            recipeStorage.sync(position);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
 }
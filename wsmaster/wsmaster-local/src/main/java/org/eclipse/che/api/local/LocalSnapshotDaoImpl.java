@@ -20,6 +20,7 @@ import org.eclipse.che.api.machine.server.dao.SnapshotDao;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.model.impl.adapter.MachineSourceAdapter;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -31,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 import static java.util.Collections.singletonMap;
@@ -38,6 +40,7 @@ import static java.util.stream.Collectors.toList;
 
 /**
  * In-memory implementation of {@link SnapshotDao}.
+ * Changes are appended to the journal of the local storage, snapshots are stored periodically and on stop.
  *
  * @author Yevhenii Voevodin
  */
@@ -74,13 +77,25 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     }
 
     @Override
-    public synchronized void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
+    public void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
         Objects.requireNonNull(snapshot, "Required non-null snapshot");
-        final Optional<SnapshotImpl> opt = doGetSnapshot(snapshot.getWorkspaceId(), snapshot.getEnvName(), snapshot.getMachineName());
-        if (opt.isPresent()) {
-            snapshots.remove(opt.get().getId());
+        final long position;
+        synchronized (this) {
+            final Optional<SnapshotImpl> opt = doGetSnapshot(snapshot.getWorkspaceId(),
+                                                             snapshot.getEnvName(),
+                                                             snapshot.getMachineName());
+            try {
+                if (opt.isPresent()) {
+                    snapshotStorage.remove(opt.get().getId());
+                    snapshots.remove(opt.get().getId());
+                }
+                position = snapshotStorage.put(snapshot.getId(), snapshot);
+            } catch (IOException x) {
+                throw new SnapshotException(x.getLocalizedMessage(), x);
+            }
+            snapshots.put(snapshot.getId(), snapshot);
         }
-        snapshots.put(snapshot.getId(), snapshot);
+        sync(position);
     }
 
     @Override
@@ -92,8 +107,20 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     }
 
     @Override
-    public synchronized void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
-        snapshots.remove(snapshotId);
+    public void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
+        final long position;
+        synchronized (this) {
+            if (!snapshots.containsKey(snapshotId)) {
+                return;
+            }
+            try {
+                position = snapshotStorage.remove(snapshotId);
+            } catch (IOException x) {
+                throw new SnapshotException(x.getLocalizedMessage(), x);
+            }
+            snapshots.remove(snapshotId);
+        }
+        sync(position);
     }
 
     @PostConstruct
@@ -102,8 +129,19 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     }
 
     @PreDestroy
+    @ScheduleDelay(initialDelay = 1, delay = 1, unit = TimeUnit.MINUTES)
     public synchronized void saveSnapshots() throws IOException {
-        snapshotStorage.store(snapshots);
+        if (!snapshotStorage.isJournalEmpty()) {
+            snapshotStorage.store(snapshots);
+        }
+    }
+
+    private void sync(long position) throws SnapshotException {
+        try {
+            snapshotStorage.sync(position);
+        } catch (IOException x) {
+            throw new SnapshotException(x.getLocalizedMessage(), x);
+        }
     }
 
     private Optional<SnapshotImpl> doGetSnapshot(String workspaceId, String envName, String machineName) {
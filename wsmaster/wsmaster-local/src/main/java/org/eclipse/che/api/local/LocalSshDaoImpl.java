@@ -17,10 +17,12 @@ import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.ssh.server.model.impl.SshPairImpl;
 import org.eclipse.che.api.ssh.server.spi.SshDao;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -32,6 +34,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -57,7 +60,8 @@ public class LocalSshDaoImpl implements SshDao {
     }
 
     @Override
-    public void create(String owner, SshPairImpl usersSshPair) throws ConflictException {
+    public void create(String owner, SshPairImpl usersSshPair) throws ConflictException, ServerException {
+        final long position;
         lock.writeLock().lock();
         try {
             final Optional<SshPairImpl> any = find(owner, usersSshPair.getService(), usersSshPair.getName());
@@ -66,10 +70,16 @@ public class LocalSshDaoImpl implements SshDao {
                                                    usersSshPair.getService(),
                                                    usersSshPair.getName()));
             }
+            final List<SshPairImpl> ownerPairs = new ArrayList<>(pairs.get(owner));
+            ownerPairs.add(usersSshPair);
+            position = sshStorage.put(owner, ownerPairs);
             pairs.put(owner, usersSshPair);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
@@ -87,17 +97,24 @@ public class LocalSshDaoImpl implements SshDao {
     }
 
     @Override
-    public void remove(String owner, String service, String name) throws NotFoundException {
+    public void remove(String owner, String service, String name) throws NotFoundException, ServerException {
+        final long position;
         lock.writeLock().lock();
         try {
             final Optional<SshPairImpl> any = find(owner, service, name);
             if (!any.isPresent()) {
                 throw new NotFoundException(format("Ssh pair with service '%s' and name '%s' was not found.", service, name));
             }
+            final List<SshPairImpl> ownerPairs = new ArrayList<>(pairs.get(owner));
+            ownerPairs.remove(any.get());
+            position = ownerPairs.isEmpty() ? sshStorage.remove(owner) : sshStorage.put(owner, ownerPairs);
             pairs.remove(owner, any.get());
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
@@ -138,10 +155,13 @@ public class LocalSshDaoImpl implements SshDao {
     }
 
     @PreDestroy
-    @VisibleForTesting
-    void saveSshPairs() throws IOException {
+    @ScheduleDelay(initialDelay = 1, delay = 1, unit = TimeUnit.MINUTES)
+    public void saveSshPairs() throws IOException {
         lock.readLock().lock();
         try {
+            if (sshStorage.isJournalEmpty()) {
+                return;
+            }
             final HashMap<String, List<SshPairImpl>> ownerToPairs = new HashMap<>();
             for (Map.Entry<String, SshPairImpl> entry : pairs.entries()) {
                 ownerToPairs.computeIfAbsent(entry.getKey(), s -> new ArrayList<>());
@@ -152,4 +172,12 @@ public class LocalSshDaoImpl implements SshDao {
             lock.readLock().unlock();
         }
     }
+
+    private void sync(long position) throws ServerException {
+        try {
+            sshStorage.sync(position);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
 }
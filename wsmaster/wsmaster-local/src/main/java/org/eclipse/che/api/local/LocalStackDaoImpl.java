@@ -20,6 +20,7 @@ import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.shared.stack.Stack;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -28,6 +29,7 @@ import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
@@ -64,23 +66,39 @@ public class LocalStackDaoImpl implements StackDao {
 
     @PreDestroy
     public void stop() throws IOException {
-        lock.writeLock().lock();
-        stackStorage.store(stacks);
-        lock.writeLock().unlock();
+        compact();
+    }
+
+    /** Stores all the stacks to the stacks file if they were changed, so the journal of changes is cleared. */
+    @ScheduleDelay(initialDelay = 1, delay = 1, unit = TimeUnit.MINUTES)
+    public void compact() throws IOException {
+        lock.readLock().lock();
+        try {
+            if (!stackStorage.isJournalEmpty()) {
+                stackStorage.store(stacks);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public void create(StackImpl stack) throws ConflictException, ServerException {
         requireNonNull(stack, "Stack required");
+        final long position;
         lock.writeLock().lock();
         try {
             if (stacks.containsKey(stack.getId())) {
                 throw new ConflictException(format("Stack with id %s is already exist", stack.getId()));
             }
+            position = stackStorage.put(stack);
             stacks.put(stack.getId(), stack);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
@@ -101,29 +119,41 @@ public class LocalStackDaoImpl implements StackDao {
     @Override
     public void remove(String id) throws ServerException {
         requireNonNull(id, "Stack id required");
+        final long position;
         lock.writeLock().lock();
         try {
-            stacks.remove(id);
+            if (stacks.remove(id) == null) {
+                return;
+            }
+            position = stackStorage.remove(id);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
     }
 
     @Override
     public StackImpl update(StackImpl update) throws NotFoundException, ServerException {
         requireNonNull(update, "Stack required");
         requireNonNull(update.getId(), "Stack id required");
+        final long position;
         lock.writeLock().lock();
         try {
             String updateId = update.getId();
             if (!stacks.containsKey(updateId)) {
                 throw new NotFoundException(format("Stack with id %s was not found", updateId));
             }
+            position = stackStorage.put(update);
             stacks.replace(updateId, update);
-            return new StackImpl(update);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(position);
+        return new StackImpl(update);
     }
 
     @Override
@@ -145,4 +175,12 @@ public class LocalStackDaoImpl implements StackDao {
             lock.readLock().unlock();
         }
     }
+
+    private void sync(long position) throws ServerException {
+        try {
+            stackStorage.sync(position);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
 }
@@ -11,39 +11,84 @@
 package org.eclipse.che.api.local.storage;
 
 
-import com.google.common.io.Files;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
-import java.nio.charset.Charset;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
  * Implementation of file system storage for model objects.
  *
+ * <p>Objects are stored to the json snapshot file with {@link #store(Object)}.
+ * Changes of the stored map made after that may be appended to the journal file
+ * with {@link #put(Object, Object)} and {@link #remove(Object)}, so they survive a crash without
+ * rewriting the whole snapshot. {@link #loadMap(TypeToken)} replays the journal over the snapshot
+ * and {@link #store(Object)} replaces both with the new snapshot, i.e. compacts the journal.
+ *
+ * <p>Appended records become durable after {@link #sync(long)}, which forces all the records
+ * appended so far by all the threads with a single fsync, so concurrent writers share the cost of it.
+ *
  * @author Anton Korneta
  */
 public class LocalStorage {
 
     private static final Logger LOG = LoggerFactory.getLogger(LocalStorage.class);
 
+    private static final String KEY   = "key";
+    private static final String VALUE = "value";
+
     /**
      * json file to store and load
      */
     private File storedFile;
     private Gson gson;
 
+    /** Journal of changes made after the snapshot was stored, each line is a json record. */
+    private final File       journalFile;
+    private final Gson       journalGson;
+    private final Object     syncLock;
+    private final AtomicLong synced;
+
+    private FileChannel   journal;
+    private long          journalRecords;
+    private volatile long appended;
+
+    /** Modification time and length of the snapshot file when it was loaded or stored last time. */
+    private long snapshotModified;
+    private long snapshotLength;
+
     public LocalStorage(String rootDirPath, String fileName) throws IOException {
         this(rootDirPath, fileName, Collections.emptyMap());
     }
@@ -54,17 +99,217 @@ public class LocalStorage {
             throw new IOException("Impossible to create root folder for local storage");
         }
         storedFile = new File(rootDir, fileName);
+        journalFile = new File(rootDir, fileName + ".journal");
         GsonBuilder builder = new GsonBuilder();
         for (Map.Entry<Class<?>, Object> adapter : typeAdapters.entrySet()) {
             builder.registerTypeAdapter(adapter.getKey(), adapter.getValue());
         }
+        journalGson = builder.create();
         gson = builder.setPrettyPrinting().create();
+        syncLock = new Object();
+        synced = new AtomicLong();
     }
 
-    public void store(Object storedObj) throws IOException {
-        try (Writer writer = Files.newWriter(storedFile, Charset.forName("UTF-8"))) {
+    /**
+     * Atomically replaces snapshot file with the given object and clears the journal.
+     *
+     * @param storedObj
+     *         object to store, when journal is used it must contain all the changes appended to the journal
+     * @throws IOException
+     *         when any error occurs while writing the snapshot
+     */
+    public synchronized void store(Object storedObj) throws IOException {
+        final File tmp = new File(storedFile.getParentFile(), storedFile.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            final Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
             gson.toJson(storedObj, writer);
+            writer.flush();
+            out.getFD().sync();
+        }
+        Files.move(tmp.toPath(), storedFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        // journal is the only durable copy of the changes until the rename itself is durable
+        syncDirectory(storedFile.getParentFile());
+        rememberSnapshot();
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+        Files.deleteIfExists(journalFile.toPath());
+        journalRecords = 0;
+        // all the appended records are in the snapshot now
+        synced.accumulateAndGet(appended, Math::max);
+    }
+
+    /**
+     * Appends record about the new value of the map entry to the journal.
+     * Record is not durable until {@link #sync(long)} is called.
+     *
+     * @return position of the record in the journal
+     * @throws IOException
+     *         when any error occurs while writing the record
+     */
+    public long put(Object key, Object value) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.add(KEY, journalGson.toJsonTree(key));
+        record.add(VALUE, journalGson.toJsonTree(value));
+        return append(record);
+    }
+
+    /**
+     * Appends record about removal of the map entry to the journal.
+     * Record is not durable until {@link #sync(long)} is called.
+     *
+     * @return position of the record in the journal
+     * @throws IOException
+     *         when any error occurs while writing the record
+     */
+    public long remove(Object key) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.add(KEY, journalGson.toJsonTree(key));
+        return append(record);
+    }
+
+    /**
+     * Waits until the journal record with the given position and all the records before it are written to the disk.
+     * Records appended by other threads in the meantime are forced together with the given one.
+     *
+     * @param position
+     *         position of the record returned by {@link #put(Object, Object)} or {@link #remove(Object)}
+     * @throws IOException
+     *         when any error occurs while forcing the journal
+     */
+    public void sync(long position) throws IOException {
+        if (synced.get() >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced.get() >= position) {
+                return;
+            }
+            final FileChannel channel;
+            final long target;
+            synchronized (this) {
+                channel = journal;
+                target = appended;
+            }
+            if (channel != null) {
+                try {
+                    channel.force(false);
+                } catch (ClosedChannelException x) {
+                    // journal was closed by store, wait until it finishes, the stored snapshot contains the record
+                    synchronized (this) {
+                        if (synced.get() < position) {
+                            throw x;
+                        }
+                    }
+                    return;
+                }
+            }
+            synced.accumulateAndGet(target, Math::max);
+        }
+    }
+
+    /** Returns {@code true} if there are no changes appended after the snapshot was stored or the journal was loaded. */
+    public synchronized boolean isJournalEmpty() {
+        return journalRecords == 0;
+    }
+
+    /**
+     * Returns {@code true} if the snapshot file was changed by somebody else after it was loaded or stored
+     * by this storage, e.g. edited manually. Only modification time and length of the file are checked.
+     */
+    public synchronized boolean isSnapshotChanged() {
+        return storedFile.lastModified() != snapshotModified || storedFile.length() != snapshotLength;
+    }
+
+    private synchronized void rememberSnapshot() {
+        snapshotModified = storedFile.lastModified();
+        snapshotLength = storedFile.length();
+    }
+
+    private synchronized long append(JsonObject record) throws IOException {
+        if (journal == null) {
+            journal = openJournal();
+        }
+        final ByteBuffer buf = StandardCharsets.UTF_8.encode(journalGson.toJson(record) + '\n');
+        while (buf.hasRemaining()) {
+            journal.write(buf);
+        }
+        journalRecords++;
+        return ++appended;
+    }
+
+    /** Forces the directory entries, e.g. the rename of the snapshot, to the disk. */
+    private static void syncDirectory(File dir) throws IOException {
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(dir.toPath(), READ);
+        } catch (IOException x) {
+            // directories can't be opened on some platforms, e.g. windows, nothing to sync there
+            LOG.debug("Impossible to open directory " + dir + " to sync it");
+            return;
         }
+        try {
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private FileChannel openJournal() throws IOException {
+        final FileChannel channel = FileChannel.open(journalFile.toPath(), CREATE, READ, WRITE);
+        final long size = channel.size();
+        channel.position(size);
+        // record torn by crash must not be merged with the next one
+        if (size > 0) {
+            final ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            if (last.get(0) != '\n') {
+                channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Applies journal records to the map loaded from the snapshot.
+     * Records which can't be parsed, e.g. the last record torn by crash, are skipped.
+     */
+    private synchronized <K, V> Map<K, V> replayJournal(Map<K, V> snapshot, TypeToken<Map<K, V>> mapToken) {
+        if (!journalFile.exists()) {
+            return snapshot;
+        }
+        final Type keyType = mapToken.resolveType(Map.class.getTypeParameters()[0]).getType();
+        final Type valueType = mapToken.resolveType(Map.class.getTypeParameters()[1]).getType();
+        final Map<K, V> result = new LinkedHashMap<>(snapshot);
+        long records = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    final JsonObject record = journalGson.fromJson(line, JsonObject.class);
+                    if (record == null || !record.has(KEY)) {
+                        throw new JsonParseException("Record doesn't contain key");
+                    }
+                    final K key = journalGson.fromJson(record.get(KEY), keyType);
+                    if (record.has(VALUE)) {
+                        result.put(key, journalGson.fromJson(record.get(VALUE), valueType));
+                    } else {
+                        result.remove(key);
+                    }
+                    records++;
+                } catch (JsonParseException | ClassCastException x) {
+                    LOG.warn("Skipped invalid record of journal " + journalFile.getName());
+                }
+            }
+        } catch (IOException ioEx) {
+            LOG.error("Impossible to read journal " + journalFile.getName(), ioEx);
+        }
+        journalRecords = records;
+        return result;
     }
 
     /**
@@ -75,8 +320,10 @@ public class LocalStorage {
      * @return an object of type T from the json file or null if json invalid or file not found.
      */
     public <T> T load(TypeToken<T> token) {
+        // changes made while file is read are detected by the next check
+        rememberSnapshot();
         T result = null;
-        try (Reader reader = Files.newReader(storedFile, Charset.forName("UTF-8"))) {
+        try (Reader reader = new InputStreamReader(new FileInputStream(storedFile), StandardCharsets.UTF_8)) {
             result = gson.fromJson(reader, token.getType());
         } catch (JsonSyntaxException e) {
             LOG.warn(storedFile.getName() + " contains invalid JSON content");
@@ -108,13 +355,14 @@ public class LocalStorage {
      *         the type of mapped values
      * @param mapToken
      *         map type holder.
-     * @return map objects from json file. If json invalid or file not found return emptyMap.
+     * @return map objects from json file with applied journal records. If json invalid or file not found
+     * and there is no journal return emptyMap.
      */
     public <K, V> Map<K, V> loadMap(TypeToken<Map<K, V>> mapToken) {
         Map<K, V> result = load(mapToken);
         if (result == null) {
-            return Collections.emptyMap();
+            result = Collections.emptyMap();
         }
-        return result;
+        return replayJournal(result, mapToken);
     }
 }
\ No newline at end of file
@@ -55,7 +55,8 @@ public class StackLocalStorage {
     }
 
     /**
-     * Store map {@code stacks} to the local stack storage
+     * Store map {@code stacks} to the local stack storage. Icons are not rewritten,
+     * they are kept in sync with stacks by {@link #put(StackImpl)} and {@link #remove(String)}.
      *
      * @param stacks
      *         map, where key is id of the {@link StackImpl} and value is {@link StackImpl})
@@ -63,8 +64,47 @@ public class StackLocalStorage {
      */
     public void store(Map<String, StackImpl> stacks) throws IOException {
         localStorage.store(stacks);
-        deleteDirectory(iconFolderPath.toFile());
-        stacks.values().forEach(this::saveIcon);
+    }
+
+    /**
+     * Appends new state of the {@code stack} to the journal of the local stack storage and saves its icon.
+     *
+     * @return position of the record in the journal, see {@link #sync(long)}
+     * @throws IOException
+     *         when any error occurs while writing to the journal
+     */
+    public long put(StackImpl stack) throws IOException {
+        final long position = localStorage.put(stack.getId(), stack);
+        deleteDirectory(iconFolderPath.resolve(stack.getId()).toFile());
+        saveIcon(stack);
+        return position;
+    }
+
+    /**
+     * Appends removal of the stack to the journal of the local stack storage and removes its icon.
+     *
+     * @return position of the record in the journal, see {@link #sync(long)}
+     * @throws IOException
+     *         when any error occurs while writing to the journal
+     */
+    public long remove(String stackId) throws IOException {
+        final long position = localStorage.remove(stackId);
+        deleteDirectory(iconFolderPath.resolve(stackId).toFile());
+        return position;
+    }
+
+    /**
+     * Waits until the journal record with the given position is written to the disk.
+     *
+     * @see LocalStorage#sync(long)
+     */
+    public void sync(long position) throws IOException {
+        localStorage.sync(position);
+    }
+
+    /** Returns {@code true} if there are no stack changes which are not stored to the stacks file yet. */
+    public boolean isJournalEmpty() {
+        return localStorage.isJournalEmpty();
     }
 
     /**
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.api.local.storage.LocalStorageFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link LocalPreferenceDaoImpl}
+ */
+public class LocalPreferenceDaoImplTest {
+
+    private LocalPreferenceDaoImpl preferenceDao;
+    private Path                   storageRoot;
+    private Path                   preferencesPath;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
+        assertNotNull(url);
+        final Path targetDir = Paths.get(url.toURI()).getParent();
+        storageRoot = targetDir.resolve("preferences");
+        preferencesPath = storageRoot.resolve("preferences.json");
+        preferenceDao = createDao();
+    }
+
+    @AfterMethod
+    public void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(storageRoot.toFile());
+    }
+
+    @Test
+    public void shouldKeepPreferencesChangedBeforeRestart() throws Exception {
+        preferenceDao.setPreferences("user1", ImmutableMap.of("pref1", "value1", "pref2", "value2"));
+        preferenceDao.setPreferences("user2", singletonMap("pref1", "value1"));
+        preferenceDao.remove("user2");
+
+        // journaled changes are read without compaction
+        final LocalPreferenceDaoImpl restarted = createDao();
+
+        assertEquals(restarted.getPreferences("user1"), ImmutableMap.of("pref1", "value1", "pref2", "value2"));
+        assertTrue(restarted.getPreferences("user2").isEmpty());
+    }
+
+    @Test
+    public void shouldStorePreferencesOnCompaction() throws Exception {
+        preferenceDao.setPreferences("user1", singletonMap("pref1", "value1"));
+
+        preferenceDao.compact();
+
+        final Map<?, ?> stored = new Gson().fromJson(new String(Files.readAllBytes(preferencesPath), UTF_8), Map.class);
+        assertEquals(stored.get("user1"), singletonMap("pref1", "value1"));
+        assertTrue(Files.notExists(storageRoot.resolve("preferences.json.journal")));
+    }
+
+    @Test
+    public void shouldReloadPreferencesWhenFileIsModified() throws Exception {
+        preferenceDao.setPreferences("user1", singletonMap("pref1", "value1"));
+        preferenceDao.compact();
+
+        Files.write(preferencesPath, "{\"user1\":{\"pref1\":\"changed\",\"pref2\":\"added\"}}".getBytes(UTF_8));
+
+        assertEquals(preferenceDao.getPreferences("user1"), ImmutableMap.of("pref1", "changed", "pref2", "added"));
+    }
+
+    @Test
+    public void shouldDropPreferencesOfUsersRemovedFromModifiedFile() throws Exception {
+        preferenceDao.setPreferences("user1", singletonMap("pref1", "value1"));
+        preferenceDao.setPreferences("user2", singletonMap("pref1", "value1"));
+        preferenceDao.compact();
+
+        Files.write(preferencesPath, "{\"user1\":{\"pref1\":\"value1\"}}".getBytes(UTF_8));
+
+        assertTrue(preferenceDao.getPreferences("user2").isEmpty());
+        assertEquals(preferenceDao.getPreferences("user1"), singletonMap("pref1", "value1"));
+    }
+
+    @Test
+    public void shouldFilterPreferences() throws Exception {
+        preferenceDao.setPreferences("user1", ImmutableMap.of("git.committer.name", "name",
+                                                              "git.committer.email", "email",
+                                                              "theme", "dark"));
+
+        assertEquals(preferenceDao.getPreferences("user1", "git\\..*"), ImmutableMap.of("git.committer.name", "name",
+                                                                                       "git.committer.email", "email"));
+        assertEquals(preferenceDao.getPreferences("user1", "git\\..*"), ImmutableMap.of("git.committer.name", "name",
+                                                                                       "git.committer.email", "email"));
+        assertEquals(preferenceDao.getPreferences("user1", "theme"), singletonMap("theme", "dark"));
+    }
+
+    private LocalPreferenceDaoImpl createDao() throws IOException {
+        final LocalPreferenceDaoImpl dao = new LocalPreferenceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+        dao.start();
+        return dao;
+    }
+}
@@ -40,6 +40,7 @@ import static java.nio.file.Files.write;
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test for {@link LocalStackDaoImpl}
@@ -92,6 +93,17 @@ public class LocalStackDaoTest {
         assertEquals(SVG_ICON, new String(readAllBytes(pathToIcon)));
     }
 
+    @Test
+    public void shouldNotRewriteIconsOnCompaction() throws Exception {
+        stackDao.create(createStack());
+        Files.write(pathToIcon, "modified".getBytes());
+
+        stackDao.compact();
+
+        assertEquals(new String(readAllBytes(pathToIcon)), "modified");
+        assertTrue(Files.exists(stackJsonPath));
+    }
+
     @Test
     public void testStackDeserialization() throws Exception {
         createStackIcon();
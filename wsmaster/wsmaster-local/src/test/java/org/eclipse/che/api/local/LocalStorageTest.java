@@ -29,8 +29,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
@@ -174,6 +178,118 @@ public class LocalStorageTest {
         assertTrue(map.isEmpty());
     }
 
+    @Test
+    public void shouldReplayJournalOverStoredSnapshot() throws Exception {
+        storage = new LocalStorage(storageDir, "journaled.json");
+        final Map<String, String> map = new HashMap<>();
+        map.put("k1", "v1");
+        map.put("k2", "v2");
+        storage.store(map);
+        storage.put("k1", "v1-updated");
+        storage.remove("k2");
+        storage.sync(storage.put("k3", "v3"));
+
+        final Map<String, String> loaded = new LocalStorage(storageDir, "journaled.json").loadMap(new TypeToken<Map<String, String>>() {});
+
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("k1", "v1-updated");
+        expected.put("k3", "v3");
+        assertEquals(loaded, expected);
+    }
+
+    @Test
+    public void shouldSkipTornJournalRecord() throws Exception {
+        storage = new LocalStorage(storageDir, "torn.json");
+        final File journal = new File(storageDir, "torn.json.journal");
+        Files.write("{\"key\":\"k1\",\"value\":\"v1\"}\n{\"key\":\"k2\",\"val", journal, Charset.forName("UTF-8"));
+        storage.sync(storage.put("k3", "v3"));
+
+        final Map<String, String> loaded = new LocalStorage(storageDir, "torn.json").loadMap(new TypeToken<Map<String, String>>() {});
+
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("k1", "v1");
+        expected.put("k3", "v3");
+        assertEquals(loaded, expected);
+    }
+
+    @Test
+    public void shouldClearJournalWhenSnapshotIsStored() throws Exception {
+        final File journal = new File(storageDir, "compacted.json.journal");
+        storage = new LocalStorage(storageDir, "compacted.json");
+        storage.sync(storage.put("k1", "v1"));
+        assertTrue(journal.exists());
+        assertFalse(storage.isJournalEmpty());
+
+        storage.store(Collections.singletonMap("k1", "v1"));
+
+        assertFalse(journal.exists());
+        assertTrue(storage.isJournalEmpty());
+        assertEquals(new LocalStorage(storageDir, "compacted.json").loadMap(new TypeToken<Map<String, String>>() {}),
+                     Collections.singletonMap("k1", "v1"));
+    }
+
+    @Test
+    public void shouldSyncRecordsAppendedConcurrently() throws Exception {
+        new File(storageDir, "concurrent.json.journal").delete();
+        storage = new LocalStorage(storageDir, "concurrent.json");
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final String key = "k" + i;
+                futures.add(executor.submit(() -> {
+                    storage.sync(storage.put(key, "v"));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(new LocalStorage(storageDir, "concurrent.json").loadMap(new TypeToken<Map<String, String>>() {}).size(), 200);
+    }
+
+    @Test
+    public void shouldSyncRecordsAppendedWhileSnapshotIsStored() throws Exception {
+        new File(storageDir, "compacting.json.journal").delete();
+        storage = new LocalStorage(storageDir, "compacting.json");
+        final Map<String, String> entries = new HashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final String key = "k" + i;
+                futures.add(executor.submit(() -> {
+                    final long position;
+                    // like DAOs, map and journal are changed together, but the record is synced outside the lock
+                    synchronized (entries) {
+                        entries.put(key, "v");
+                        position = storage.put(key, "v");
+                    }
+                    storage.sync(position);
+                    return null;
+                }));
+                if (i % 10 == 0) {
+                    futures.add(executor.submit(() -> {
+                        synchronized (entries) {
+                            storage.store(new HashMap<>(entries));
+                        }
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(new LocalStorage(storageDir, "compacting.json").loadMap(new TypeToken<Map<String, String>>() {}).size(), 200);
+    }
 
     private Path targetDir() throws URISyntaxException {
         final URL url = Thread.currentThread().getContextClassLoader().getResource(".");